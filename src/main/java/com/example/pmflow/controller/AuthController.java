@@ -2,7 +2,11 @@ package com.example.pmflow.controller;
 
 import com.example.pmflow.dto.AuthRequest;
 import com.example.pmflow.dto.AuthResponse;
+import com.example.pmflow.dto.RefreshRequest;
 import com.example.pmflow.dto.RegisterRequest;
+import com.example.pmflow.security.InvalidRefreshTokenException;
+import com.example.pmflow.security.PasswordHashingBusyException;
+import com.example.pmflow.security.RefreshTokenService;
 import com.example.pmflow.security.TokenBlacklistService;
 import com.example.pmflow.service.AuthService;
 
@@ -11,6 +15,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -25,6 +31,9 @@ public class AuthController {
     @Autowired
     private TokenBlacklistService tokenBlacklistService;
 
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
     @PostMapping("/register")
     public ResponseEntity<?> register(@RequestBody RegisterRequest request) {
         logger.info("Registering user: {}", request.getUsername());
@@ -32,6 +41,9 @@ public class AuthController {
             authService.register(request);
             logger.info("User registered successfully: {}", request.getUsername());
             return ResponseEntity.ok("User registered successfully.");
+        } catch (PasswordHashingBusyException e) {
+            logger.debug("Registration rejected, password hashing pool is full: {}", request.getUsername());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").build();
         } catch (RuntimeException e) {
             logger.error("Registration failed: {}", e.getMessage());
             return ResponseEntity.badRequest().body(e.getMessage());
@@ -41,16 +53,35 @@ public class AuthController {
     @PostMapping("/login")
     public ResponseEntity<AuthResponse> login(@RequestBody AuthRequest request) {
         logger.info("Login attempt for: {}", request.getUsernameOrEmail());
-        AuthResponse response = authService.login(request);
-        logger.info("Login successful for: {}", request.getUsernameOrEmail());
-        return ResponseEntity.ok(response);
+        try {
+            AuthResponse response = authService.login(request);
+            logger.info("Login successful for: {}", request.getUsernameOrEmail());
+            return ResponseEntity.ok(response);
+        } catch (PasswordHashingBusyException e) {
+            // ✅ Shed load fast instead of queueing behind a login storm
+            logger.debug("Login rejected, password hashing pool is full: {}", request.getUsernameOrEmail());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").build();
+        }
     }
+
+    // ✅ Rotates the refresh token: the old one is spent, reusing it revokes the whole session
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponse> refresh(@RequestBody RefreshRequest request) {
+        try {
+            return ResponseEntity.ok(refreshTokenService.refresh(request.getRefreshToken()));
+        } catch (InvalidRefreshTokenException e) {
+            logger.warn("Refresh rejected: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+    }
+
     @PostMapping("/logout")
     public ResponseEntity<String> logout(HttpServletRequest request) {
         String authHeader = request.getHeader("Authorization");
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             String token = authHeader.substring(7);
             tokenBlacklistService.blacklistToken(token);
+            refreshTokenService.endSession(token);
             logger.info("Logout successful, token blacklisted.");
             return ResponseEntity.ok("Logged out successfully.");
         } else {
@@ -0,0 +1,38 @@
+package com.example.pmflow.controller;
+
+import com.example.pmflow.dto.CacheRegionStatsDTO;
+import com.example.pmflow.service.CacheStatsService;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/cache")
+@PreAuthorize("hasRole('ADMIN')")
+public class CacheController {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheController.class);
+
+    @Autowired
+    private CacheStatsService cacheStatsService;
+
+    // ✅ Per-region hits, misses and puts since startup (or the last reset)
+    @GetMapping("/stats")
+    public ResponseEntity<List<CacheRegionStatsDTO>> getStats() {
+        logger.info("[GET] /api/admin/cache/stats");
+        return ResponseEntity.ok(cacheStatsService.getRegionStats());
+    }
+
+    @DeleteMapping("/stats")
+    public ResponseEntity<String> resetStats() {
+        logger.info("[DELETE] /api/admin/cache/stats - Resetting cache counters");
+        cacheStatsService.resetStats();
+        return ResponseEntity.ok("Cache statistics reset.");
+    }
+}
@@ -1,12 +1,21 @@
 package com.example.pmflow.controller;
 
+import com.example.pmflow.dto.ChatIngestAckDTO;
+import com.example.pmflow.dto.ChatPageDTO;
 import com.example.pmflow.dto.ChatRequestDTO;
 import com.example.pmflow.dto.ChatSummaryDTO;
 import com.example.pmflow.dto.MemberProjectDTO;
+import com.example.pmflow.service.ChatBackpressureException;
+import com.example.pmflow.service.ChatIngestService;
 import com.example.pmflow.service.ChatService;
+import com.example.pmflow.service.ChatStreamService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -17,6 +26,12 @@ public class ChatController {
     @Autowired
     private ChatService chatService;
 
+    @Autowired
+    private ChatStreamService chatStreamService;
+
+    @Autowired
+    private ChatIngestService chatIngestService;
+
     // 1. Send Private Message
     @PostMapping("/private/sender/{senderId}/receiver/{receiverId}/project/{projectId}/task/{taskId}")
     public ResponseEntity<ChatSummaryDTO> sendPrivateMessage(
@@ -39,21 +54,29 @@ public class ChatController {
         return ResponseEntity.ok(chatService.sendGroupMessage(senderId, projectId, request));
     }
 
-    // 3. Get Private Chat Summary
+    // 3. Get Private Chat Summary (paged: ?before=<cursor> for older, ?after=<cursor> for newer)
     @GetMapping("/private/sender/{senderId}/receiver/{receiverId}/project/{projectId}/task/{taskId}")
-    public ResponseEntity<List<ChatSummaryDTO>> getPrivateChatSummary(
+    public ResponseEntity<ChatPageDTO> getPrivateChatSummary(
             @PathVariable Long senderId,
             @PathVariable Long receiverId,
             @PathVariable Long projectId,
-            @PathVariable Long taskId
+            @PathVariable Long taskId,
+            @RequestParam(required = false) String before,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer size
     ) {
-        return ResponseEntity.ok(chatService.getPrivateChatSummary(senderId, receiverId, projectId, taskId));
+        return ResponseEntity.ok(chatService.getPrivateChatPage(senderId, receiverId, projectId, taskId, before, after, size));
     }
 
-    // 4. Get Group Chat Summary
+    // 4. Get Group Chat Summary (paged: ?before=<cursor> for older, ?after=<cursor> for newer)
     @GetMapping("/group/project/{projectId}")
-    public ResponseEntity<List<ChatSummaryDTO>> getGroupChatSummary(@PathVariable Long projectId) {
-        return ResponseEntity.ok(chatService.getGroupChatSummary(projectId));
+    public ResponseEntity<ChatPageDTO> getGroupChatSummary(
+            @PathVariable Long projectId,
+            @RequestParam(required = false) String before,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer size
+    ) {
+        return ResponseEntity.ok(chatService.getGroupChatPage(projectId, before, after, size));
     }
 
     // 5. Deeya's Feature: Get Assigned Project Name and Status for Current User
@@ -61,4 +84,55 @@ public class ChatController {
     public ResponseEntity<List<MemberProjectDTO>> getAssignedProjects() {
         return ResponseEntity.ok(chatService.getAssignedProjectsForCurrentUser());
     }
-} 
+
+    // 6. Live Group Chat (Server-Sent Events, "message" events carrying ChatSummaryDTO)
+    @GetMapping(value = "/stream/group/project/{projectId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamGroupChat(@PathVariable Long projectId) {
+        return chatStreamService.subscribeGroup(projectId);
+    }
+
+    // 7. Live Private Chat for one task thread
+    @GetMapping(value = "/stream/private/sender/{senderId}/receiver/{receiverId}/project/{projectId}/task/{taskId}",
+            produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamPrivateChat(
+            @PathVariable Long senderId,
+            @PathVariable Long receiverId,
+            @PathVariable Long projectId,
+            @PathVariable Long taskId
+    ) {
+        return chatStreamService.subscribePrivate(senderId, receiverId, projectId, taskId);
+    }
+
+    // 8. Queued Group Message (202 with a sequence ack; ?durable=true waits until it is written)
+    @PostMapping("/ingest/group/sender/{senderId}/project/{projectId}")
+    public ResponseEntity<ChatIngestAckDTO> ingestGroupMessage(
+            @PathVariable Long senderId,
+            @PathVariable Long projectId,
+            @RequestParam(defaultValue = "false") boolean durable,
+            @RequestBody ChatRequestDTO request
+    ) {
+        try {
+            return ResponseEntity.accepted().body(chatIngestService.submitGroupMessage(senderId, projectId, request, durable));
+        } catch (ChatBackpressureException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").build();
+        }
+    }
+
+    // 9. Queued Private Message
+    @PostMapping("/ingest/private/sender/{senderId}/receiver/{receiverId}/project/{projectId}/task/{taskId}")
+    public ResponseEntity<ChatIngestAckDTO> ingestPrivateMessage(
+            @PathVariable Long senderId,
+            @PathVariable Long receiverId,
+            @PathVariable Long projectId,
+            @PathVariable Long taskId,
+            @RequestParam(defaultValue = "false") boolean durable,
+            @RequestBody ChatRequestDTO request
+    ) {
+        try {
+            return ResponseEntity.accepted().body(
+                    chatIngestService.submitPrivateMessage(senderId, receiverId, projectId, taskId, request, durable));
+        } catch (ChatBackpressureException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").build();
+        }
+    }
+}
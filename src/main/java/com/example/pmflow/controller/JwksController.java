@@ -0,0 +1,29 @@
+package com.example.pmflow.controller;
+
+import com.example.pmflow.security.JwtService;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// 🔹 Public verification keys for other internal services (RFC 7517 key set)
+@RestController
+public class JwksController {
+
+    @Autowired
+    private JwtService jwtService;
+
+    // ✅ Next key is published one rotation ahead, so verifiers may cache for a few minutes
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, List<Map<String, Object>>>> getJwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(5, TimeUnit.MINUTES).cachePublic())
+                .body(Map.of("keys", jwtService.getPublicJwks()));
+    }
+}
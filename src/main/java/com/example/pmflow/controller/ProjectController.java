@@ -80,6 +80,16 @@ public class ProjectController {
         return ResponseEntity.ok(projectService.getProjectsByManagerId(managerId));
     }
 
+    // ✅ ADDED: Manager landing page (sort = name|status|startDate|endDate[,asc|desc])
+    @GetMapping("/manager/{managerId}/dashboard")
+    public ResponseEntity<ManagerDashboardDTO> getManagerDashboard(@PathVariable Long managerId,
+                                                                   @RequestParam(defaultValue = "0") int page,
+                                                                   @RequestParam(defaultValue = "20") int size,
+                                                                   @RequestParam(defaultValue = "name,asc") String sort) {
+        logger.info("[GET] /api/projects/manager/{}/dashboard - Fetching manager dashboard page {}", managerId, page);
+        return ResponseEntity.ok(projectService.getManagerDashboard(managerId, page, size, sort));
+    }
+
     @GetMapping("/manager/{managerId}/by_name")
     public ResponseEntity<?> getProjectByNameForManager(@PathVariable Long managerId,
                                                         @RequestParam String name,
@@ -113,6 +123,29 @@ public class ProjectController {
         return ResponseEntity.ok(projectService.filterProjects(projectName, managerName, status, endDate));
     }
 
+    // ✅ ADDED: Paged + sorted filter (sort = name|status|startDate|endDate|managerName[,asc|desc])
+    @GetMapping("/filter/paged")
+    public ResponseEntity<PageResponseDTO<ProjectSummaryDTO>> filterProjectsPaged(
+            @RequestParam(required = false) String projectName,
+            @RequestParam(required = false) String managerName,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String endDate,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "name,asc") String sort) {
+        logger.info("[GET] /api/projects/filter/paged - Filtering projects page {}", page);
+        return ResponseEntity.ok(projectService.filterProjectsPaged(projectName, managerName, status, endDate, page, size, sort));
+    }
+
+    // ✅ ADDED: Ranked search over project names and descriptions (words or word prefixes, all must match)
+    @GetMapping("/search")
+    public ResponseEntity<ProjectSearchPageDTO> searchProjects(@RequestParam String q,
+                                                               @RequestParam(defaultValue = "0") int page,
+                                                               @RequestParam(defaultValue = "20") int size) {
+        logger.info("[GET] /api/projects/search - Searching projects page {}", page);
+        return ResponseEntity.ok(projectService.searchProjects(q, page, size));
+    }
+
     @GetMapping("/count")
     public ResponseEntity<Long> countProjectsByStatus(@RequestParam ProjectStatus status) {
         logger.info("[GET] /api/projects/count?status={} - Counting all projects by status", status);
@@ -130,6 +163,34 @@ public class ProjectController {
         return ResponseEntity.ok(projectService.filterProjectsByManager(managerId, projectName, status, endDate));
     }
 
+    // ✅ ADDED: Paged + sorted filter for Project Manager
+    @GetMapping("/manager/{managerId}/filter/paged")
+    public ResponseEntity<PageResponseDTO<ProjectSummaryDTO>> filterProjectsForManagerPaged(
+            @PathVariable Long managerId,
+            @RequestParam(required = false) String projectName,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String endDate,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "name,asc") String sort) {
+        logger.info("[GET] /api/projects/manager/{}/filter/paged - Filtering projects for manager page {}", managerId, page);
+        return ResponseEntity.ok(projectService.filterProjectsByManagerPaged(managerId, projectName, status, endDate, page, size, sort));
+    }
+
+    // ✅ ADDED: Dashboard stats (all statuses + overdue) for all projects
+    @GetMapping("/stats")
+    public ResponseEntity<ProjectStatsDTO> getProjectStats() {
+        logger.info("[GET] /api/projects/stats - Fetching project stats");
+        return ResponseEntity.ok(projectService.getProjectStats());
+    }
+
+    // ✅ ADDED: Dashboard stats for Project Manager
+    @GetMapping("/manager/{managerId}/stats")
+    public ResponseEntity<ProjectStatsDTO> getProjectStatsForManager(@PathVariable Long managerId) {
+        logger.info("[GET] /api/projects/manager/{}/stats - Fetching project stats for manager", managerId);
+        return ResponseEntity.ok(projectService.getProjectStatsForManager(managerId));
+    }
+
     // ✅ ADDED: Count for Project Manager
     @GetMapping("/manager/{managerId}/count")
     public ResponseEntity<Long> countProjectsByStatusForManager(
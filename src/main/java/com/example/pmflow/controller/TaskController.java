@@ -1,9 +1,13 @@
 package com.example.pmflow.controller;
 
 import com.example.pmflow.dto.AdminUpdateTaskRequest;
+import com.example.pmflow.dto.BulkTaskRequest;
+import com.example.pmflow.dto.BulkTaskResponse;
+import com.example.pmflow.dto.TaskPageDTO;
 import com.example.pmflow.dto.TaskRequest;
 import com.example.pmflow.dto.TaskResponse;
 import com.example.pmflow.dto.UpdateTaskRequest;
+import com.example.pmflow.enums.TaskPriority;
 import com.example.pmflow.enums.TaskStatus;
 import com.example.pmflow.service.TaskService;
 
@@ -11,10 +15,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -35,6 +41,16 @@ public class TaskController {
         return ResponseEntity.ok(createdTask);
     }
 
+    // ✅ Apply a list of create/update/assign/status/delete operations in one transaction
+    @PostMapping("/bulk")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('PROJECT_MANAGER')")
+    public ResponseEntity<BulkTaskResponse> applyBulk(@RequestBody BulkTaskRequest request) {
+        logger.info("Applying bulk task operations");
+        BulkTaskResponse response = taskService.applyBulk(request.getOperations());
+        logger.info("Bulk task operations: {} succeeded, {} failed", response.getSucceeded(), response.getFailed());
+        return ResponseEntity.ok(response);
+    }
+
     // ✅ Get task by ID
     @GetMapping("/{taskId}")
     public ResponseEntity<TaskResponse> getTaskById(@PathVariable Long taskId) {
@@ -62,6 +78,23 @@ public class TaskController {
         return ResponseEntity.ok(tasks);
     }
 
+    // ✅ Search a project's or a user's tasks, one keyset page at a time
+    @GetMapping("/search")
+    public ResponseEntity<TaskPageDTO> searchTasks(
+            @RequestParam(required = false) Long projectId,
+            @RequestParam(required = false) Long assigneeId,
+            @RequestParam(required = false) List<TaskStatus> status,
+            @RequestParam(required = false) TaskPriority priority,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dueFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dueTo,
+            @RequestParam(defaultValue = "dueDate") String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        logger.info("Searching tasks - project: {}, assignee: {}, sort: {}", projectId, assigneeId, sort);
+        return ResponseEntity.ok(taskService.searchTasks(
+                projectId, assigneeId, status, priority, dueFrom, dueTo, sort, cursor, size));
+    }
+
     // ✅ Update the status of a task
     @PutMapping("/{taskId}/status")
     public ResponseEntity<TaskResponse> updateTaskStatus(@PathVariable Long taskId,
@@ -25,4 +25,19 @@ public class AuthResponse {
 		this.expiresIn = expiresIn;
 	}
 	private long expiresIn;
+	// 🔹 Rotating refresh token for POST /api/auth/refresh, and its lifetime in ms
+	private String refreshToken;
+	private long refreshExpiresIn;
+	public String getRefreshToken() {
+		return refreshToken;
+	}
+	public void setRefreshToken(String refreshToken) {
+		this.refreshToken = refreshToken;
+	}
+	public long getRefreshExpiresIn() {
+		return refreshExpiresIn;
+	}
+	public void setRefreshExpiresIn(long refreshExpiresIn) {
+		this.refreshExpiresIn = refreshExpiresIn;
+	}
 }
@@ -0,0 +1,62 @@
+package com.example.pmflow.dto;
+
+import com.example.pmflow.enums.BulkTaskAction;
+import com.example.pmflow.enums.TaskStatus;
+
+// 🔹 One entry of a bulk request; which fields are read depends on the action
+public class BulkTaskOperation {
+    private BulkTaskAction action;
+    private Long taskId;              // UPDATE, ASSIGN, STATUS, DELETE
+    private TaskRequest task;         // CREATE
+    private UpdateTaskRequest update; // UPDATE
+    private Long assigneeId;          // ASSIGN
+    private TaskStatus status;        // STATUS
+
+    public BulkTaskAction getAction() {
+        return action;
+    }
+
+    public void setAction(BulkTaskAction action) {
+        this.action = action;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public void setTaskId(Long taskId) {
+        this.taskId = taskId;
+    }
+
+    public TaskRequest getTask() {
+        return task;
+    }
+
+    public void setTask(TaskRequest task) {
+        this.task = task;
+    }
+
+    public UpdateTaskRequest getUpdate() {
+        return update;
+    }
+
+    public void setUpdate(UpdateTaskRequest update) {
+        this.update = update;
+    }
+
+    public Long getAssigneeId() {
+        return assigneeId;
+    }
+
+    public void setAssigneeId(Long assigneeId) {
+        this.assigneeId = assigneeId;
+    }
+
+    public TaskStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(TaskStatus status) {
+        this.status = status;
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.pmflow.dto;
+
+import java.util.List;
+
+public class BulkTaskRequest {
+    private List<BulkTaskOperation> operations;
+
+    public List<BulkTaskOperation> getOperations() {
+        return operations;
+    }
+
+    public void setOperations(List<BulkTaskOperation> operations) {
+        this.operations = operations;
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.pmflow.dto;
+
+import java.util.List;
+
+public class BulkTaskResponse {
+    private List<BulkTaskResultDTO> results;
+    private int succeeded;
+    private int failed;
+
+    public BulkTaskResponse() {}
+
+    public BulkTaskResponse(List<BulkTaskResultDTO> results) {
+        this.results = results;
+        this.succeeded = (int) results.stream().filter(BulkTaskResultDTO::isSuccess).count();
+        this.failed = results.size() - succeeded;
+    }
+
+    public List<BulkTaskResultDTO> getResults() {
+        return results;
+    }
+
+    public void setResults(List<BulkTaskResultDTO> results) {
+        this.results = results;
+    }
+
+    public int getSucceeded() {
+        return succeeded;
+    }
+
+    public void setSucceeded(int succeeded) {
+        this.succeeded = succeeded;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.pmflow.dto;
+
+import com.example.pmflow.enums.BulkTaskAction;
+
+public class BulkTaskResultDTO {
+    private int index;            // position of the operation in the request
+    private BulkTaskAction action;
+    private Long taskId;
+    private boolean success;
+    private String error;         // set when success is false
+    private TaskResponse task;    // the task after the change (null for DELETE and failures)
+
+    public BulkTaskResultDTO() {}
+
+    public BulkTaskResultDTO(int index, BulkTaskAction action, Long taskId, boolean success, String error, TaskResponse task) {
+        this.index = index;
+        this.action = action;
+        this.taskId = taskId;
+        this.success = success;
+        this.error = error;
+        this.task = task;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public BulkTaskAction getAction() {
+        return action;
+    }
+
+    public void setAction(BulkTaskAction action) {
+        this.action = action;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public void setTaskId(Long taskId) {
+        this.taskId = taskId;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public void setSuccess(boolean success) {
+        this.success = success;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public TaskResponse getTask() {
+        return task;
+    }
+
+    public void setTask(TaskResponse task) {
+        this.task = task;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.pmflow.dto;
+
+import java.time.LocalDateTime;
+
+public class ChatIngestAckDTO {
+    private long sequence;      // server-assigned, increasing per node
+    private Long messageId;     // set once the message is written (durable sends)
+    private String status;      // QUEUED or PERSISTED
+    private LocalDateTime timestamp; // stored timestamp (durable sends)
+
+    public ChatIngestAckDTO() {}
+
+    public ChatIngestAckDTO(long sequence, Long messageId, String status) {
+        this.sequence = sequence;
+        this.messageId = messageId;
+        this.status = status;
+    }
+
+    public ChatIngestAckDTO(long sequence, Long messageId, String status, LocalDateTime timestamp) {
+        this(sequence, messageId, status);
+        this.timestamp = timestamp;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
+    public Long getMessageId() {
+        return messageId;
+    }
+
+    public void setMessageId(Long messageId) {
+        this.messageId = messageId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(LocalDateTime timestamp) {
+        this.timestamp = timestamp;
+    }
+}
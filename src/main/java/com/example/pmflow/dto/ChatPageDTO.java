@@ -0,0 +1,51 @@
+package com.example.pmflow.dto;
+
+import java.util.List;
+
+public class ChatPageDTO {
+    private List<ChatSummaryDTO> messages;   // oldest first
+    private String beforeCursor;             // pass as ?before= to load older messages
+    private String afterCursor;              // pass as ?after= to load newer messages
+    private boolean hasMore;                 // more messages exist in the direction requested
+
+    public ChatPageDTO() {}
+
+    public ChatPageDTO(List<ChatSummaryDTO> messages, String beforeCursor, String afterCursor, boolean hasMore) {
+        this.messages = messages;
+        this.beforeCursor = beforeCursor;
+        this.afterCursor = afterCursor;
+        this.hasMore = hasMore;
+    }
+
+    public List<ChatSummaryDTO> getMessages() {
+        return messages;
+    }
+
+    public void setMessages(List<ChatSummaryDTO> messages) {
+        this.messages = messages;
+    }
+
+    public String getBeforeCursor() {
+        return beforeCursor;
+    }
+
+    public void setBeforeCursor(String beforeCursor) {
+        this.beforeCursor = beforeCursor;
+    }
+
+    public String getAfterCursor() {
+        return afterCursor;
+    }
+
+    public void setAfterCursor(String afterCursor) {
+        this.afterCursor = afterCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
@@ -3,6 +3,7 @@ package com.example.pmflow.dto;
 import java.time.LocalDateTime;
 
 public class ChatSummaryDTO {
+    private Long id;
     private Long senderId;
     private String senderName;
     private String content;
@@ -17,6 +18,25 @@ public class ChatSummaryDTO {
         this.timestamp = timestamp;
     }
 
+    public ChatSummaryDTO(Long id, Long senderId, String senderName, String content, LocalDateTime timestamp) {
+        this(senderId, senderName, content, timestamp);
+        this.id = id;
+    }
+
+    // 🔹 Used by the JPQL constructor projections in ChatMessageRepository
+    public ChatSummaryDTO(Long id, Long senderId, String senderFirstName, String senderLastName,
+                          String content, LocalDateTime timestamp) {
+        this(id, senderId, senderFirstName + " " + senderLastName, content, timestamp);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
     public Long getSenderId() {
         return senderId;
     }
@@ -0,0 +1,22 @@
+package com.example.pmflow.dto;
+
+// 🔹 Manager landing page in one response: a page of the manager's projects plus status totals
+public class ManagerDashboardDTO {
+    private PageResponseDTO<ManagerProjectSummaryDTO> projects;
+    private ProjectStatsDTO stats;
+
+    public ManagerDashboardDTO() {}
+
+    public ManagerDashboardDTO(PageResponseDTO<ManagerProjectSummaryDTO> projects, ProjectStatsDTO stats) {
+        this.projects = projects;
+        this.stats = stats;
+    }
+
+    public PageResponseDTO<ManagerProjectSummaryDTO> getProjects() { return projects; }
+
+    public void setProjects(PageResponseDTO<ManagerProjectSummaryDTO> projects) { this.projects = projects; }
+
+    public ProjectStatsDTO getStats() { return stats; }
+
+    public void setStats(ProjectStatsDTO stats) { this.stats = stats; }
+}
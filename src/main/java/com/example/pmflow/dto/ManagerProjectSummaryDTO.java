@@ -0,0 +1,99 @@
+package com.example.pmflow.dto;
+
+import com.example.pmflow.entity.ProjectStatus;
+
+import java.time.LocalDate;
+
+// 🔹 One row of the manager dashboard: project summary, team size and task rollup counters
+public class ManagerProjectSummaryDTO {
+    private Long id;
+    private String name;
+    private String startDate;
+    private String endDate;
+    private String status;
+    private long teamSize;
+    private long taskTotal;
+    private long tasksNotStarted;
+    private long tasksInProgress;
+    private long tasksCompleted;
+    private long tasksOnHold;
+    private long overdueTasks;
+    private int progressPercent;
+
+    public ManagerProjectSummaryDTO() {}
+
+    // ✅ Used by ProjectRepository.findManagerDashboard; rollup columns are null when a project has no rollup row yet
+    public ManagerProjectSummaryDTO(Long id, String name, LocalDate startDate, LocalDate endDate, ProjectStatus status,
+                                    Long teamSize, Long taskTotal, Long tasksNotStarted, Long tasksInProgress,
+                                    Long tasksCompleted, Long tasksOnHold, Long overdueTasks) {
+        this.id = id;
+        this.name = name;
+        this.startDate = startDate != null ? startDate.toString() : null;
+        this.endDate = endDate != null ? endDate.toString() : null;
+        this.status = status.name();
+        this.teamSize = orZero(teamSize);
+        this.taskTotal = orZero(taskTotal);
+        this.tasksNotStarted = orZero(tasksNotStarted);
+        this.tasksInProgress = orZero(tasksInProgress);
+        this.tasksCompleted = orZero(tasksCompleted);
+        this.tasksOnHold = orZero(tasksOnHold);
+        this.overdueTasks = orZero(overdueTasks);
+        this.progressPercent = this.taskTotal == 0 ? 0 : (int) (this.tasksCompleted * 100 / this.taskTotal);
+    }
+
+    private static long orZero(Long value) {
+        return value == null ? 0 : value;
+    }
+
+    public Long getId() { return id; }
+
+    public void setId(Long id) { this.id = id; }
+
+    public String getName() { return name; }
+
+    public void setName(String name) { this.name = name; }
+
+    public String getStartDate() { return startDate; }
+
+    public void setStartDate(String startDate) { this.startDate = startDate; }
+
+    public String getEndDate() { return endDate; }
+
+    public void setEndDate(String endDate) { this.endDate = endDate; }
+
+    public String getStatus() { return status; }
+
+    public void setStatus(String status) { this.status = status; }
+
+    public long getTeamSize() { return teamSize; }
+
+    public void setTeamSize(long teamSize) { this.teamSize = teamSize; }
+
+    public long getTaskTotal() { return taskTotal; }
+
+    public void setTaskTotal(long taskTotal) { this.taskTotal = taskTotal; }
+
+    public long getTasksNotStarted() { return tasksNotStarted; }
+
+    public void setTasksNotStarted(long tasksNotStarted) { this.tasksNotStarted = tasksNotStarted; }
+
+    public long getTasksInProgress() { return tasksInProgress; }
+
+    public void setTasksInProgress(long tasksInProgress) { this.tasksInProgress = tasksInProgress; }
+
+    public long getTasksCompleted() { return tasksCompleted; }
+
+    public void setTasksCompleted(long tasksCompleted) { this.tasksCompleted = tasksCompleted; }
+
+    public long getTasksOnHold() { return tasksOnHold; }
+
+    public void setTasksOnHold(long tasksOnHold) { this.tasksOnHold = tasksOnHold; }
+
+    public long getOverdueTasks() { return overdueTasks; }
+
+    public void setOverdueTasks(long overdueTasks) { this.overdueTasks = overdueTasks; }
+
+    public int getProgressPercent() { return progressPercent; }
+
+    public void setProgressPercent(int progressPercent) { this.progressPercent = progressPercent; }
+}
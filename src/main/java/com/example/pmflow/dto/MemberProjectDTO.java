@@ -1,5 +1,7 @@
 package com.example.pmflow.dto;
 
+import com.example.pmflow.entity.ProjectStatus;
+
 public class MemberProjectDTO {
     private String projectName;
     private String status;
@@ -11,6 +13,11 @@ public class MemberProjectDTO {
         this.projectId = projectId;
     }
 
+    // 🔹 Used by the ChatProjectRepository projection
+    public MemberProjectDTO(Long projectId, String projectName, ProjectStatus status) {
+        this(projectId, projectName, status == null ? null : status.toString());
+    }
+
     public Long getProjectId(){
         return projectId;
     }
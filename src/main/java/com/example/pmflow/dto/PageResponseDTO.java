@@ -0,0 +1,48 @@
+package com.example.pmflow.dto;
+
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+public class PageResponseDTO<T> {
+    private List<T> content;
+    private int page;
+    private int size;
+    private long totalElements;
+    private int totalPages;
+
+    public PageResponseDTO() {}
+
+    public PageResponseDTO(List<T> content, int page, int size, long totalElements, int totalPages) {
+        this.content = content;
+        this.page = page;
+        this.size = size;
+        this.totalElements = totalElements;
+        this.totalPages = totalPages;
+    }
+
+    public static <T> PageResponseDTO<T> from(Page<T> page) {
+        return new PageResponseDTO<>(page.getContent(), page.getNumber(), page.getSize(),
+                page.getTotalElements(), page.getTotalPages());
+    }
+
+    public List<T> getContent() { return content; }
+
+    public void setContent(List<T> content) { this.content = content; }
+
+    public int getPage() { return page; }
+
+    public void setPage(int page) { this.page = page; }
+
+    public int getSize() { return size; }
+
+    public void setSize(int size) { this.size = size; }
+
+    public long getTotalElements() { return totalElements; }
+
+    public void setTotalElements(long totalElements) { this.totalElements = totalElements; }
+
+    public int getTotalPages() { return totalPages; }
+
+    public void setTotalPages(int totalPages) { this.totalPages = totalPages; }
+}
@@ -0,0 +1,36 @@
+package com.example.pmflow.dto;
+
+import java.util.List;
+
+// 🔹 One page of ranked project search results; hasMore says whether page + 1 exists
+public class ProjectSearchPageDTO {
+    private List<ProjectSummaryDTO> projects;
+    private int page;
+    private int size;
+    private boolean hasMore;
+
+    public ProjectSearchPageDTO() {}
+
+    public ProjectSearchPageDTO(List<ProjectSummaryDTO> projects, int page, int size, boolean hasMore) {
+        this.projects = projects;
+        this.page = page;
+        this.size = size;
+        this.hasMore = hasMore;
+    }
+
+    public List<ProjectSummaryDTO> getProjects() { return projects; }
+
+    public void setProjects(List<ProjectSummaryDTO> projects) { this.projects = projects; }
+
+    public int getPage() { return page; }
+
+    public void setPage(int page) { this.page = page; }
+
+    public int getSize() { return size; }
+
+    public void setSize(int size) { this.size = size; }
+
+    public boolean isHasMore() { return hasMore; }
+
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+}
@@ -0,0 +1,29 @@
+package com.example.pmflow.dto;
+
+import java.util.Map;
+
+public class ProjectStatsDTO {
+    private Map<String, Long> countsByStatus;   // every ProjectStatus, zero when absent
+    private long total;
+    private long overdue;                       // end date passed and not COMPLETED
+
+    public ProjectStatsDTO() {}
+
+    public ProjectStatsDTO(Map<String, Long> countsByStatus, long total, long overdue) {
+        this.countsByStatus = countsByStatus;
+        this.total = total;
+        this.overdue = overdue;
+    }
+
+    public Map<String, Long> getCountsByStatus() { return countsByStatus; }
+
+    public void setCountsByStatus(Map<String, Long> countsByStatus) { this.countsByStatus = countsByStatus; }
+
+    public long getTotal() { return total; }
+
+    public void setTotal(long total) { this.total = total; }
+
+    public long getOverdue() { return overdue; }
+
+    public void setOverdue(long overdue) { this.overdue = overdue; }
+}
@@ -1,5 +1,9 @@
 package com.example.pmflow.dto;
 
+import com.example.pmflow.entity.ProjectStatus;
+
+import java.time.LocalDate;
+
 public class ProjectSummaryDTO {
     private Long id;
     private String name;
@@ -7,6 +11,11 @@ public class ProjectSummaryDTO {
     private String endDate;
     private String status;
     private String managerName;
+    // 🔹 Task progress from project_task_rollups (null when not requested)
+    private Long taskTotal;
+    private Long tasksCompleted;
+    private Long overdueTasks;
+    private Integer progressPercent;
 
     public ProjectSummaryDTO() {}
 
@@ -21,6 +30,15 @@ public class ProjectSummaryDTO {
         this.managerName = managerName;
     }
 
+    // ✅ Used by the criteria projection in ProjectSummaryRepositoryImpl
+    public ProjectSummaryDTO(Long id, String name, LocalDate startDate, LocalDate endDate,
+                             ProjectStatus status, String managerName) {
+        this(id, name,
+                startDate != null ? startDate.toString() : null,
+                endDate != null ? endDate.toString() : null,
+                status.name(), managerName);
+    }
+
     public Long getId() { return id; }
 
     public void setId(Long id) { this.id = id; }
@@ -44,4 +62,20 @@ public class ProjectSummaryDTO {
     public String getManagerName() { return managerName; }
 
     public void setManagerName(String managerName) { this.managerName = managerName; }
+
+    public Long getTaskTotal() { return taskTotal; }
+
+    public void setTaskTotal(Long taskTotal) { this.taskTotal = taskTotal; }
+
+    public Long getTasksCompleted() { return tasksCompleted; }
+
+    public void setTasksCompleted(Long tasksCompleted) { this.tasksCompleted = tasksCompleted; }
+
+    public Long getOverdueTasks() { return overdueTasks; }
+
+    public void setOverdueTasks(Long overdueTasks) { this.overdueTasks = overdueTasks; }
+
+    public Integer getProgressPercent() { return progressPercent; }
+
+    public void setProgressPercent(Integer progressPercent) { this.progressPercent = progressPercent; }
 }
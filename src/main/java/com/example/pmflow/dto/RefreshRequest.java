@@ -0,0 +1,11 @@
+package com.example.pmflow.dto;
+
+public class RefreshRequest {
+	private String refreshToken;
+	public String getRefreshToken() {
+		return refreshToken;
+	}
+	public void setRefreshToken(String refreshToken) {
+		this.refreshToken = refreshToken;
+	}
+}
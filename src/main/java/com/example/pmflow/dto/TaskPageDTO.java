@@ -0,0 +1,41 @@
+package com.example.pmflow.dto;
+
+import java.util.List;
+
+public class TaskPageDTO {
+    private List<TaskResponse> tasks;
+    private String nextCursor;   // pass as ?cursor= to load the next page
+    private boolean hasMore;     // more tasks exist after this page
+
+    public TaskPageDTO() {}
+
+    public TaskPageDTO(List<TaskResponse> tasks, String nextCursor, boolean hasMore) {
+        this.tasks = tasks;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+
+    public List<TaskResponse> getTasks() {
+        return tasks;
+    }
+
+    public void setTasks(List<TaskResponse> tasks) {
+        this.tasks = tasks;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
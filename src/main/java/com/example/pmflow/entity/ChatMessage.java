@@ -7,7 +7,12 @@ import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
 
 @Entity
-@Table(name = "chat_messages")
+@Table(name = "chat_messages", indexes = {
+        // 🔹 Keyset seeks for group chat history: WHERE project_id = ? AND is_group ORDER BY timestamp, id
+        @Index(name = "idx_chat_group_keyset", columnList = "project_id, is_group, timestamp, id"),
+        // 🔹 Keyset seeks for a private task thread: WHERE project_id = ? AND task_id = ? ORDER BY timestamp, id
+        @Index(name = "idx_chat_task_keyset", columnList = "project_id, task_id, timestamp, id")
+})
 public class ChatMessage {
 
     @Id
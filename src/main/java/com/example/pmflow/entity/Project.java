@@ -1,13 +1,26 @@
 package com.example.pmflow.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "projects")
+@Table(name = "projects", indexes = {
+        // 🔹 Backing indexes for the project filter specifications; end_date is carried along so the
+        //    grouped dashboard stats (status counts + overdue) are answered from the index alone
+        @Index(name = "idx_projects_status", columnList = "status, end_date"),
+        @Index(name = "idx_projects_end_date", columnList = "end_date"),
+        @Index(name = "idx_projects_manager_status", columnList = "manager_id, status, end_date"),
+        // 🔹 Exact and prefix name lookups (findByName, by_name endpoints)
+        @Index(name = "idx_projects_name", columnList = "name")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "projects")
 public class Project {
 
     @Id
@@ -31,10 +44,13 @@ public class Project {
     private User manager;
 
     @ManyToMany(fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "project-team-members")
     @JoinTable(
         name = "project_team_members",
         joinColumns = @JoinColumn(name = "project_id"),
-        inverseJoinColumns = @JoinColumn(name = "user_id")
+        inverseJoinColumns = @JoinColumn(name = "user_id"),
+        // 🔹 The primary key leads with project_id; lookups by member go through this one
+        indexes = @Index(name = "idx_team_members_user_project", columnList = "user_id, project_id")
     )
     private Set<User> teamMembers = new HashSet<>();
 
@@ -0,0 +1,97 @@
+package com.example.pmflow.entity;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+// 🔹 Search index for project name/description, kept in step with projects by ProjectSearchService.
+//    One row per (word prefix, project); the primary key leads with the term, so every search word
+//    is an index seek no matter how many projects exist.
+@Entity
+@Table(name = "project_search_terms", indexes = {
+        @Index(name = "idx_search_terms_project", columnList = "project_id")
+})
+public class ProjectSearchTerm implements Persistable<ProjectSearchTerm.Key> {
+
+    public static final int MAX_TERM_LENGTH = 20;
+
+    @EmbeddedId
+    private Key id;
+
+    // 🔹 Higher for name hits and whole words; summed per project to rank results
+    private int weight;
+
+    @Transient
+    private boolean persisted;
+
+    public ProjectSearchTerm() {}
+
+    public ProjectSearchTerm(String term, Long projectId, int weight) {
+        this.id = new Key(term, projectId);
+        this.weight = weight;
+    }
+
+    @Override
+    public Key getId() {
+        return id;
+    }
+
+    // New rows are persisted directly (no merge SELECT per row), so inserts batch
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        this.persisted = true;
+    }
+
+    public int getWeight() {
+        return weight;
+    }
+
+    public void setWeight(int weight) {
+        this.weight = weight;
+    }
+
+    @Embeddable
+    public static class Key implements Serializable {
+
+        @Column(length = MAX_TERM_LENGTH, nullable = false)
+        private String term;
+
+        @Column(name = "project_id", nullable = false)
+        private Long projectId;
+
+        public Key() {}
+
+        public Key(String term, Long projectId) {
+            this.term = term;
+            this.projectId = projectId;
+        }
+
+        public String getTerm() {
+            return term;
+        }
+
+        public Long getProjectId() {
+            return projectId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key key)) return false;
+            return Objects.equals(term, key.term) && Objects.equals(projectId, key.projectId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(term, projectId);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.pmflow.entity;
+
+import com.example.pmflow.enums.TaskPriority;
+import com.example.pmflow.enums.TaskStatus;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+// 🔹 Per-project task counters, kept in step with the tasks table by TaskRollupService
+@Entity
+@Table(name = "project_task_rollups")
+public class ProjectTaskRollup {
+
+    @Id
+    @Column(name = "project_id")
+    private Long projectId;
+
+    private long total;
+
+    // 🔹 By status
+    private long notStarted;
+    private long inProgress;
+    private long completed;
+    private long onHold;
+
+    // 🔹 By priority
+    private long highPriority;
+    private long mediumPriority;
+    private long lowPriority;
+
+    private long unassigned;
+
+    // 🔹 Due date passed and not COMPLETED (time-driven changes are picked up by the refresh job)
+    private long overdue;
+
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onWrite() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public ProjectTaskRollup() {}
+
+    public ProjectTaskRollup(Long projectId) {
+        this.projectId = projectId;
+    }
+
+    // ✅ Adds (sign = 1) or removes (sign = -1) one task's contribution
+    public void add(TaskStatus status, TaskPriority priority, boolean assigned, boolean isOverdue, int sign) {
+        total += sign;
+        if (status != null) {
+            switch (status) {
+                case NOT_STARTED -> notStarted += sign;
+                case IN_PROGRESS -> inProgress += sign;
+                case COMPLETED -> completed += sign;
+                case ON_HOLD -> onHold += sign;
+            }
+        }
+        if (priority != null) {
+            switch (priority) {
+                case HIGH -> highPriority += sign;
+                case MEDIUM -> mediumPriority += sign;
+                case LOW -> lowPriority += sign;
+            }
+        }
+        if (!assigned) {
+            unassigned += sign;
+        }
+        if (isOverdue) {
+            overdue += sign;
+        }
+    }
+
+    public int getProgressPercent() {
+        return total == 0 ? 0 : (int) (completed * 100 / total);
+    }
+
+    // ✅ Getters & Setters
+
+    public Long getProjectId() { return projectId; }
+
+    public void setProjectId(Long projectId) { this.projectId = projectId; }
+
+    public long getTotal() { return total; }
+
+    public void setTotal(long total) { this.total = total; }
+
+    public long getNotStarted() { return notStarted; }
+
+    public void setNotStarted(long notStarted) { this.notStarted = notStarted; }
+
+    public long getInProgress() { return inProgress; }
+
+    public void setInProgress(long inProgress) { this.inProgress = inProgress; }
+
+    public long getCompleted() { return completed; }
+
+    public void setCompleted(long completed) { this.completed = completed; }
+
+    public long getOnHold() { return onHold; }
+
+    public void setOnHold(long onHold) { this.onHold = onHold; }
+
+    public long getHighPriority() { return highPriority; }
+
+    public void setHighPriority(long highPriority) { this.highPriority = highPriority; }
+
+    public long getMediumPriority() { return mediumPriority; }
+
+    public void setMediumPriority(long mediumPriority) { this.mediumPriority = mediumPriority; }
+
+    public long getLowPriority() { return lowPriority; }
+
+    public void setLowPriority(long lowPriority) { this.lowPriority = lowPriority; }
+
+    public long getUnassigned() { return unassigned; }
+
+    public void setUnassigned(long unassigned) { this.unassigned = unassigned; }
+
+    public long getOverdue() { return overdue; }
+
+    public void setOverdue(long overdue) { this.overdue = overdue; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+}
@@ -0,0 +1,103 @@
+package com.example.pmflow.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "refresh_tokens", indexes = {
+    @Index(name = "idx_refresh_tokens_family", columnList = "family_id"),
+    @Index(name = "idx_refresh_tokens_expires_at", columnList = "expires_at")
+})
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // 🔹 SHA-256 of the token; the token itself is only ever sent to the client
+    @Column(nullable = false, unique = true, length = 64)
+    private String tokenHash;
+
+    // 🔹 Every token rotated from one login shares a family; reuse of a rotated token revokes it
+    @Column(nullable = false, length = 36)
+    private String familyId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private User user;
+
+    // 🔹 jti and expiry of the access token issued alongside, so revoking the family can cut it off too
+    @Column(nullable = false, length = 64)
+    private String accessTokenId;
+
+    @Column(nullable = false)
+    private Instant accessExpiresAt;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+    // 🔹 Set when the token is exchanged; a second exchange is a reuse
+    private Instant usedAt;
+
+    private Instant revokedAt;
+
+    public RefreshToken() {}
+
+    public RefreshToken(String tokenHash, String familyId, User user, String accessTokenId,
+                        Instant accessExpiresAt, Instant createdAt, Instant expiresAt) {
+        this.tokenHash = tokenHash;
+        this.familyId = familyId;
+        this.user = user;
+        this.accessTokenId = accessTokenId;
+        this.accessExpiresAt = accessExpiresAt;
+        this.createdAt = createdAt;
+        this.expiresAt = expiresAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTokenHash() {
+        return tokenHash;
+    }
+
+    public String getFamilyId() {
+        return familyId;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public String getAccessTokenId() {
+        return accessTokenId;
+    }
+
+    public Instant getAccessExpiresAt() {
+        return accessExpiresAt;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public Instant getUsedAt() {
+        return usedAt;
+    }
+
+    public Instant getRevokedAt() {
+        return revokedAt;
+    }
+}
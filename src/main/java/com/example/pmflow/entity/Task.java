@@ -1,6 +1,9 @@
 package com.example.pmflow.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -9,8 +12,17 @@ import com.example.pmflow.enums.TaskPriority;
 import com.example.pmflow.enums.TaskStatus;
 
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+        // 🔹 Task search: equality on the owner and status, then due_date for ordering and keyset ranges
+        @Index(name = "idx_tasks_project_status_due", columnList = "project_id, status, due_date"),
+        @Index(name = "idx_tasks_assignee_status_due", columnList = "assignee_id, status, due_date")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "tasks")
 public class Task {
+
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     public Long getId() {
 		return id;
 	}
@@ -75,8 +87,11 @@ public class Task {
 		this.updatedAt = updatedAt;
 	}
 
+	// 🔹 Ids come from a pooled table generator rather than IDENTITY so Hibernate can batch task inserts
 	@Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "task_ids")
+    @TableGenerator(name = "task_ids", table = "id_generators", pkColumnName = "entity",
+            valueColumnName = "next_val", pkColumnValue = "tasks", allocationSize = Task.ID_ALLOCATION_SIZE)
     private Long id;
 
     private String name;
@@ -0,0 +1,9 @@
+package com.example.pmflow.enums;
+
+public enum BulkTaskAction {
+    CREATE,
+    UPDATE,
+    ASSIGN,
+    STATUS,
+    DELETE
+}
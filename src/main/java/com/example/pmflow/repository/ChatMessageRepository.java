@@ -1,24 +1,85 @@
 package com.example.pmflow.repository;
 
+import com.example.pmflow.dto.ChatSummaryDTO;
 import com.example.pmflow.entity.ChatMessage;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long> {
 
-    // 🔹 Get private messages for a specific task between two users
-    List<ChatMessage> findBySenderIdAndReceiverIdAndProjectIdAndTaskIdOrderByTimestampAsc(
-        Long senderId, Long receiverId, Long projectId, Long taskId
-    );
+    // 🔹 Read paths project straight into ChatSummaryDTO with the sender joined, so a page is one
+    //    statement no matter how many messages (or distinct senders) it holds
+    String SUMMARY = "new com.example.pmflow.dto.ChatSummaryDTO(m.id, s.id, s.firstName, s.lastName, m.content, m.timestamp)";
 
-    // 🔹 Get reverse direction (receiver → sender) too
-    List<ChatMessage> findByReceiverIdAndSenderIdAndProjectIdAndTaskIdOrderByTimestampAsc(
-        Long receiverId, Long senderId, Long projectId, Long taskId
-    );
+    // 🔹 Newest messages of a private task thread, both directions in one query
+    @Query("SELECT " + SUMMARY + " FROM ChatMessage m JOIN m.sender s " +
+           "WHERE m.project.id = :projectId AND m.task.id = :taskId AND m.isGroup = false " +
+           "AND ((m.sender.id = :userA AND m.receiver.id = :userB) OR (m.sender.id = :userB AND m.receiver.id = :userA)) " +
+           "ORDER BY m.timestamp DESC, m.id DESC")
+    List<ChatSummaryDTO> findLatestPrivateMessages(@Param("userA") Long userA,
+                                                @Param("userB") Long userB,
+                                                @Param("projectId") Long projectId,
+                                                @Param("taskId") Long taskId,
+                                                Pageable pageable);
 
-    // 🔹 Get all group messages for a project
-    List<ChatMessage> findByProjectIdAndIsGroupTrueOrderByTimestampAsc(Long projectId);
+    // 🔹 Private thread messages strictly older than the (timestamp, id) cursor, newest first
+    @Query("SELECT " + SUMMARY + " FROM ChatMessage m JOIN m.sender s " +
+           "WHERE m.project.id = :projectId AND m.task.id = :taskId AND m.isGroup = false " +
+           "AND ((m.sender.id = :userA AND m.receiver.id = :userB) OR (m.sender.id = :userB AND m.receiver.id = :userA)) " +
+           "AND (m.timestamp < :timestamp OR (m.timestamp = :timestamp AND m.id < :id)) " +
+           "ORDER BY m.timestamp DESC, m.id DESC")
+    List<ChatSummaryDTO> findPrivateMessagesBefore(@Param("userA") Long userA,
+                                                @Param("userB") Long userB,
+                                                @Param("projectId") Long projectId,
+                                                @Param("taskId") Long taskId,
+                                                @Param("timestamp") LocalDateTime timestamp,
+                                                @Param("id") Long id,
+                                                Pageable pageable);
+
+    // 🔹 Private thread messages strictly newer than the (timestamp, id) cursor, oldest first
+    @Query("SELECT " + SUMMARY + " FROM ChatMessage m JOIN m.sender s " +
+           "WHERE m.project.id = :projectId AND m.task.id = :taskId AND m.isGroup = false " +
+           "AND ((m.sender.id = :userA AND m.receiver.id = :userB) OR (m.sender.id = :userB AND m.receiver.id = :userA)) " +
+           "AND (m.timestamp > :timestamp OR (m.timestamp = :timestamp AND m.id > :id)) " +
+           "ORDER BY m.timestamp ASC, m.id ASC")
+    List<ChatSummaryDTO> findPrivateMessagesAfter(@Param("userA") Long userA,
+                                               @Param("userB") Long userB,
+                                               @Param("projectId") Long projectId,
+                                               @Param("taskId") Long taskId,
+                                               @Param("timestamp") LocalDateTime timestamp,
+                                               @Param("id") Long id,
+                                               Pageable pageable);
+
+    // 🔹 Newest group messages for a project (page size comes from the Pageable)
+    @Query("SELECT " + SUMMARY + " FROM ChatMessage m JOIN m.sender s " +
+           "WHERE m.project.id = :projectId AND m.isGroup = true " +
+           "ORDER BY m.timestamp DESC, m.id DESC")
+    List<ChatSummaryDTO> findLatestGroupMessages(@Param("projectId") Long projectId, Pageable pageable);
+
+    // 🔹 Group messages strictly older than the (timestamp, id) cursor, newest first
+    @Query("SELECT " + SUMMARY + " FROM ChatMessage m JOIN m.sender s " +
+           "WHERE m.project.id = :projectId AND m.isGroup = true " +
+           "AND (m.timestamp < :timestamp OR (m.timestamp = :timestamp AND m.id < :id)) " +
+           "ORDER BY m.timestamp DESC, m.id DESC")
+    List<ChatSummaryDTO> findGroupMessagesBefore(@Param("projectId") Long projectId,
+                                              @Param("timestamp") LocalDateTime timestamp,
+                                              @Param("id") Long id,
+                                              Pageable pageable);
+
+    // 🔹 Group messages strictly newer than the (timestamp, id) cursor, oldest first
+    @Query("SELECT " + SUMMARY + " FROM ChatMessage m JOIN m.sender s " +
+           "WHERE m.project.id = :projectId AND m.isGroup = true " +
+           "AND (m.timestamp > :timestamp OR (m.timestamp = :timestamp AND m.id > :id)) " +
+           "ORDER BY m.timestamp ASC, m.id ASC")
+    List<ChatSummaryDTO> findGroupMessagesAfter(@Param("projectId") Long projectId,
+                                             @Param("timestamp") LocalDateTime timestamp,
+                                             @Param("id") Long id,
+                                             Pageable pageable);
 }
@@ -1,5 +1,6 @@
 package com.example.pmflow.repository;
 
+import com.example.pmflow.dto.MemberProjectDTO;
 import com.example.pmflow.entity.Project;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -11,9 +12,12 @@ import java.util.List;
 @Repository
 public interface ChatProjectRepository extends JpaRepository<Project, Long> {
 
-    // ✅ Works for both manager or team member
-    @Query("SELECT p FROM Project p " +
+    // ✅ Works for both manager or team member: one index seek per branch (manager_id, then
+    //    project_team_members by user_id) instead of a subquery per project; UNION drops the overlap
+    @Query("SELECT new com.example.pmflow.dto.MemberProjectDTO(p.id, p.name, p.status) FROM Project p " +
            "WHERE p.manager.id = :userId " +
-           "OR :userId IN (SELECT u.id FROM p.teamMembers u)")
-    List<Project> findProjectsAssignedToUser(@Param("userId") Long userId);
+           "UNION " +
+           "SELECT new com.example.pmflow.dto.MemberProjectDTO(p.id, p.name, p.status) FROM Project p " +
+           "JOIN p.teamMembers u WHERE u.id = :userId")
+    List<MemberProjectDTO> findProjectsAssignedToUser(@Param("userId") Long userId);
 }
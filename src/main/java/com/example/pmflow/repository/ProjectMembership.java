@@ -0,0 +1,9 @@
+package com.example.pmflow.repository;
+
+// 🔹 One row of a user's project memberships: the project and whether the user manages it
+public interface ProjectMembership {
+
+    Long getProjectId();
+
+    boolean isManager();
+}
@@ -4,18 +4,37 @@ import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import com.example.pmflow.dto.ManagerProjectSummaryDTO;
+import com.example.pmflow.dto.TeamMemberDTO;
 import com.example.pmflow.entity.Project;
 import com.example.pmflow.entity.ProjectStatus;
 import com.example.pmflow.entity.User;
 
-public interface ProjectRepository extends JpaRepository<Project, Long>, JpaSpecificationExecutor<Project> {
+public interface ProjectRepository extends JpaRepository<Project, Long>, JpaSpecificationExecutor<Project>,
+        ProjectSummaryRepository {
 
     // 🔍 Admin: Find project by exact name
     Optional<Project> findByName(String name);
 
+    // 🔹 Every project a user manages or is a team member of (ProjectMembershipCache); each branch is an
+    //    index seek (manager_id / project_team_members) instead of a per-project subquery
+    @Query("SELECT p.id AS projectId, TRUE AS manager FROM Project p WHERE p.manager.id = :userId " +
+           "UNION ALL " +
+           "SELECT p.id AS projectId, FALSE AS manager FROM Project p JOIN p.teamMembers u WHERE u.id = :userId")
+    List<ProjectMembership> findMemberships(@Param("userId") Long userId);
+
+    // 🔹 Team member ids and usernames straight from project_team_members, without loading the collection
+    @Query("SELECT new com.example.pmflow.dto.TeamMemberDTO(u.id, u.username) " +
+           "FROM Project p JOIN p.teamMembers u WHERE p.id = :projectId ORDER BY u.id")
+    List<TeamMemberDTO> findTeamMembers(@Param("projectId") Long projectId);
+
     // 🔍 Admin: Filter projects by name (partial match)
     List<Project> findByNameContainingIgnoreCase(String name);
 
@@ -36,7 +55,31 @@ public interface ProjectRepository extends JpaRepository<Project, Long>, JpaSpec
 
     // 🔢 Manager: Count projects managed by a manager
     Long countByManager(User manager);
-    
-   
-    
+
+    // 🔢 Manager: Count projects by manager and status (manager_id, status index)
+    long countByManagerIdAndStatus(Long managerId, ProjectStatus status);
+
+    // 📊 Manager dashboard rows: seek on manager_id, rollup counters joined in, team size counted per page row
+    @Query(value = "SELECT new com.example.pmflow.dto.ManagerProjectSummaryDTO(p.id, p.name, p.startDate, p.endDate, " +
+                   "p.status, (SELECT COUNT(u) FROM p.teamMembers u), r.total, r.notStarted, r.inProgress, " +
+                   "r.completed, r.onHold, r.overdue) " +
+                   "FROM Project p LEFT JOIN ProjectTaskRollup r ON r.projectId = p.id " +
+                   "WHERE p.manager.id = :managerId",
+           countQuery = "SELECT COUNT(p) FROM Project p WHERE p.manager.id = :managerId")
+    Page<ManagerProjectSummaryDTO> findManagerDashboard(@Param("managerId") Long managerId, Pageable pageable);
+
+    // 📊 Admin dashboard: per-status totals and overdue counts in one grouped query
+    @Query("SELECT p.status AS status, COUNT(p) AS total, " +
+           "SUM(CASE WHEN p.endDate < :today AND p.status <> com.example.pmflow.entity.ProjectStatus.COMPLETED " +
+           "THEN 1 ELSE 0 END) AS overdue " +
+           "FROM Project p GROUP BY p.status")
+    List<ProjectStatusCount> countGroupedByStatus(@Param("today") LocalDate today);
+
+    // 📊 Manager dashboard: same, for one manager's projects
+    @Query("SELECT p.status AS status, COUNT(p) AS total, " +
+           "SUM(CASE WHEN p.endDate < :today AND p.status <> com.example.pmflow.entity.ProjectStatus.COMPLETED " +
+           "THEN 1 ELSE 0 END) AS overdue " +
+           "FROM Project p WHERE p.manager.id = :managerId GROUP BY p.status")
+    List<ProjectStatusCount> countGroupedByStatusForManager(@Param("managerId") Long managerId,
+                                                            @Param("today") LocalDate today);
 }
@@ -0,0 +1,9 @@
+package com.example.pmflow.repository;
+
+// 🔹 One ranked project from the search index
+public interface ProjectSearchHit {
+
+    Long getProjectId();
+
+    long getScore();
+}
@@ -0,0 +1,34 @@
+package com.example.pmflow.repository;
+
+import com.example.pmflow.entity.ProjectSearchTerm;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ProjectSearchTermRepository extends JpaRepository<ProjectSearchTerm, ProjectSearchTerm.Key> {
+
+    // 🔍 Projects matching every term (one row per term and project), best score first; id breaks ties
+    @Query("SELECT t.id.projectId AS projectId, SUM(t.weight) AS score FROM ProjectSearchTerm t " +
+           "WHERE t.id.term IN :terms " +
+           "GROUP BY t.id.projectId HAVING COUNT(t) = :termCount " +
+           "ORDER BY SUM(t.weight) DESC, t.id.projectId ASC")
+    Slice<ProjectSearchHit> search(@Param("terms") Collection<String> terms, @Param("termCount") long termCount,
+                                   Pageable pageable);
+
+    List<ProjectSearchTerm> findByIdProjectId(Long projectId);
+
+    // 🔹 Projects without any index rows yet (startup backfill), in id order after a keyset position
+    @Query("SELECT p.id FROM Project p WHERE p.id > :afterId " +
+           "AND NOT EXISTS (SELECT 1 FROM ProjectSearchTerm t WHERE t.id.projectId = p.id) ORDER BY p.id")
+    List<Long> findUnindexedProjectIds(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM ProjectSearchTerm t WHERE t.id.projectId = :projectId")
+    int deleteByProjectId(@Param("projectId") Long projectId);
+}
@@ -0,0 +1,86 @@
+package com.example.pmflow.repository;
+
+import com.example.pmflow.entity.Project;
+import com.example.pmflow.entity.ProjectStatus;
+import com.example.pmflow.entity.User;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Locale;
+
+// 🔹 Composable project filters; a null argument means "no constraint"
+public final class ProjectSpecifications {
+
+    private ProjectSpecifications() {}
+
+    // 🔍 Case-insensitive substring match on the project name
+    public static Specification<Project> nameContains(String projectName) {
+        if (projectName == null) {
+            return null;
+        }
+        String pattern = "%" + escapeLike(projectName.toLowerCase(Locale.ROOT)) + "%";
+        return (root, query, cb) -> cb.like(cb.lower(root.get("name")), pattern, '\\');
+    }
+
+    // 🔍 Case-insensitive exact match on the manager's username
+    public static Specification<Project> managerUsername(String managerName) {
+        if (managerName == null) {
+            return null;
+        }
+        String username = managerName.toLowerCase(Locale.ROOT);
+        return (root, query, cb) -> cb.equal(cb.lower(managerJoin(root).get("username")), username);
+    }
+
+    public static Specification<Project> managedBy(Long managerId) {
+        if (managerId == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("manager").get("id"), managerId);
+    }
+
+    public static Specification<Project> idIn(Collection<Long> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+
+    // 🔍 Unknown status names match nothing (same as the old in-memory filter)
+    public static Specification<Project> hasStatus(String status) {
+        if (status == null) {
+            return null;
+        }
+        ProjectStatus parsed;
+        try {
+            parsed = ProjectStatus.valueOf(status.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return (root, query, cb) -> cb.disjunction();
+        }
+        return (root, query, cb) -> cb.equal(root.get("status"), parsed);
+    }
+
+    public static Specification<Project> endsOn(LocalDate endDate) {
+        if (endDate == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("endDate"), endDate);
+    }
+
+    // ✅ One left join to the manager, shared by filters, sorting and the DTO projection; left so a
+    //    project without a manager row is still listed and the page content matches the COUNT
+    @SuppressWarnings("unchecked")
+    public static Join<Project, User> managerJoin(Root<Project> root) {
+        for (Join<Project, ?> join : root.getJoins()) {
+            if (join.getAttribute().getName().equals("manager") && join.getJoinType() == JoinType.LEFT) {
+                return (Join<Project, User>) join;
+            }
+        }
+        return root.join("manager", JoinType.LEFT);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.pmflow.repository;
+
+import com.example.pmflow.entity.ProjectStatus;
+
+// 🔹 One row of the grouped project stats query
+public interface ProjectStatusCount {
+
+    ProjectStatus getStatus();
+
+    long getTotal();
+
+    long getOverdue();
+}
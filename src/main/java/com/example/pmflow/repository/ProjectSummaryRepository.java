@@ -0,0 +1,18 @@
+package com.example.pmflow.repository;
+
+import com.example.pmflow.dto.ProjectSummaryDTO;
+import com.example.pmflow.entity.Project;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+// 🔹 Specification queries that select ProjectSummaryDTO columns directly (manager joined, no entities loaded)
+public interface ProjectSummaryRepository {
+
+    Page<ProjectSummaryDTO> findSummaries(Specification<Project> spec, Pageable pageable);
+
+    List<ProjectSummaryDTO> findSummaries(Specification<Project> spec, Sort sort);
+}
@@ -0,0 +1,79 @@
+package com.example.pmflow.repository;
+
+import com.example.pmflow.dto.ProjectSummaryDTO;
+import com.example.pmflow.entity.Project;
+import com.example.pmflow.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.List;
+
+public class ProjectSummaryRepositoryImpl implements ProjectSummaryRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<ProjectSummaryDTO> findSummaries(Specification<Project> spec, Pageable pageable) {
+        TypedQuery<ProjectSummaryDTO> query = summaryQuery(spec, pageable.getSort());
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        List<ProjectSummaryDTO> content = query.getResultList();
+        // COUNT only runs when the page alone cannot tell the total
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(spec));
+    }
+
+    @Override
+    public List<ProjectSummaryDTO> findSummaries(Specification<Project> spec, Sort sort) {
+        return summaryQuery(spec, sort).getResultList();
+    }
+
+    private TypedQuery<ProjectSummaryDTO> summaryQuery(Specification<Project> spec, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ProjectSummaryDTO> query = cb.createQuery(ProjectSummaryDTO.class);
+        Root<Project> root = query.from(Project.class);
+        Join<Project, User> manager = ProjectSpecifications.managerJoin(root);
+
+        query.select(cb.construct(ProjectSummaryDTO.class,
+                root.get("id"),
+                root.get("name"),
+                root.get("startDate"),
+                root.get("endDate"),
+                root.get("status"),
+                manager.get("username")));
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        }
+        return entityManager.createQuery(query);
+    }
+
+    private long count(Specification<Project> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Project> root = query.from(Project.class);
+        query.select(cb.count(root));
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
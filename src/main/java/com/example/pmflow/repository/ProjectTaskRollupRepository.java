@@ -0,0 +1,27 @@
+package com.example.pmflow.repository;
+
+import com.example.pmflow.entity.ProjectTaskRollup;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface ProjectTaskRollupRepository extends JpaRepository<ProjectTaskRollup, Long> {
+
+    // 🔒 Row lock so concurrent task changes in one project apply their deltas one at a time
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM ProjectTaskRollup r WHERE r.projectId = :projectId")
+    Optional<ProjectTaskRollup> findForUpdate(@Param("projectId") Long projectId);
+
+    // 🔹 Overdue is time-driven, so it is recomputed for every project in one statement
+    @Modifying
+    @Query("UPDATE ProjectTaskRollup r SET r.overdue = (" +
+           "SELECT COUNT(t) FROM Task t WHERE t.project.id = r.projectId AND t.dueDate < :now " +
+           "AND (t.status IS NULL OR t.status <> com.example.pmflow.enums.TaskStatus.COMPLETED))")
+    int refreshOverdue(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,28 @@
+package com.example.pmflow.repository;
+
+import com.example.pmflow.entity.RevokedToken;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, Long> {
+
+    boolean existsByTokenId(String tokenId);
+
+    // 🔹 Rows past a node's high-water mark, oldest first
+    List<RevokedToken> findByIdGreaterThanOrderByIdAsc(Long highWaterMark, Pageable pageable);
+
+    // 🔹 Recent rows at or below the mark, in case a lower id committed after a later one was seen
+    List<RevokedToken> findByIdLessThanEqualAndRevokedAtAfter(Long highWaterMark, Instant since);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RevokedToken r WHERE r.expiresAt <= :now")
+    int deleteExpired(@Param("now") Instant now);
+}
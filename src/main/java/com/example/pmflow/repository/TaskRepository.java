@@ -1,11 +1,35 @@
 package com.example.pmflow.repository;
 
 import com.example.pmflow.entity.Task;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskSearchRepository {
     List<Task> findByProjectId(Long projectId);
     List<Task> findByAssigneeId(Long assigneeId);
+
+    // 🔹 Same predicate as ProjectTaskRollupRepository.refreshOverdue; served by idx_tasks_project_status_due
+    @Query("SELECT COUNT(t) FROM Task t WHERE t.project.id = :projectId AND t.dueDate < :now " +
+           "AND (t.status IS NULL OR t.status <> com.example.pmflow.enums.TaskStatus.COMPLETED)")
+    long countOverdue(@Param("projectId") Long projectId, @Param("now") LocalDateTime now);
+
+    // 🔹 Read paths for TaskResponse: project, its manager and the assignee come back in the same SELECT
+    @EntityGraph(attributePaths = {"project", "project.manager", "assignee"})
+    List<Task> findDetailedByProjectId(Long projectId);
+
+    @EntityGraph(attributePaths = {"project", "project.manager", "assignee"})
+    List<Task> findDetailedByAssigneeId(Long assigneeId);
+
+    @EntityGraph(attributePaths = {"project", "project.manager", "assignee"})
+    Optional<Task> findDetailedById(Long id);
+
+    @EntityGraph(attributePaths = {"project", "project.manager", "assignee"})
+    List<Task> findDetailedByIdIn(Collection<Long> ids);
 }
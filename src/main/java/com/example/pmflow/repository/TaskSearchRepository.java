@@ -0,0 +1,12 @@
+package com.example.pmflow.repository;
+
+import com.example.pmflow.entity.Task;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+// 🔹 Keyset task search: project, manager and assignee fetched in the same SELECT, no OFFSET and no COUNT
+public interface TaskSearchRepository {
+
+    List<Task> findTaskSlice(Specification<Task> spec, TaskSort sort, int limit);
+}
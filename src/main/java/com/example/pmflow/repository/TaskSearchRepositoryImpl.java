@@ -0,0 +1,50 @@
+package com.example.pmflow.repository;
+
+import com.example.pmflow.entity.Task;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Fetch;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public class TaskSearchRepositoryImpl implements TaskSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Task> findTaskSlice(Specification<Task> spec, TaskSort sort, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Task> query = cb.createQuery(Task.class);
+        Root<Task> root = query.from(Task.class);
+        Fetch<Object, Object> project = root.fetch("project", JoinType.INNER);
+        project.fetch("manager", JoinType.LEFT);
+        root.fetch("assignee", JoinType.LEFT);
+
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(orderBy(sort, root, cb));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    // Must stay in step with the keyset predicates in TaskSpecifications
+    private static List<Order> orderBy(TaskSort sort, Root<Task> root, CriteriaBuilder cb) {
+        if (sort == TaskSort.PRIORITY) {
+            return List.of(cb.asc(TaskSpecifications.priorityRank(root, cb)), cb.asc(root.get("id")));
+        }
+        // Callers split dated and undated rows into separate queries, so this ORDER BY can walk the due_date indexes
+        return List.of(cb.asc(root.get("dueDate")), cb.asc(root.get("id")));
+    }
+}
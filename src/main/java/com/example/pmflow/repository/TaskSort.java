@@ -0,0 +1,7 @@
+package com.example.pmflow.repository;
+
+// 🔹 Orderings offered by task search; ties are always broken by id
+public enum TaskSort {
+    DUE_DATE,   // soonest first; callers page through tasks without a due date separately, after the rest
+    PRIORITY    // HIGH, MEDIUM, LOW, then tasks without a priority
+}
@@ -0,0 +1,107 @@
+package com.example.pmflow.repository;
+
+import com.example.pmflow.entity.Task;
+import com.example.pmflow.enums.TaskPriority;
+import com.example.pmflow.enums.TaskStatus;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+// 🔹 Composable task filters and keyset positions; a null argument means "no constraint"
+public final class TaskSpecifications {
+
+    // Rank given to tasks without a priority so they sort after LOW
+    public static final int NO_PRIORITY_RANK = TaskPriority.values().length;
+
+    private TaskSpecifications() {}
+
+    public static Specification<Task> inProject(Long projectId) {
+        if (projectId == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("project").get("id"), projectId);
+    }
+
+    public static Specification<Task> assignedTo(Long assigneeId) {
+        if (assigneeId == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("assignee").get("id"), assigneeId);
+    }
+
+    public static Specification<Task> statusIn(Collection<TaskStatus> statuses) {
+        if (statuses == null || statuses.isEmpty()) {
+            return null;
+        }
+        return (root, query, cb) -> root.get("status").in(statuses);
+    }
+
+    public static Specification<Task> hasPriority(TaskPriority priority) {
+        if (priority == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("priority"), priority);
+    }
+
+    // 🔍 Inclusive due-date range; either end may be open
+    public static Specification<Task> dueBetween(LocalDateTime from, LocalDateTime to) {
+        if (from == null && to == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            Expression<LocalDateTime> due = root.get("dueDate");
+            if (from == null) {
+                return cb.lessThanOrEqualTo(due, to);
+            }
+            if (to == null) {
+                return cb.greaterThanOrEqualTo(due, from);
+            }
+            return cb.between(due, from, to);
+        };
+    }
+
+    public static Specification<Task> hasDueDate(boolean dated) {
+        return (root, query, cb) -> dated ? cb.isNotNull(root.get("dueDate")) : cb.isNull(root.get("dueDate"));
+    }
+
+    // ✅ Dated rows after (dueDate, id) in DUE_DATE order
+    public static Specification<Task> afterDueDate(LocalDateTime dueDate, Long id) {
+        return (root, query, cb) -> {
+            Expression<LocalDateTime> due = root.get("dueDate");
+            return cb.or(
+                    cb.greaterThan(due, dueDate),
+                    cb.and(cb.equal(due, dueDate), cb.greaterThan(root.get("id"), id)));
+        };
+    }
+
+    public static Specification<Task> afterId(Long id) {
+        return (root, query, cb) -> cb.greaterThan(root.get("id"), id);
+    }
+
+    // ✅ Rows after (rank, id) in PRIORITY order
+    public static Specification<Task> afterPriority(int rank, Long id) {
+        return (root, query, cb) -> {
+            Expression<Integer> taskRank = priorityRank(root, cb);
+            return cb.or(
+                    cb.greaterThan(taskRank, rank),
+                    cb.and(cb.equal(taskRank, rank), cb.greaterThan(root.get("id"), id)));
+        };
+    }
+
+    public static int priorityRank(TaskPriority priority) {
+        return priority == null ? NO_PRIORITY_RANK : priority.ordinal();
+    }
+
+    // 🔹 Enum is stored as text, so the HIGH > MEDIUM > LOW order is spelled out in SQL
+    static Expression<Integer> priorityRank(Root<Task> root, CriteriaBuilder cb) {
+        CriteriaBuilder.SimpleCase<TaskPriority, Integer> rank = cb.selectCase(root.get("priority"));
+        for (TaskPriority priority : TaskPriority.values()) {
+            rank = rank.when(priority, priority.ordinal());
+        }
+        return rank.otherwise(NO_PRIORITY_RANK);
+    }
+}
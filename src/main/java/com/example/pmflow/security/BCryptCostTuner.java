@@ -0,0 +1,41 @@
+package com.example.pmflow.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+// 🔹 Picks the highest BCrypt cost whose hash time on this machine stays within a target.
+//    Each step up doubles the work: the search moves up while twice the last measured time still
+//    fits the target, then measures the new cost. The configured floor is never lowered.
+//    Runs once at startup, on an idle machine; existing hashes move to the new cost on login.
+final class BCryptCostTuner {
+
+    private static final Logger logger = LoggerFactory.getLogger(BCryptCostTuner.class);
+    private static final String SAMPLE_PASSWORD = "cost-calibration-sample";
+    private static final int RUNS = 3;
+
+    private BCryptCostTuner() {
+    }
+
+    static int tune(int minStrength, int maxStrength, long targetMs) {
+        int strength = minStrength;
+        long millis = measure(strength);
+        while (strength < maxStrength && millis * 2 <= targetMs) {
+            strength++;
+            millis = measure(strength);
+        }
+        logger.info("BCrypt cost {} (~{} ms per hash, target {} ms)", strength, millis, targetMs);
+        return strength;
+    }
+
+    // Best of a few runs, so a GC pause or a busy neighbour doesn't drag the cost down
+    static long measure(int strength) {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            BCrypt.hashpw(SAMPLE_PASSWORD, BCrypt.gensalt(strength));
+            best = Math.min(best, (System.nanoTime() - start) / 1_000_000);
+        }
+        return best;
+    }
+}
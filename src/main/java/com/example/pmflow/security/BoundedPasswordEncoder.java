@@ -0,0 +1,33 @@
+package com.example.pmflow.security;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+// 🔹 Sends every hash and verify through the bounded hashing pool; upgradeEncoding only
+//    parses the stored hash's cost, so it stays on the caller
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final PasswordHashingExecutor executor;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, PasswordHashingExecutor executor) {
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return executor.run(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return executor.run(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    // ✅ True when the stored cost is below the current one, which makes
+    //    DaoAuthenticationProvider rehash the password after a successful login
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
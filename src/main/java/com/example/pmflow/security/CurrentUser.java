@@ -0,0 +1,88 @@
+package com.example.pmflow.security;
+
+import com.example.pmflow.entity.Role;
+import com.example.pmflow.repository.UserRepository;
+import com.example.pmflow.service.ProjectMembershipCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+import java.util.Set;
+
+// 🔹 The caller of the current request, resolved once per request. JwtAuthFilter fills in id and role
+//    from the token (no SQL); project memberships come from ProjectMembershipCache on first use.
+@Component
+@RequestScope
+public class CurrentUser {
+
+    @Autowired
+    private ProjectMembershipCache membershipCache;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private AuthenticatedUser user;
+    private ProjectMembershipCache.Memberships memberships;
+
+    void set(AuthenticatedUser user) {
+        this.user = user;
+        this.memberships = null;
+    }
+
+    public Long getId() {
+        return resolve().getId();
+    }
+
+    public Role getRole() {
+        return resolve().getRole();
+    }
+
+    public boolean isAdmin() {
+        return resolve().isAdmin();
+    }
+
+    // ✅ Projects the caller manages or is a team member of
+    public Set<Long> getProjectIds() {
+        return memberships().all();
+    }
+
+    public boolean isMemberOf(Long projectId) {
+        return memberships().belongsTo(projectId);
+    }
+
+    public boolean isManagerOf(Long projectId) {
+        return memberships().manages(projectId);
+    }
+
+    // Resolved once per request, so a membership change mid-request cannot flip a later check
+    private ProjectMembershipCache.Memberships memberships() {
+        if (memberships == null) {
+            memberships = membershipCache.forUser(getId());
+        }
+        return memberships;
+    }
+
+    // Fallback for principals that did not come through JwtAuthFilter (e.g. other authentication mechanisms)
+    private AuthenticatedUser resolve() {
+        if (user != null) {
+            return user;
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        Object principal = authentication == null ? null : authentication.getPrincipal();
+        if (principal instanceof AuthenticatedUser authenticated) {
+            user = authenticated;
+        } else if (principal instanceof UserDetails details) {
+            String username = details.getUsername();
+            user = userRepository.findByUsernameOrEmail(username, username)
+                    .map(found -> AuthenticatedUser.fromClaims(found.getId(), found.getUsername(), found.getRole()))
+                    .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+        } else {
+            throw new UsernameNotFoundException("No authenticated user");
+        }
+        return user;
+    }
+}
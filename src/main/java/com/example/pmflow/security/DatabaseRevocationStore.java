@@ -0,0 +1,108 @@
+package com.example.pmflow.security;
+
+import com.example.pmflow.entity.RevokedToken;
+import com.example.pmflow.repository.RevokedTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+// 🔹 Revocations shared through the revoked_tokens table. Checks only hit the local in-memory copy,
+//    which each node keeps current by polling rows past its high-water mark.
+public class DatabaseRevocationStore implements RevocationStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseRevocationStore.class);
+    private static final int POLL_BATCH_SIZE = 500;
+
+    private final RevokedTokenRepository repository;
+    private final InMemoryRevocationStore local;
+    private final Duration reorderWindow;
+
+    private volatile long highWaterMark = 0L;
+
+    public DatabaseRevocationStore(RevokedTokenRepository repository, InMemoryRevocationStore local,
+                                   Duration reorderWindow) {
+        this.repository = repository;
+        this.local = local;
+        this.reorderWindow = reorderWindow;
+    }
+
+    @Override
+    public void revoke(String tokenId, long expiresAtMillis) {
+        // Visible on this node immediately; other nodes pick it up on their next poll
+        local.revoke(tokenId, expiresAtMillis);
+        if (repository.existsByTokenId(tokenId)) {
+            return;
+        }
+        try {
+            repository.save(new RevokedToken(tokenId, Instant.ofEpochMilli(expiresAtMillis)));
+        } catch (DataIntegrityViolationException e) {
+            logger.debug("Token {} already revoked by another node", tokenId);
+        }
+    }
+
+    @Override
+    public boolean isRevoked(String tokenId) {
+        return local.isRevoked(tokenId);
+    }
+
+    // ✅ Incremental refresh: only rows past the high-water mark are fetched, plus a short
+    //    re-read window for ids that committed out of order
+    @Scheduled(fixedDelayString = "${jwt.revocation.pollIntervalMs:2000}")
+    public synchronized void poll() {
+        long now = System.currentTimeMillis();
+        long mark = highWaterMark;
+
+        if (mark > 0) {
+            Instant recentSince = Instant.ofEpochMilli(now).minus(reorderWindow);
+            repository.findByIdLessThanEqualAndRevokedAtAfter(mark, recentSince)
+                    .forEach(row -> apply(row, now));
+        }
+
+        int loaded = 0;
+        List<RevokedToken> rows;
+        do {
+            rows = repository.findByIdGreaterThanOrderByIdAsc(mark, PageRequest.of(0, POLL_BATCH_SIZE));
+            for (RevokedToken row : rows) {
+                apply(row, now);
+                mark = row.getId();
+                loaded++;
+            }
+        } while (rows.size() == POLL_BATCH_SIZE);
+
+        highWaterMark = mark;
+        if (loaded > 0) {
+            logger.debug("Loaded {} revocations, high-water mark now {}", loaded, mark);
+        }
+    }
+
+    private void apply(RevokedToken row, long now) {
+        long expiresAt = row.getExpiresAt().toEpochMilli();
+        if (expiresAt > now) {
+            local.revoke(row.getTokenId(), expiresAt);
+        }
+    }
+
+    @Override
+    public void purgeExpired() {
+        local.purgeExpired();
+        int deleted = repository.deleteExpired(Instant.now());
+        if (deleted > 0) {
+            logger.debug("Deleted {} expired revocation rows", deleted);
+        }
+    }
+
+    @Override
+    public int size() {
+        return local.size();
+    }
+
+    long getHighWaterMark() {
+        return highWaterMark;
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.pmflow.security;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 🔹 Per-JVM revocation store; also the local cache in front of DatabaseRevocationStore
+public class InMemoryRevocationStore implements RevocationStore {
+
+    // tokenId (jti) -> token expiry in epoch millis; entries go away once the token would have expired anyway
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+
+    private final int bloomFilterExpectedEntries;
+    private volatile RevocationBloomFilter bloomFilter;
+    private volatile boolean rebuildingBloomFilter;
+
+    public InMemoryRevocationStore(boolean bloomFilterEnabled, int bloomFilterExpectedEntries) {
+        this.bloomFilterExpectedEntries = bloomFilterExpectedEntries;
+        if (bloomFilterEnabled) {
+            this.bloomFilter = newBloomFilter();
+        }
+    }
+
+    @Override
+    public void revoke(String tokenId, long expiresAtMillis) {
+        revokedTokens.merge(tokenId, expiresAtMillis, Math::max);
+        RevocationBloomFilter filter = bloomFilter;
+        if (filter != null) {
+            filter.add(tokenId);
+        }
+    }
+
+    // ✅ Hot path for every authenticated request: no locks, no allocation
+    @Override
+    public boolean isRevoked(String tokenId) {
+        RevocationBloomFilter filter = bloomFilter;
+        if (filter != null && !rebuildingBloomFilter && !filter.mightContain(tokenId)) {
+            return false;
+        }
+        Long expiresAt = revokedTokens.get(tokenId);
+        return expiresAt != null && expiresAt > System.currentTimeMillis();
+    }
+
+    @Override
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        revokedTokens.values().removeIf(expiresAt -> expiresAt <= now);
+
+        if (bloomFilter != null) {
+            rebuildBloomFilter();
+        }
+    }
+
+    @Override
+    public int size() {
+        return revokedTokens.size();
+    }
+
+    // Bloom filters can't delete, so purge swaps in a fresh one built from the live entries.
+    // Lookups bypass the filter while it is being rebuilt so a concurrent revoke is never missed.
+    private synchronized void rebuildBloomFilter() {
+        rebuildingBloomFilter = true;
+        try {
+            RevocationBloomFilter fresh = newBloomFilter();
+            revokedTokens.keySet().forEach(fresh::add);
+            bloomFilter = fresh;
+            // Catch revocations that landed in the old filter while we were copying
+            revokedTokens.keySet().forEach(fresh::add);
+        } finally {
+            rebuildingBloomFilter = false;
+        }
+    }
+
+    private RevocationBloomFilter newBloomFilter() {
+        return new RevocationBloomFilter(bloomFilterExpectedEntries, 0.01);
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.pmflow.security;
+
+// 🔹 Unknown, expired, revoked or reused refresh token; the client has to log in again
+public class InvalidRefreshTokenException extends RuntimeException {
+    public InvalidRefreshTokenException(String message) {
+        super(message);
+    }
+}
@@ -1,13 +1,16 @@
 package com.example.pmflow.security;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -17,22 +20,27 @@ import java.io.IOException;
 @Component
 public class JwtAuthFilter extends OncePerRequestFilter {
 
+    private static final Logger logger = LoggerFactory.getLogger(JwtAuthFilter.class);
+
     @Autowired
     private JwtService jwtService;
 
     @Autowired
-    private UserDetailsService userDetailsService;
+    private JwtPrincipalResolver principalResolver;
 
     @Autowired
     private TokenBlacklistService tokenBlacklistService; // ✅ Added
 
+    @Autowired
+    private CurrentUser currentUser;
+
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) {
         String path = request.getServletPath();
         boolean skip = path.startsWith("/api/auth/");
         
         if (skip) {
-            System.out.println("🔒 Skipping JWT filter for: " + path);
+            logger.debug("🔒 Skipping JWT filter for: {}", path);
         }
         
         return skip;
@@ -55,18 +63,29 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
         jwt = authHeader.substring(7);
 
+        // ✅ Signature is verified once here; the claims are reused for validation below
+        final Claims claims;
+        try {
+            claims = jwtService.parseToken(jwt);
+        } catch (JwtException | IllegalArgumentException e) {
+            // Expired, tampered or malformed: tell the client to refresh instead of failing with a 500
+            logger.debug("🔒 Rejected bearer token: {}", e.getMessage());
+            rejectToken(response, "Token is invalid or expired");
+            return;
+        }
+
         // ✅ Check if token is blacklisted
-        if (tokenBlacklistService.isTokenBlacklisted(jwt)) {
-            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-            response.getWriter().write("Token is blacklisted (user logged out)");
+        if (tokenBlacklistService.isRevoked(jwtService.tokenId(claims, jwt))) {
+            rejectToken(response, "Token is blacklisted (user logged out)");
             return;
         }
 
-        username = jwtService.extractUsername(jwt);
+        username = claims.getSubject();
 
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            var userDetails = userDetailsService.loadUserByUsername(username);
-            if (jwtService.validateToken(jwt, userDetails)) {
+            // ✅ Principal comes from the signed claims (no DB lookup unless revalidation is enabled)
+            var userDetails = principalResolver.resolve(claims);
+            if (userDetails != null && jwtService.isTokenValid(claims, userDetails)) {
                 var authToken = new UsernamePasswordAuthenticationToken(
                         userDetails, null, userDetails.getAuthorities()
                 );
@@ -74,10 +93,20 @@ public class JwtAuthFilter extends OncePerRequestFilter {
                         new WebAuthenticationDetailsSource().buildDetails(request)
                 );
                 SecurityContextHolder.getContext().setAuthentication(authToken);
+                // ✅ Services read the caller from here for the rest of the request
+                if (userDetails instanceof AuthenticatedUser authenticated) {
+                    currentUser.set(authenticated);
+                }
             }
         }
 
-        System.out.println("🔍 Path: " + request.getRequestURI());
+        logger.debug("🔍 Path: {}", request.getRequestURI());
         filterChain.doFilter(request, response);
     }
+
+    private void rejectToken(HttpServletResponse response, String message) throws IOException {
+        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+        response.setHeader("WWW-Authenticate", "Bearer error=\"invalid_token\"");
+        response.getWriter().write(message);
+    }
 }
@@ -0,0 +1,238 @@
+package com.example.pmflow.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.KeyPair;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// 🔹 Signing keys by kid. HMAC signs with the shared jwt.secret (no kid, no rotation); asymmetric
+//    algorithms generate key pairs in memory, publish the public halves as a JWKS and rotate:
+//      next -> active on rotate(), active -> retired (verify only) until its last token has expired.
+//    Reads go through an immutable snapshot, so signing and verifying never take a lock.
+public class JwtKeyRing {
+
+    // Tokens issued before this ring existed carry no kid and were signed with jwt.secret
+    private static final String NO_KID = "";
+
+    private final SignatureAlgorithm algorithm;
+    private final long retainMs;
+    private final JwtParser parser;
+
+    private volatile Snapshot snapshot;
+
+    public JwtKeyRing(SignatureAlgorithm algorithm, String secret, long retainMs) {
+        this(algorithm, secret, retainMs, System.currentTimeMillis());
+    }
+
+    JwtKeyRing(SignatureAlgorithm algorithm, String secret, long retainMs, long nowMillis) {
+        if (algorithm == SignatureAlgorithm.NONE) {
+            throw new IllegalArgumentException("Unsigned tokens are not allowed");
+        }
+        this.algorithm = algorithm;
+        this.retainMs = retainMs;
+
+        Map<String, KeyEntry> verifiers = new HashMap<>();
+        KeyEntry legacy = null;
+        if (secret != null && !secret.isBlank()) {
+            Key hmacKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+            legacy = new KeyEntry(NO_KID, SignatureAlgorithm.HS256, hmacKey, hmacKey, Long.MAX_VALUE);
+        }
+
+        if (algorithm.isHmac()) {
+            if (legacy == null) {
+                throw new IllegalArgumentException("jwt.secret is required for " + algorithm.getValue());
+            }
+            KeyEntry hmac = new KeyEntry(NO_KID, algorithm, legacy.signingKey, legacy.verificationKey, Long.MAX_VALUE);
+            verifiers.put(NO_KID, hmac);
+            this.snapshot = new Snapshot(hmac, null, verifiers);
+        } else {
+            // ✅ Outstanding HS256 tokens stay valid for one token lifetime after switching algorithms
+            if (legacy != null) {
+                verifiers.put(NO_KID, legacy.retireAt(nowMillis + retainMs));
+            }
+            KeyEntry active = generate();
+            KeyEntry next = generate();
+            verifiers.put(active.kid, active);
+            verifiers.put(next.kid, next);
+            this.snapshot = new Snapshot(active, next, verifiers);
+        }
+
+        // ✅ One parser for the ring; the resolver only does a map lookup per token
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return verificationKey(header);
+                    }
+                })
+                .build();
+    }
+
+    public String sign(JwtBuilder builder) {
+        KeyEntry active = snapshot.active;
+        if (!NO_KID.equals(active.kid)) {
+            builder.setHeaderParam(JwsHeader.KEY_ID, active.kid);
+        }
+        return builder.signWith(active.signingKey, active.algorithm).compact();
+    }
+
+    public Claims verify(String token) {
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    // ✅ The pre-published key takes over signing; the old one keeps verifying until its tokens expire
+    public void rotate() {
+        rotate(System.currentTimeMillis());
+    }
+
+    synchronized void rotate(long nowMillis) {
+        Snapshot current = snapshot;
+        if (current.next == null) {
+            return;
+        }
+        KeyEntry active = current.next;
+        KeyEntry next = generate();
+
+        Map<String, KeyEntry> verifiers = new HashMap<>();
+        current.verifiers.values().stream()
+                .filter(entry -> entry.retireAtMillis > nowMillis)
+                .forEach(entry -> verifiers.put(entry.kid, entry));
+        verifiers.put(current.active.kid, current.active.retireAt(nowMillis + retainMs));
+        verifiers.put(active.kid, active);
+        verifiers.put(next.kid, next);
+
+        snapshot = new Snapshot(active, next, verifiers);
+    }
+
+    // 🔹 Public keys of the active, next and retired keys; HMAC secrets are never published
+    public List<Map<String, Object>> publicJwks() {
+        List<Map<String, Object>> keys = new ArrayList<>();
+        for (KeyEntry entry : snapshot.verifiers.values()) {
+            if (entry.verificationKey instanceof PublicKey publicKey) {
+                keys.add(toJwk(entry.kid, entry.algorithm, publicKey));
+            }
+        }
+        return keys;
+    }
+
+    public SignatureAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    public String getActiveKeyId() {
+        return snapshot.active.kid;
+    }
+
+    int verificationKeyCount() {
+        return snapshot.verifiers.size();
+    }
+
+    private Key verificationKey(JwsHeader<?> header) {
+        String kid = header.getKeyId();
+        KeyEntry entry = snapshot.verifiers.get(kid == null ? NO_KID : kid);
+        if (entry == null || entry.retireAtMillis <= System.currentTimeMillis()) {
+            throw new SignatureException("Unknown signing key: " + kid);
+        }
+        // A kid only ever verifies the algorithm it was generated for
+        if (!entry.algorithm.getValue().equals(header.getAlgorithm())) {
+            throw new SignatureException("Algorithm " + header.getAlgorithm() + " does not match key " + kid);
+        }
+        return entry.verificationKey;
+    }
+
+    private KeyEntry generate() {
+        KeyPair pair = Keys.keyPairFor(algorithm);
+        return new KeyEntry(thumbprint(pair.getPublic()), algorithm, pair.getPrivate(), pair.getPublic(), Long.MAX_VALUE);
+    }
+
+    private static String thumbprint(PublicKey key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getEncoded());
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest).substring(0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static Map<String, Object> toJwk(String kid, SignatureAlgorithm algorithm, PublicKey key) {
+        Map<String, Object> jwk = new LinkedHashMap<>();
+        jwk.put("kid", kid);
+        jwk.put("use", "sig");
+        jwk.put("alg", algorithm.getValue());
+        if (key instanceof ECPublicKey ec) {
+            int size = (ec.getParams().getCurve().getField().getFieldSize() + 7) / 8;
+            jwk.put("kty", "EC");
+            jwk.put("crv", "P-" + ec.getParams().getCurve().getField().getFieldSize());
+            jwk.put("x", base64Url(ec.getW().getAffineX(), size));
+            jwk.put("y", base64Url(ec.getW().getAffineY(), size));
+        } else if (key instanceof RSAPublicKey rsa) {
+            jwk.put("kty", "RSA");
+            jwk.put("n", base64Url(rsa.getModulus(), (rsa.getModulus().bitLength() + 7) / 8));
+            jwk.put("e", base64Url(rsa.getPublicExponent(), (rsa.getPublicExponent().bitLength() + 7) / 8));
+        }
+        return jwk;
+    }
+
+    // Unsigned big-endian, left-padded to the field size as RFC 7518 requires
+    private static String base64Url(BigInteger value, int length) {
+        byte[] bytes = value.toByteArray();
+        byte[] out = new byte[length];
+        int copy = Math.min(bytes.length, length);
+        System.arraycopy(bytes, bytes.length - copy, out, length - copy, copy);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(out);
+    }
+
+    private static final class KeyEntry {
+        private final String kid;
+        private final SignatureAlgorithm algorithm;
+        private final Key signingKey;
+        private final Key verificationKey;
+        private final long retireAtMillis;
+
+        private KeyEntry(String kid, SignatureAlgorithm algorithm, Key signingKey, Key verificationKey,
+                         long retireAtMillis) {
+            this.kid = kid;
+            this.algorithm = algorithm;
+            this.signingKey = signingKey;
+            this.verificationKey = verificationKey;
+            this.retireAtMillis = retireAtMillis;
+        }
+
+        private KeyEntry retireAt(long retireAtMillis) {
+            return new KeyEntry(kid, algorithm, signingKey, verificationKey, retireAtMillis);
+        }
+    }
+
+    private static final class Snapshot {
+        private final KeyEntry active;
+        private final KeyEntry next;
+        private final Map<String, KeyEntry> verifiers;
+
+        private Snapshot(KeyEntry active, KeyEntry next, Map<String, KeyEntry> verifiers) {
+            this.active = active;
+            this.next = next;
+            this.verifiers = Map.copyOf(verifiers);
+        }
+    }
+}
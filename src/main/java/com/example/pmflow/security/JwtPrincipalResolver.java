@@ -0,0 +1,87 @@
+package com.example.pmflow.security;
+
+import com.example.pmflow.entity.Role;
+import io.jsonwebtoken.Claims;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 🔹 Turns verified token claims into the request principal
+@Component
+public class JwtPrincipalResolver {
+
+    private static final Logger logger = LoggerFactory.getLogger(JwtPrincipalResolver.class);
+
+    @Autowired
+    private UserDetailsService userDetailsService;
+
+    // 0 = fully stateless; > 0 = re-read the user from the DB at most once per TTL (picks up role changes)
+    @Value("${jwt.principal.revalidateTtlMs:0}")
+    private long revalidateTtlMs;
+
+    @Value("${jwt.principal.revalidateCacheMaxSize:10000}")
+    private int revalidateCacheMaxSize;
+
+    private final Map<String, Revalidated> revalidated = new ConcurrentHashMap<>();
+
+    // Returns null when the user no longer exists
+    public UserDetails resolve(Claims claims) {
+        String username = claims.getSubject();
+
+        if (revalidateTtlMs > 0) {
+            return revalidate(username);
+        }
+
+        Long userId = claims.get(JwtService.CLAIM_USER_ID, Long.class);
+        String role = claims.get(JwtService.CLAIM_ROLE, String.class);
+        if (userId == null || role == null) {
+            // Token issued before id/role claims existed
+            return load(username);
+        }
+        return AuthenticatedUser.fromClaims(userId, username, Role.valueOf(role));
+    }
+
+    // ✅ Drop a cached principal, e.g. after an admin changes the user's role
+    public void evict(String username) {
+        revalidated.remove(username);
+    }
+
+    private UserDetails revalidate(String username) {
+        long now = System.currentTimeMillis();
+        Revalidated cached = revalidated.get(username);
+        if (cached != null && now - cached.loadedAt < revalidateTtlMs) {
+            return cached.user;
+        }
+
+        UserDetails user = load(username);
+        if (user == null) {
+            revalidated.remove(username);
+            return null;
+        }
+        if (revalidated.size() >= revalidateCacheMaxSize) {
+            revalidated.values().removeIf(r -> now - r.loadedAt >= revalidateTtlMs);
+        }
+        revalidated.put(username, new Revalidated(user, now));
+        return user;
+    }
+
+    private UserDetails load(String username) {
+        try {
+            return userDetailsService.loadUserByUsername(username);
+        } catch (UsernameNotFoundException e) {
+            logger.warn("Token subject no longer exists: {}", username);
+            return null;
+        }
+    }
+
+    private record Revalidated(UserDetails user, long loadedAt) {
+    }
+}
@@ -1,60 +1,192 @@
 package com.example.pmflow.security;
 
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
-import java.security.Key;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Comparator;
 import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 @Service
 public class JwtService {
 
-    @Value("${jwt.secret}")
+    private static final Logger logger = LoggerFactory.getLogger(JwtService.class);
+
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLE = "role";
+    // 🔹 Refresh token family the access token was issued with; logout ends that family
+    public static final String CLAIM_FAMILY_ID = "fid";
+
+    @Value("${jwt.secret:}")
     private String secretKey;
 
+    // 🔹 HS256 (shared jwt.secret) or an asymmetric algorithm such as ES256 with rotating in-memory keys
+    @Value("${jwt.signing.algorithm:HS256}")
+    private String signingAlgorithm;
+
     @Value("${jwt.expirationMs}")
     private long jwtExpirationMs;
 
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(secretKey.getBytes());
+    @Value("${jwt.claimsCache.maxSize:10000}")
+    private int claimsCacheMaxSize;
+
+    // 🔹 Built once: keys and the parser are created per key, not per token
+    private JwtKeyRing keyRing;
+
+    // 🔹 Verified claims keyed by SHA-256 of the token, dropped once the token expires
+    private final Map<String, CachedClaims> claimsCache = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        SignatureAlgorithm algorithm = signingAlgorithm == null
+                ? SignatureAlgorithm.HS256
+                : SignatureAlgorithm.forName(signingAlgorithm);
+        this.keyRing = new JwtKeyRing(algorithm, secretKey, jwtExpirationMs);
+    }
+
+    // ✅ Asymmetric keys rotate on a schedule; HS256 keeps the configured secret
+    @Scheduled(fixedDelayString = "${jwt.signing.rotationIntervalMs:86400000}",
+               initialDelayString = "${jwt.signing.rotationIntervalMs:86400000}")
+    public void rotateSigningKey() {
+        keyRing.rotate();
+        logger.debug("JWT signing key is now {}", keyRing.getActiveKeyId());
+    }
+
+    public List<Map<String, Object>> getPublicJwks() {
+        return keyRing.publicJwks();
     }
 
     public String generateToken(UserDetails user) {
-        return Jwts.builder()
+        return generateToken(user, UUID.randomUUID().toString(), null);
+    }
+
+    public String generateToken(UserDetails user, String tokenId, String familyId) {
+        JwtBuilder builder = Jwts.builder();
+        // ✅ Signed id + role let JwtAuthFilter build the principal without a DB lookup
+        if (user instanceof AuthenticatedUser authenticatedUser) {
+            builder.claim(CLAIM_USER_ID, authenticatedUser.getId())
+                   .claim(CLAIM_ROLE, authenticatedUser.getRole().name());
+        }
+        if (familyId != null) {
+            builder.claim(CLAIM_FAMILY_ID, familyId);
+        }
+        return keyRing.sign(builder
+                .setId(tokenId)
                 .setSubject(user.getUsername())
                 .setIssuedAt(new Date())
-                .setExpiration(new Date(System.currentTimeMillis() + jwtExpirationMs))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
-                .compact();
+                .setExpiration(new Date(System.currentTimeMillis() + jwtExpirationMs)));
+    }
+
+    public long getExpirationMs() {
+        return jwtExpirationMs;
+    }
+
+    // ✅ Verifies the signature once and returns the claims; repeat calls for the same token hit the cache
+    public Claims parseToken(String token) {
+        String cacheKey = hash(token);
+        long now = System.currentTimeMillis();
+
+        CachedClaims cached = claimsCache.get(cacheKey);
+        if (cached != null) {
+            if (cached.expiresAtMillis > now) {
+                return cached.claims;
+            }
+            claimsCache.remove(cacheKey, cached);
+            throw new ExpiredJwtException(null, cached.claims, "JWT expired at " + cached.claims.getExpiration());
+        }
+
+        Claims claims = new ReadOnlyClaims(keyRing.verify(token));
+        Date expiration = claims.getExpiration();
+        if (expiration != null) {
+            cache(cacheKey, new CachedClaims(claims, expiration.getTime()), now);
+        }
+        return claims;
+    }
+
+    // 🔹 Compact revocation key: the jti claim, or a hash for tokens issued without one
+    public String tokenId(Claims claims, String token) {
+        String jti = claims.getId();
+        return jti != null ? jti : hash(token);
     }
 
     public boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return username.equals(userDetails.getUsername()) && !isTokenExpired(token);
+        return isTokenValid(parseToken(token), userDetails);
+    }
+
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        return claims.getSubject().equals(userDetails.getUsername()) && !isTokenExpired(claims);
     }
 
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    private boolean isTokenExpired(Claims claims) {
+        return claims.getExpiration().before(new Date());
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    private <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
+        return claimsResolver.apply(parseToken(token));
     }
 
-    private <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-        return claimsResolver.apply(claims);
+    private void cache(String cacheKey, CachedClaims entry, long now) {
+        if (claimsCache.size() >= claimsCacheMaxSize) {
+            evictExpired(now);
+        }
+        // Still full of live tokens: drop the tenth that expires first, so hot tokens stay cached
+        if (claimsCache.size() >= claimsCacheMaxSize) {
+            evictEarliestExpiring(claimsCache.size() - claimsCacheMaxSize + 1 + claimsCacheMaxSize / 10);
+        }
+        claimsCache.put(cacheKey, entry);
+    }
+
+    private void evictEarliestExpiring(int count) {
+        claimsCache.entrySet().stream()
+                .sorted(Comparator.comparingLong(e -> e.getValue().expiresAtMillis))
+                .limit(count)
+                .toList()
+                .forEach(e -> claimsCache.remove(e.getKey(), e.getValue()));
+    }
+
+    private void evictExpired(long now) {
+        claimsCache.values().removeIf(c -> c.expiresAtMillis <= now);
+    }
+
+    int cachedTokenCount() {
+        return claimsCache.size();
+    }
+
+    static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] bytes = digest.digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final class CachedClaims {
+        private final Claims claims;
+        private final long expiresAtMillis;
+
+        private CachedClaims(Claims claims, long expiresAtMillis) {
+            this.claims = claims;
+            this.expiresAtMillis = expiresAtMillis;
+        }
     }
 }
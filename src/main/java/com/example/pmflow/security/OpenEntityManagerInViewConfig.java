@@ -0,0 +1,27 @@
+package com.example.pmflow.security;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+// 🔹 Open-in-view as Spring Boot registers it, minus the auth endpoints. An open entity manager
+//    holds its JDBC connection until the request ends, so every login waiting on the hashing pool
+//    kept a connection and a login storm drained the pool for the rest of the API.
+//    (spring.jpa.open-in-view=false turns off Boot's own interceptor in favour of this one.)
+@Configuration
+public class OpenEntityManagerInViewConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        OpenEntityManagerInViewInterceptor interceptor = new OpenEntityManagerInViewInterceptor();
+        interceptor.setEntityManagerFactory(entityManagerFactory);
+        registry.addWebRequestInterceptor(interceptor)
+                .excludePathPatterns("/api/auth/**");
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.pmflow.security;
+
+// 🔹 Thrown when the password hashing pool is saturated; callers should retry shortly
+public class PasswordHashingBusyException extends RuntimeException {
+    public PasswordHashingBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.pmflow.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// 🔹 Runs BCrypt work on a small fixed pool instead of the request thread. A login storm waits
+//    in a bounded queue and is turned away once that is full, or once the queue ahead of it would
+//    take longer than maxWait to drain, so hashing never occupies more than `threads` CPUs and
+//    the rest of the API keeps serving.
+public class PasswordHashingExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHashingExecutor.class);
+
+    private final ThreadPoolExecutor executor;
+    private final int threads;
+    private final long maxWaitMs;
+    private final LongAdder rejected = new LongAdder();
+
+    // Moving average of one hash, for the admission estimate; 0 until the first hash completes
+    private volatile long averageHashNanos;
+
+    public PasswordHashingExecutor(int threads, int queueCapacity, long maxWaitMs) {
+        this.threads = threads;
+        this.maxWaitMs = maxWaitMs;
+        if (threads <= 0) {
+            // ✅ Unbounded mode: hash on the calling thread (the old behaviour)
+            this.executor = null;
+            return;
+        }
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        logger.info("Password hashing pool: {} threads, queue {}, max wait {} ms", threads, queueCapacity, maxWaitMs);
+    }
+
+    public <T> T run(Supplier<T> task) {
+        if (executor == null) {
+            return task.get();
+        }
+
+        // ✅ Fail fast: a caller that would time out in the queue is rejected before it waits,
+        //    and the pool doesn't spend a hash on a login whose client already got a 503
+        if (estimatedWaitNanos() > TimeUnit.MILLISECONDS.toNanos(maxWaitMs)) {
+            throw busy();
+        }
+
+        Future<T> future;
+        try {
+            future = executor.submit(() -> timed(task));
+        } catch (RejectedExecutionException e) {
+            throw busy();
+        }
+
+        try {
+            return future.get(maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // A queued task that is cancelled here is skipped when a worker reaches it
+            future.cancel(false);
+            throw busy();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw busy();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Password hashing failed", cause);
+        }
+    }
+
+    private <T> T timed(Supplier<T> task) {
+        long start = System.nanoTime();
+        try {
+            return task.get();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            long average = averageHashNanos;
+            // Racy updates only blur the average a little
+            averageHashNanos = average == 0 ? elapsed : average + (elapsed - average) / 8;
+        }
+    }
+
+    private long estimatedWaitNanos() {
+        long queuedAhead = executor.getQueue().size() + executor.getActiveCount();
+        return (queuedAhead / threads) * averageHashNanos;
+    }
+
+    private PasswordHashingBusyException busy() {
+        rejected.increment();
+        return new PasswordHashingBusyException("Too many concurrent logins, please retry");
+    }
+
+    public boolean isBounded() {
+        return executor != null;
+    }
+
+    public int getQueued() {
+        return executor == null ? 0 : executor.getQueue().size();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.pmflow.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// 🔹 Per-route request limits ahead of JwtAuthFilter, so throttled calls cost neither a BCrypt
+//    hash nor a DB write. Callers with a valid bearer token are limited per user, all others
+//    per client IP (getRemoteAddr, i.e. after server.forward-headers-strategy when behind a proxy).
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Value("${rate.limit.routes:}")
+    private String routeSpecs;
+
+    @Value("${rate.limit.maxKeysPerRoute:50000}")
+    private int maxKeysPerRoute;
+
+    private record Route(RateLimitRule rule, RateLimiter limiter) {}
+
+    private List<Route> routes = List.of();
+
+    @PostConstruct
+    void init() {
+        routes = RateLimitRule.parseAll(routeSpecs).stream()
+                .map(rule -> new Route(rule, new RateLimiter(rule.limit(), rule.periodMs(), maxKeysPerRoute)))
+                .toList();
+        routes.forEach(route -> logger.info("Rate limit: {} {} -> {} per {} ms",
+                route.rule().method(), route.rule().pattern(), route.rule().limit(), route.rule().periodMs()));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+
+        Route route = match(request);
+        if (route == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long waitNanos = route.limiter().tryAcquire(clientKey(request), System.nanoTime());
+        if (waitNanos > 0) {
+            long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+            response.getWriter().write("Too many requests");
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private Route match(HttpServletRequest request) {
+        if (routes.isEmpty()) {
+            return null;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (Route route : routes) {
+            if (route.rule().matches(request.getMethod(), path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    // ✅ The token is only used as a key when its signature checks out (parseToken is cached,
+    //    so JwtAuthFilter gets the same claims for free); anything else falls back to the IP
+    private String clientKey(HttpServletRequest request) {
+        String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            try {
+                Claims claims = jwtService.parseToken(authHeader.substring(7));
+                if (claims.getSubject() != null) {
+                    return "user:" + claims.getSubject();
+                }
+            } catch (JwtException | IllegalArgumentException e) {
+                // Rejected by JwtAuthFilter; limit it like any anonymous caller
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    @Scheduled(fixedDelayString = "${rate.limit.evictIntervalMs:60000}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        int evicted = 0;
+        for (Route route : routes) {
+            evicted += route.limiter().evictIdle(now);
+        }
+        if (evicted > 0) {
+            logger.debug("Evicted {} idle rate limit buckets", evicted);
+        }
+    }
+}
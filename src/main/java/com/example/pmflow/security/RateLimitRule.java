@@ -0,0 +1,56 @@
+package com.example.pmflow.security;
+
+import org.springframework.util.AntPathMatcher;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 🔹 One rate limit route, written as "METHOD /ant/pattern=requests/periodMs"
+//    (e.g. "POST /api/auth/login=30/60000"). Routes are checked in order; the first match wins.
+public record RateLimitRule(String method, String pattern, int limit, long periodMs) {
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    public RateLimitRule {
+        if (limit <= 0 || periodMs <= 0) {
+            throw new IllegalArgumentException("Rate limit must be positive: " + pattern);
+        }
+    }
+
+    public boolean matches(String requestMethod, String path) {
+        return method.equalsIgnoreCase(requestMethod) && PATH_MATCHER.match(pattern, path);
+    }
+
+    public static RateLimitRule parse(String spec) {
+        String trimmed = spec.trim();
+        int space = trimmed.indexOf(' ');
+        int equals = trimmed.lastIndexOf('=');
+        int slash = trimmed.lastIndexOf('/');
+        if (space <= 0 || equals < space || slash < equals) {
+            throw new IllegalArgumentException("Invalid rate limit route (expected METHOD /path=requests/periodMs): " + spec);
+        }
+        try {
+            return new RateLimitRule(
+                    trimmed.substring(0, space),
+                    trimmed.substring(space + 1, equals).trim(),
+                    Integer.parseInt(trimmed.substring(equals + 1, slash).trim()),
+                    Long.parseLong(trimmed.substring(slash + 1).trim()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid rate limit route (expected METHOD /path=requests/periodMs): " + spec);
+        }
+    }
+
+    // ✅ Comma-separated list; blank means no limits
+    public static List<RateLimitRule> parseAll(String specs) {
+        List<RateLimitRule> rules = new ArrayList<>();
+        if (specs == null || specs.isBlank()) {
+            return rules;
+        }
+        for (String spec : specs.split(",")) {
+            if (!spec.isBlank()) {
+                rules.add(parse(spec));
+            }
+        }
+        return rules;
+    }
+}
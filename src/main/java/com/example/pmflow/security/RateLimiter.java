@@ -0,0 +1,77 @@
+package com.example.pmflow.security;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 🔹 Token buckets of `limit` requests refilled evenly over `period`, kept as GCRA state: each key
+//    holds one timestamp (the theoretical arrival time, TAT) and a request is admitted while the TAT
+//    stays within one period of now. Admission is a single CAS on that AtomicLong, with no lock.
+//    A bucket whose TAT has passed is full again, so dropping it loses nothing; that is what makes
+//    idle eviction safe.
+public class RateLimiter {
+
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final long intervalNanos;
+    private final long periodNanos;
+    private final int maxKeys;
+
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    // Shared by new keys while the map is full of active buckets, so memory stays bounded
+    // and a flood of fresh keys is still limited in aggregate
+    private final AtomicLong overflow = new AtomicLong(Long.MIN_VALUE);
+    private volatile long lastSweep;
+
+    public RateLimiter(int limit, long periodMs, int maxKeys) {
+        this.periodNanos = TimeUnit.MILLISECONDS.toNanos(periodMs);
+        this.intervalNanos = periodNanos / limit;
+        this.maxKeys = maxKeys;
+        this.lastSweep = System.nanoTime() - SWEEP_INTERVAL_NANOS;
+    }
+
+    // ✅ 0 when the request is admitted, otherwise how long until it would be (nanos)
+    public long tryAcquire(String key, long nowNanos) {
+        AtomicLong tat = buckets.get(key);
+        if (tat == null) {
+            tat = bucketFor(key, nowNanos);
+        }
+        while (true) {
+            long current = tat.get();
+            long next = Math.max(current, nowNanos) + intervalNanos;
+            long admitAt = next - periodNanos;
+            if (admitAt > nowNanos) {
+                return admitAt - nowNanos;
+            }
+            if (tat.compareAndSet(current, next)) {
+                return 0L;
+            }
+        }
+    }
+
+    private AtomicLong bucketFor(String key, long nowNanos) {
+        if (buckets.size() >= maxKeys) {
+            // Inline sweeps are rate-limited themselves, so a key flood can't turn every miss into a scan
+            if (nowNanos - lastSweep >= SWEEP_INTERVAL_NANOS) {
+                lastSweep = nowNanos;
+                evictIdle(nowNanos);
+            }
+            if (buckets.size() >= maxKeys) {
+                return overflow;
+            }
+        }
+        return buckets.computeIfAbsent(key, k -> new AtomicLong(Long.MIN_VALUE));
+    }
+
+    // ✅ Drops full buckets. A request racing with the removal lands on the dropped bucket and is
+    //    admitted once more at most.
+    public int evictIdle(long nowNanos) {
+        int before = buckets.size();
+        buckets.values().removeIf(tat -> tat.get() <= nowNanos);
+        return before - buckets.size();
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+}
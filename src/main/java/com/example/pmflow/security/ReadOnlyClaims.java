@@ -0,0 +1,117 @@
+package com.example.pmflow.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Set;
+
+// 🔹 Verified claims shared through JwtService's cache: every request presenting the token gets this
+//    same instance, so it must not be writable. Map writes and the Claims setters all throw.
+final class ReadOnlyClaims extends AbstractMap<String, Object> implements Claims {
+
+    private final Claims claims;
+    private final Set<Entry<String, Object>> entries;
+
+    // Takes over the parser's fresh instance, which is never handed out anywhere else
+    ReadOnlyClaims(Claims source) {
+        this.claims = source;
+        this.entries = Collections.unmodifiableMap(claims).entrySet();
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return entries;
+    }
+
+    @Override
+    public Object get(Object key) {
+        return claims.get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return claims.containsKey(key);
+    }
+
+    @Override
+    public <T> T get(String claimName, Class<T> requiredType) {
+        return claims.get(claimName, requiredType);
+    }
+
+    @Override
+    public String getIssuer() {
+        return claims.getIssuer();
+    }
+
+    @Override
+    public String getSubject() {
+        return claims.getSubject();
+    }
+
+    @Override
+    public String getAudience() {
+        return claims.getAudience();
+    }
+
+    // Date getters build a new Date from the stored value on every call
+    @Override
+    public Date getExpiration() {
+        return claims.getExpiration();
+    }
+
+    @Override
+    public Date getNotBefore() {
+        return claims.getNotBefore();
+    }
+
+    @Override
+    public Date getIssuedAt() {
+        return claims.getIssuedAt();
+    }
+
+    @Override
+    public String getId() {
+        return claims.getId();
+    }
+
+    @Override
+    public Claims setIssuer(String iss) {
+        throw readOnly();
+    }
+
+    @Override
+    public Claims setSubject(String sub) {
+        throw readOnly();
+    }
+
+    @Override
+    public Claims setAudience(String aud) {
+        throw readOnly();
+    }
+
+    @Override
+    public Claims setExpiration(Date exp) {
+        throw readOnly();
+    }
+
+    @Override
+    public Claims setNotBefore(Date nbf) {
+        throw readOnly();
+    }
+
+    @Override
+    public Claims setIssuedAt(Date iat) {
+        throw readOnly();
+    }
+
+    @Override
+    public Claims setId(String jti) {
+        throw readOnly();
+    }
+
+    private static UnsupportedOperationException readOnly() {
+        return new UnsupportedOperationException("Cached JWT claims are read-only");
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.pmflow.security;
+
+import com.example.pmflow.dto.AuthResponse;
+import com.example.pmflow.entity.RefreshToken;
+import com.example.pmflow.entity.User;
+import com.example.pmflow.repository.RefreshTokenRepository;
+import com.example.pmflow.repository.UserRepository;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+// 🔹 Short-lived access tokens plus rotating refresh tokens. Each refresh token is good for one
+//    exchange; presenting one that was already exchanged means it leaked, so the whole family
+//    (every token descended from that login) is revoked, along with its live access tokens.
+@Service
+public class RefreshTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private TokenBlacklistService tokenBlacklistService;
+
+    @Value("${jwt.refresh.expirationMs:1209600000}")
+    private long refreshExpirationMs;
+
+    // ✅ Login: new family with its first access/refresh pair
+    @Transactional
+    public AuthResponse startSession(UserDetails principal) {
+        User user = principal instanceof AuthenticatedUser authenticated
+                ? userRepository.getReferenceById(authenticated.getId())
+                : userRepository.findByUsernameOrEmail(principal.getUsername(), principal.getUsername())
+                        .orElseThrow(() -> new UsernameNotFoundException("User not found: " + principal.getUsername()));
+        return issue(principal, user, UUID.randomUUID().toString(), Instant.now());
+    }
+
+    // ✅ Exchanges a refresh token for a new pair in the same family. Role and username come from
+    //    the user row, so changes apply at the next refresh rather than the next login.
+    @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
+    public AuthResponse refresh(String rawToken) {
+        if (rawToken == null || rawToken.isBlank()) {
+            throw new InvalidRefreshTokenException("Refresh token is required");
+        }
+        RefreshToken current = refreshTokenRepository.findByTokenHash(JwtService.hash(rawToken))
+                .orElseThrow(() -> new InvalidRefreshTokenException("Unknown refresh token"));
+        Instant now = Instant.now();
+
+        if (current.getRevokedAt() != null) {
+            throw new InvalidRefreshTokenException("Refresh token has been revoked");
+        }
+        if (current.getUsedAt() != null) {
+            throw reuse(current, now);
+        }
+        if (!current.getExpiresAt().isAfter(now)) {
+            throw new InvalidRefreshTokenException("Refresh token has expired");
+        }
+        // Conditional update, so two concurrent exchanges of one token can't both succeed
+        if (refreshTokenRepository.markUsed(current.getId(), now) == 0) {
+            throw reuse(current, now);
+        }
+
+        User user = current.getUser();
+        AuthenticatedUser principal = new AuthenticatedUser(user.getId(), user.getUsername(), null, user.getRole());
+        return issue(principal, user, current.getFamilyId(), now);
+    }
+
+    // ✅ Logout: ends the family the access token was issued with. An expired access token still
+    //    identifies its family (the signature is checked before expiry), so idle users can log out too
+    @Transactional
+    public void endSession(String accessToken) {
+        String familyId;
+        try {
+            familyId = jwtService.parseToken(accessToken).get(JwtService.CLAIM_FAMILY_ID, String.class);
+        } catch (ExpiredJwtException e) {
+            familyId = e.getClaims().get(JwtService.CLAIM_FAMILY_ID, String.class);
+        } catch (JwtException e) {
+            return;
+        }
+        if (familyId != null) {
+            revokeFamily(familyId, Instant.now());
+        }
+    }
+
+    private AuthResponse issue(UserDetails principal, User user, String familyId, Instant now) {
+        String accessTokenId = UUID.randomUUID().toString();
+        String accessToken = jwtService.generateToken(principal, accessTokenId, familyId);
+        String refreshToken = newToken();
+
+        refreshTokenRepository.save(new RefreshToken(
+                JwtService.hash(refreshToken),
+                familyId,
+                user,
+                accessTokenId,
+                now.plusMillis(jwtService.getExpirationMs()),
+                now,
+                now.plusMillis(refreshExpirationMs)));
+
+        return new AuthResponse(accessToken, jwtService.getExpirationMs(), refreshToken, refreshExpirationMs);
+    }
+
+    // Already exchanged once: the token leaked or was replayed, so nobody holding this family is trusted
+    private InvalidRefreshTokenException reuse(RefreshToken token, Instant now) {
+        logger.warn("Refresh token reuse detected, revoking family {}", token.getFamilyId());
+        revokeFamily(token.getFamilyId(), now);
+        return new InvalidRefreshTokenException("Refresh token has already been used");
+    }
+
+    private void revokeFamily(String familyId, Instant now) {
+        refreshTokenRepository.revokeFamily(familyId, now);
+        // Access tokens are only blacklisted for what is left of their short lifetime
+        for (RefreshToken token : refreshTokenRepository.findLiveAccessTokens(familyId, now)) {
+            tokenBlacklistService.revoke(token.getAccessTokenId(), token.getAccessExpiresAt().toEpochMilli());
+        }
+    }
+
+    private static String newToken() {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.refresh.purgeIntervalMs:3600000}")
+    public void purgeExpired() {
+        int deleted = refreshTokenRepository.deleteExpired(Instant.now());
+        if (deleted > 0) {
+            logger.debug("Deleted {} expired refresh tokens", deleted);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.pmflow.security;
+
+// 🔹 Where revoked token ids live. Implementations must keep isRevoked() cheap: it runs on every request.
+public interface RevocationStore {
+
+    // Marks the token as revoked until expiresAtMillis, after which it is expired anyway
+    void revoke(String tokenId, long expiresAtMillis);
+
+    boolean isRevoked(String tokenId);
+
+    // Drops revocations whose tokens have expired
+    void purgeExpired();
+
+    int size();
+}
@@ -0,0 +1,38 @@
+package com.example.pmflow.security;
+
+import com.example.pmflow.repository.RevokedTokenRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class RevocationStoreConfig {
+
+    @Value("${jwt.revocation.bloomFilter.enabled:true}")
+    private boolean bloomFilterEnabled;
+
+    // Revocations only live as long as the (15 minute) access tokens they cover
+    @Value("${jwt.revocation.bloomFilter.expectedEntries:10000}")
+    private int bloomFilterExpectedEntries;
+
+    // ✅ Default: revocations live in this JVM only (single node)
+    @Bean
+    @ConditionalOnProperty(name = "jwt.revocation.store", havingValue = "memory", matchIfMissing = true)
+    public RevocationStore inMemoryRevocationStore() {
+        return new InMemoryRevocationStore(bloomFilterEnabled, bloomFilterExpectedEntries);
+    }
+
+    // ✅ Multi-node: revocations are written to revoked_tokens and polled by every node
+    @Bean
+    @ConditionalOnProperty(name = "jwt.revocation.store", havingValue = "database")
+    public RevocationStore databaseRevocationStore(RevokedTokenRepository repository,
+                                                   @Value("${jwt.revocation.reorderWindowMs:30000}") long reorderWindowMs) {
+        return new DatabaseRevocationStore(
+                repository,
+                new InMemoryRevocationStore(bloomFilterEnabled, bloomFilterExpectedEntries),
+                Duration.ofMillis(reorderWindowMs));
+    }
+}
@@ -1,6 +1,8 @@
 package com.example.pmflow.security;
 
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -26,6 +28,18 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthFilter jwtAuthFilter;
 
+    @Autowired
+    private RateLimitFilter rateLimitFilter;
+
+    @Value("${auth.bcrypt.strength:10}")
+    private int bcryptStrength;
+
+    @Value("${auth.bcrypt.maxStrength:14}")
+    private int bcryptMaxStrength;
+
+    @Value("${auth.bcrypt.targetMs:0}")
+    private long bcryptTargetMs;
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
@@ -33,12 +47,19 @@ public class SecurityConfig {
             .cors(cors -> {}) // ✅ Enable CORS globally
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
+                // ✅ Async re-dispatches of already-authorized requests (chat SSE streams)
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .requestMatchers("/api/auth/**").permitAll()
+                // ✅ Public verification keys (JWKS)
+                .requestMatchers(HttpMethod.GET, "/.well-known/jwks.json").permitAll()
                 // ✅ ADMIN endpoints
                 .requestMatchers(HttpMethod.POST, "/api/projects/create").hasRole("ADMIN")
                 .requestMatchers(HttpMethod.GET, "/api/projects/all").hasRole("ADMIN")
                 .requestMatchers(HttpMethod.GET, "/api/projects/filter").hasRole("ADMIN")
+                .requestMatchers(HttpMethod.GET, "/api/projects/filter/paged").hasRole("ADMIN")
+                .requestMatchers(HttpMethod.GET, "/api/projects/search").hasRole("ADMIN")
                 .requestMatchers(HttpMethod.GET, "/api/projects/count").hasRole("ADMIN")
+                .requestMatchers(HttpMethod.GET, "/api/projects/stats").hasRole("ADMIN")
                 .requestMatchers(HttpMethod.GET, "/api/projects/{projectId}").hasRole("ADMIN")
                 .requestMatchers(HttpMethod.GET, "/api/projects/by_name").hasRole("ADMIN")
                 .requestMatchers(HttpMethod.PUT, "/api/projects/{projectId}").hasRole("ADMIN")
@@ -48,23 +69,43 @@ public class SecurityConfig {
 
                 // ✅ PROJECT_MANAGER endpoints
                 .requestMatchers(HttpMethod.GET, "/api/projects/manager/**/filter").hasRole("PROJECT_MANAGER")
+                .requestMatchers(HttpMethod.GET, "/api/projects/manager/**/filter/paged").hasRole("PROJECT_MANAGER")
                 .requestMatchers(HttpMethod.GET, "/api/projects/manager/**/by_name").hasRole("PROJECT_MANAGER")
                 .requestMatchers(HttpMethod.GET, "/api/projects/manager/**/team_members/*").hasRole("PROJECT_MANAGER")
                 .requestMatchers(HttpMethod.GET, "/api/projects/manager/**/count").hasRole("PROJECT_MANAGER")
+                .requestMatchers(HttpMethod.GET, "/api/projects/manager/**/stats").hasRole("PROJECT_MANAGER")
                 .requestMatchers(HttpMethod.PUT, "/api/projects/manager/**/update_status_enddate/**").hasRole("PROJECT_MANAGER")
                 .requestMatchers(HttpMethod.GET, "/api/projects/manager/**").hasRole("PROJECT_MANAGER")
 
                 // ✅ All others require authentication
                 .anyRequest().authenticated()
             )
-            .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
+            .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+            // ✅ Throttled requests stop before token checks, hashing or DB work
+            .addFilterBefore(rateLimitFilter, JwtAuthFilter.class);
 
         return http.build();
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHashingExecutor passwordHashingExecutor) {
+        // ✅ Configured cost is the floor; raised while a hash stays within the target latency
+        int strength = bcryptTargetMs > 0
+                ? BCryptCostTuner.tune(bcryptStrength, bcryptMaxStrength, bcryptTargetMs)
+                : bcryptStrength;
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength), passwordHashingExecutor);
+    }
+
+    // ✅ threads = 0 picks half the cores; a negative value hashes on request threads
+    @Bean(destroyMethod = "shutdown")
+    public PasswordHashingExecutor passwordHashingExecutor(
+            @Value("${auth.hashing.threads:0}") int threads,
+            @Value("${auth.hashing.queueCapacity:64}") int queueCapacity,
+            @Value("${auth.hashing.maxWaitMs:2000}") long maxWaitMs) {
+        if (threads == 0) {
+            threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        }
+        return new PasswordHashingExecutor(threads, queueCapacity, maxWaitMs);
     }
 
     @Bean
@@ -1,19 +1,61 @@
 package com.example.pmflow.security;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
-import java.util.HashSet;
-import java.util.Set;
-
 @Service
 public class TokenBlacklistService {
-    private final Set<String> blacklistedTokens = new HashSet<>();
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenBlacklistService.class);
+
+    @Autowired
+    private JwtService jwtService;
+
+    // 🔹 In-memory by default; jwt.revocation.store=database shares revocations across nodes
+    @Autowired
+    private RevocationStore revocationStore;
 
     public void blacklistToken(String token) {
-        blacklistedTokens.add(token);
+        Claims claims;
+        try {
+            claims = jwtService.parseToken(token);
+        } catch (JwtException e) {
+            // Expired or invalid tokens are already rejected by JwtAuthFilter
+            logger.info("Ignoring revocation of unusable token: {}", e.getMessage());
+            return;
+        }
+        revoke(jwtService.tokenId(claims, token), claims.getExpiration().getTime());
     }
 
     public boolean isTokenBlacklisted(String token) {
-        return blacklistedTokens.contains(token);
+        try {
+            return isRevoked(jwtService.tokenId(jwtService.parseToken(token), token));
+        } catch (JwtException e) {
+            return false;
+        }
+    }
+
+    public void revoke(String tokenId, long expiresAtMillis) {
+        revocationStore.revoke(tokenId, expiresAtMillis);
+    }
+
+    public boolean isRevoked(String tokenId) {
+        return revocationStore.isRevoked(tokenId);
+    }
+
+    public int size() {
+        return revocationStore.size();
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.purgeIntervalMs:60000}")
+    public void purgeExpired() {
+        int before = revocationStore.size();
+        revocationStore.purgeExpired();
+        logger.debug("Purged {} expired revocations", before - revocationStore.size());
     }
 }
@@ -6,7 +6,8 @@ import com.example.pmflow.dto.RegisterRequest;
 import com.example.pmflow.entity.Role;
 import com.example.pmflow.entity.User;
 import com.example.pmflow.repository.UserRepository;
-import com.example.pmflow.security.JwtService;
+import com.example.pmflow.security.PasswordHashingBusyException;
+import com.example.pmflow.security.RefreshTokenService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -28,7 +29,7 @@ public class AuthService {
     private UserRepository userRepository;
 
     @Autowired
-    private JwtService jwtService;
+    private RefreshTokenService refreshTokenService;
 
     @Autowired
     private PasswordEncoder passwordEncoder;
@@ -47,10 +48,14 @@ public class AuthService {
                     )
             );
 
-            String token = jwtService.generateToken((org.springframework.security.core.userdetails.UserDetails) authentication.getPrincipal());
+            // ✅ Short-lived access token plus the first refresh token of a new family
+            AuthResponse response = refreshTokenService.startSession(
+                    (org.springframework.security.core.userdetails.UserDetails) authentication.getPrincipal());
             logger.info("Authentication successful for user: {}", request.getUsernameOrEmail());
 
-            return new AuthResponse(token, 86400000); // Token valid for 24h (in ms)
+            return response;
+        } catch (PasswordHashingBusyException e) {
+            throw e; // Expected under load; no stack trace per rejected login
         } catch (Exception e) {
             logger.error("Authentication failed for user: {}", request.getUsernameOrEmail(), e);
             throw e; // Let the exception propagate or customize as needed
@@ -0,0 +1,42 @@
+package com.example.pmflow.service;
+
+import com.example.pmflow.dto.CacheRegionStatsDTO;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// 🔹 Hit/miss counters of the Hibernate second-level cache regions (users, projects, tasks, ...)
+@Service
+public class CacheStatsService {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    public List<CacheRegionStatsDTO> getRegionStats() {
+        Statistics statistics = statistics();
+        List<CacheRegionStatsDTO> regions = new ArrayList<>();
+        String[] names = statistics.getSecondLevelCacheRegionNames();
+        Arrays.sort(names);
+        for (String name : names) {
+            CacheRegionStatistics region = statistics.getDomainDataRegionStatistics(name);
+            regions.add(new CacheRegionStatsDTO(name, region.getHitCount(), region.getMissCount(), region.getPutCount()));
+        }
+        return regions;
+    }
+
+    // ✅ Start a fresh measurement window (also resets Hibernate's other counters)
+    public void resetStats() {
+        statistics().clear();
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.pmflow.service;
+
+// 🔹 Thrown when the chat ingest queue is full; callers should retry shortly
+public class ChatBackpressureException extends RuntimeException {
+    public ChatBackpressureException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.pmflow.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// 🔹 Inserts queued chat messages with one JDBC batch per flush. ChatMessage uses IDENTITY ids,
+//    which stop Hibernate from batching inserts, so this goes around the entity manager.
+@Component
+public class ChatBatchWriter {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private volatile String insertSql;
+
+    // ✅ Returns the generated ids in batch order
+    @Transactional
+    public List<Long> insert(List<PendingChatMessage> batch) {
+        GeneratedKeyHolder keys = new GeneratedKeyHolder();
+        String sql = insertSql();
+        jdbcTemplate.batchUpdate(
+                con -> con.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        PendingChatMessage message = batch.get(i);
+                        ps.setLong(1, message.senderId);
+                        setNullableLong(ps, 2, message.receiverId);
+                        ps.setLong(3, message.projectId);
+                        setNullableLong(ps, 4, message.taskId);
+                        ps.setString(5, message.content);
+                        ps.setBoolean(6, message.group);
+                        ps.setTimestamp(7, Timestamp.valueOf(message.timestamp));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return batch.size();
+                    }
+                },
+                keys);
+
+        List<Long> ids = new ArrayList<>(batch.size());
+        for (Map<String, Object> row : keys.getKeyList()) {
+            ids.add(((Number) row.values().iterator().next()).longValue());
+        }
+        return ids;
+    }
+
+    private static void setNullableLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.BIGINT);
+        } else {
+            ps.setLong(index, value);
+        }
+    }
+
+    // "timestamp" is a reserved word on some databases, so quote it the way the driver expects
+    private String insertSql() {
+        String sql = insertSql;
+        if (sql == null) {
+            String quote = jdbcTemplate.execute((ConnectionCallback<String>) con -> con.getMetaData().getIdentifierQuoteString());
+            sql = "INSERT INTO chat_messages (sender_id, receiver_id, project_id, task_id, content, is_group, "
+                    + quote + "timestamp" + quote + ") VALUES (?, ?, ?, ?, ?, ?, ?)";
+            insertSql = sql;
+        }
+        return sql;
+    }
+}
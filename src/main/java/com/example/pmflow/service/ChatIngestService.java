@@ -0,0 +1,211 @@
+package com.example.pmflow.service;
+
+import com.example.pmflow.dto.ChatIngestAckDTO;
+import com.example.pmflow.dto.ChatRequestDTO;
+import com.example.pmflow.dto.ChatSummaryDTO;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 🔹 Asynchronous chat writes: messages are validated against cached ids, acked with a sequence
+//    number, queued in a bounded buffer and written by one flusher thread in JDBC batches.
+//    The synchronous ChatService send methods are unchanged and remain the default path.
+@Service
+public class ChatIngestService {
+
+    private static final Logger log = LoggerFactory.getLogger(ChatIngestService.class);
+
+    public static final String QUEUED = "QUEUED";
+    public static final String PERSISTED = "PERSISTED";
+
+    @Autowired
+    private ChatReferenceCache referenceCache;
+
+    @Autowired
+    private ChatBatchWriter batchWriter;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${chat.ingest.queueCapacity:10000}")
+    private int queueCapacity;
+
+    @Value("${chat.ingest.batchSize:200}")
+    private int batchSize;
+
+    @Value("${chat.ingest.flushIntervalMs:50}")
+    private long flushIntervalMs;
+
+    // How long a sender waits for queue space before getting a 503; 0 = reject immediately
+    @Value("${chat.ingest.offerTimeoutMs:100}")
+    private long offerTimeoutMs;
+
+    // Upper bound on how long a durable send waits for its batch to commit
+    @Value("${chat.ingest.durableTimeoutMs:5000}")
+    private long durableTimeoutMs;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private BlockingQueue<PendingChatMessage> queue;
+    private Thread flusher;
+    private volatile boolean running;
+
+    @PostConstruct
+    void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        running = true;
+        flusher = new Thread(this::flushLoop, "chat-ingest-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    // ✅ Drain what is already queued before the datasource goes away
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        flusher.join(TimeUnit.SECONDS.toMillis(10));
+        if (!queue.isEmpty()) {
+            log.warn("Chat ingest stopped with {} messages still queued", queue.size());
+        }
+    }
+
+    public ChatIngestAckDTO submitGroupMessage(Long senderId, Long projectId, ChatRequestDTO request, boolean durable) {
+        referenceCache.requireUser(senderId, "Sender");
+        referenceCache.requireProject(projectId);
+        return enqueue(senderId, null, projectId, null, request, true, durable);
+    }
+
+    public ChatIngestAckDTO submitPrivateMessage(Long senderId, Long receiverId, Long projectId, Long taskId,
+                                                 ChatRequestDTO request, boolean durable) {
+        referenceCache.requireUser(senderId, "Sender");
+        referenceCache.requireUser(receiverId, "Receiver");
+        referenceCache.requireProject(projectId);
+        referenceCache.requireTask(taskId);
+        return enqueue(senderId, receiverId, projectId, taskId, request, false, durable);
+    }
+
+    private ChatIngestAckDTO enqueue(Long senderId, Long receiverId, Long projectId, Long taskId,
+                                     ChatRequestDTO request, boolean group, boolean durable) {
+        if (request.getContent() == null || request.getContent().isBlank()) {
+            throw new IllegalArgumentException("Message content is required");
+        }
+        if (!running) {
+            throw new ChatBackpressureException("Chat ingest is shutting down");
+        }
+
+        PendingChatMessage message = new PendingChatMessage(sequence.incrementAndGet(), senderId, receiverId,
+                projectId, taskId, request.getContent(), group);
+        boolean accepted;
+        try {
+            accepted = queue.offer(message, offerTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            accepted = false;
+        }
+        if (!accepted) {
+            throw new ChatBackpressureException("Chat ingest queue is full");
+        }
+
+        if (!durable) {
+            return new ChatIngestAckDTO(message.sequence, null, QUEUED);
+        }
+        try {
+            Long id = message.persisted.get(durableTimeoutMs, TimeUnit.MILLISECONDS);
+            // The flusher stamped the timestamp before completing the future, so it is visible here
+            return new ChatIngestAckDTO(message.sequence, id, PERSISTED, message.timestamp);
+        } catch (TimeoutException e) {
+            // Still queued and will be written; the caller just stops waiting
+            return new ChatIngestAckDTO(message.sequence, null, QUEUED);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Message could not be saved", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new ChatIngestAckDTO(message.sequence, null, QUEUED);
+        }
+    }
+
+    public int queueDepth() {
+        return queue.size();
+    }
+
+    private void flushLoop() {
+        List<PendingChatMessage> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingChatMessage first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                flush(batch);
+            } catch (InterruptedException e) {
+                running = false;
+            } catch (RuntimeException e) {
+                log.error("Chat ingest flush failed", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    void flush(List<PendingChatMessage> batch) {
+        // ✅ One flusher thread stamps each batch as it writes it, so history ordered by (timestamp, id)
+        //    never shows a later-inserted message before an earlier one
+        LocalDateTime now = LocalDateTime.now();
+        for (PendingChatMessage message : batch) {
+            message.timestamp = now;
+        }
+        List<Long> ids;
+        try {
+            ids = batchWriter.insert(batch);
+        } catch (RuntimeException e) {
+            // One bad row (e.g. a project deleted while its id was cached) must not drop the whole batch
+            log.warn("Chat batch of {} failed, retrying row by row: {}", batch.size(), e.getMessage());
+            for (PendingChatMessage message : batch) {
+                List<Long> id;
+                try {
+                    id = batchWriter.insert(List.of(message));
+                } catch (RuntimeException rowFailure) {
+                    log.error("Dropping chat message seq={}: {}", message.sequence, rowFailure.getMessage());
+                    message.persisted.completeExceptionally(rowFailure);
+                    continue;
+                }
+                completed(List.of(message), id);
+            }
+            return;
+        }
+        completed(batch, ids);
+    }
+
+    private void completed(List<PendingChatMessage> batch, List<Long> ids) {
+        for (int i = 0; i < batch.size(); i++) {
+            PendingChatMessage message = batch.get(i);
+            Long id = ids.get(i);
+            message.persisted.complete(id);
+            try {
+                ChatSummaryDTO summary = new ChatSummaryDTO(id, message.senderId,
+                        referenceCache.requireUser(message.senderId, "Sender"), message.content, message.timestamp);
+                eventPublisher.publishEvent(new ChatMessagePostedEvent(message.projectId, message.taskId,
+                        message.senderId, message.receiverId, message.group, summary));
+            } catch (RuntimeException e) {
+                // Already saved; a failed live push only means subscribers pick it up from history
+                log.warn("Could not push chat message {}: {}", id, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.pmflow.service;
+
+import com.example.pmflow.dto.ChatSummaryDTO;
+
+// 🔹 Published by ChatService when a message is saved; pushed to stream subscribers after commit
+public record ChatMessagePostedEvent(
+        Long projectId,
+        Long taskId,
+        Long senderId,
+        Long receiverId,
+        boolean group,
+        ChatSummaryDTO message
+) {}
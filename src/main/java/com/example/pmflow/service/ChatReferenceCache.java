@@ -0,0 +1,106 @@
+package com.example.pmflow.service;
+
+import com.example.pmflow.repository.ProjectRepository;
+import com.example.pmflow.repository.TaskRepository;
+import com.example.pmflow.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+// 🔹 Short-lived existence checks for the ids a chat message points at, so a burst of messages
+//    in one project costs one lookup per id instead of four SELECTs per message.
+//    Only hits are cached; an unknown id is re-checked every time.
+@Component
+public class ChatReferenceCache {
+
+    @Autowired
+    private UserRepository userRepo;
+
+    @Autowired
+    private ProjectRepository projectRepo;
+
+    @Autowired
+    private TaskRepository taskRepo;
+
+    @Value("${chat.ingest.referenceCacheTtlMs:60000}")
+    private long ttlMs;
+
+    @Value("${chat.ingest.referenceCacheMaxSize:10000}")
+    private int maxSize;
+
+    private record Entry(String value, long expiresAt) {}
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    // ✅ Returns the display name used in ChatSummaryDTO
+    public String requireUser(Long userId, String role) {
+        return lookup("user:" + userId, () -> userRepo.findById(userId)
+                .map(user -> user.getFirstName() + " " + user.getLastName())
+                .orElseThrow(() -> new RuntimeException(role + " not found")));
+    }
+
+    public void requireProject(Long projectId) {
+        lookup("project:" + projectId, () -> {
+            if (!projectRepo.existsById(projectId)) {
+                throw new RuntimeException("Project not found");
+            }
+            return "";
+        });
+    }
+
+    public void requireTask(Long taskId) {
+        lookup("task:" + taskId, () -> {
+            if (!taskRepo.existsById(taskId)) {
+                throw new RuntimeException("Task not found");
+            }
+            return "";
+        });
+    }
+
+    // ✅ Invalidation hooks for writers (rename, delete); deferred to commit when a transaction is open
+    //    so a concurrent lookup cannot re-cache the old row in between
+    public void evictUser(Long userId) {
+        evict("user:" + userId);
+    }
+
+    public void evictProject(Long projectId) {
+        evict("project:" + projectId);
+    }
+
+    public void evictTask(Long taskId) {
+        evict("task:" + taskId);
+    }
+
+    private void evict(String key) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    entries.remove(key);
+                }
+            });
+        } else {
+            entries.remove(key);
+        }
+    }
+
+    private String lookup(String key, Supplier<String> loader) {
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(key);
+        if (entry != null && entry.expiresAt() > now) {
+            return entry.value();
+        }
+        String value = loader.get();
+        if (entries.size() >= maxSize) {
+            entries.clear();
+        }
+        entries.put(key, new Entry(value, now + ttlMs));
+        return value;
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.pmflow.service;
 
+import com.example.pmflow.dto.ChatPageDTO;
 import com.example.pmflow.dto.ChatRequestDTO;
 import com.example.pmflow.dto.ChatResponseDTO;
 import com.example.pmflow.dto.ChatSummaryDTO;
@@ -13,24 +14,28 @@ import com.example.pmflow.repository.ChatProjectRepository;
 import com.example.pmflow.repository.ProjectRepository;
 import com.example.pmflow.repository.TaskRepository;
 import com.example.pmflow.repository.UserRepository;
+import com.example.pmflow.security.CurrentUser;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 public class ChatService {
 
     private static final Logger log = LoggerFactory.getLogger(ChatService.class);
 
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 100;
+
     @Autowired
     private ChatMessageRepository chatRepo;
 
@@ -46,7 +51,14 @@ public class ChatService {
     @Autowired
     private ChatProjectRepository chatProjectRepo;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private CurrentUser currentUser;
+
     // 1. Send Private Message
+    @Transactional
     public ChatSummaryDTO sendPrivateMessage(Long senderId, Long receiverId, Long projectId, Long taskId, ChatRequestDTO request) {
         log.info("Sending private message: sender={}, receiver={}, projectId={}, taskId={}", senderId, receiverId, projectId, taskId);
 
@@ -66,10 +78,13 @@ public class ChatService {
         ChatMessage saved = chatRepo.save(message);
         log.info("Private message saved with ID: {}", saved.getId());
 
-        return mapToSummaryDTO(saved);
+        ChatSummaryDTO summary = mapToSummaryDTO(saved);
+        eventPublisher.publishEvent(new ChatMessagePostedEvent(projectId, taskId, senderId, receiverId, false, summary));
+        return summary;
     }
 
     // 2. Send Group Message
+    @Transactional
     public ChatSummaryDTO sendGroupMessage(Long senderId, Long projectId, ChatRequestDTO request) {
         log.info("Sending group message: sender={}, projectId={}", senderId, projectId);
 
@@ -87,55 +102,95 @@ public class ChatService {
         ChatMessage saved = chatRepo.save(message);
         log.info("Group message saved with ID: {}", saved.getId());
 
-        return mapToSummaryDTO(saved);
+        ChatSummaryDTO summary = mapToSummaryDTO(saved);
+        eventPublisher.publishEvent(new ChatMessagePostedEvent(projectId, null, senderId, null, true, summary));
+        return summary;
     }
 
-    // 3. Get Private Chat Summary Only (strict access-controlled)
-    public List<ChatSummaryDTO> getPrivateChatSummary(Long senderId, Long receiverId, Long projectId, Long taskId) {
-        Long currentUserId = getCurrentUserId();
-        if (!currentUserId.equals(senderId) && !currentUserId.equals(receiverId) && !isAdmin(currentUserId)) {
-            throw new SecurityException("You are not authorized to view this private chat.");
+    // 3. Get Private Chat Page (strict access-controlled, both directions in one keyset query)
+    public ChatPageDTO getPrivateChatPage(Long senderId, Long receiverId, Long projectId, Long taskId,
+                                          String before, String after, Integer size) {
+        assertPrivateChatAccess(senderId, receiverId);
+        if (before != null && after != null) {
+            throw new IllegalArgumentException("Use either 'before' or 'after', not both");
         }
 
-        List<ChatMessage> msgs1 = chatRepo.findBySenderIdAndReceiverIdAndProjectIdAndTaskIdOrderByTimestampAsc(senderId, receiverId, projectId, taskId);
-        List<ChatMessage> msgs2 = chatRepo.findByReceiverIdAndSenderIdAndProjectIdAndTaskIdOrderByTimestampAsc(senderId, receiverId, projectId, taskId);
-
-        List<ChatMessage> allMsgs = new ArrayList<>();
-        allMsgs.addAll(msgs1);
-        allMsgs.addAll(msgs2);
-        allMsgs.sort(Comparator.comparing(ChatMessage::getTimestamp));
+        int pageSize = resolvePageSize(size);
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
 
-        return allMsgs.stream().map(this::mapToSummaryDTO).collect(Collectors.toList());
+        if (after != null) {
+            ChatCursor cursor = ChatCursor.decode(after);
+            List<ChatSummaryDTO> rows = chatRepo.findPrivateMessagesAfter(
+                    senderId, receiverId, projectId, taskId, cursor.timestamp(), cursor.id(), limit);
+            return toPage(rows, pageSize, false, after);
+        }
+        if (before != null) {
+            ChatCursor cursor = ChatCursor.decode(before);
+            List<ChatSummaryDTO> rows = chatRepo.findPrivateMessagesBefore(
+                    senderId, receiverId, projectId, taskId, cursor.timestamp(), cursor.id(), limit);
+            return toPage(rows, pageSize, true, null);
+        }
+        return toPage(chatRepo.findLatestPrivateMessages(senderId, receiverId, projectId, taskId, limit),
+                pageSize, true, null);
     }
 
-    // 4. Get Group Chat Summary Only (strict access-controlled)
-    public List<ChatSummaryDTO> getGroupChatSummary(Long projectId) {
-        Long currentUserId = getCurrentUserId();
-        Project project = projectRepo.findById(projectId).orElseThrow(() -> new RuntimeException("Project not found"));
+    // 4. Get Group Chat Page (strict access-controlled, keyset-paginated on (timestamp, id))
+    //    - no cursor: the newest page
+    //    - before:    the page just older than the cursor
+    //    - after:     the page just newer than the cursor (polling for new messages)
+    public ChatPageDTO getGroupChatPage(Long projectId, String before, String after, Integer size) {
+        assertGroupChatAccess(projectId);
+        if (before != null && after != null) {
+            throw new IllegalArgumentException("Use either 'before' or 'after', not both");
+        }
 
-        boolean isManager = project.getManager().getId().equals(currentUserId);
-        boolean isTeamMember = project.getTeamMembers().stream().anyMatch(user -> user.getId().equals(currentUserId));
+        int pageSize = resolvePageSize(size);
+        // Fetch one extra row to learn whether another page exists without a COUNT query
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
 
-        if (!isManager && !isTeamMember && !isAdmin(currentUserId)) {
-            throw new SecurityException("You are not authorized to view this group chat.");
+        if (after != null) {
+            ChatCursor cursor = ChatCursor.decode(after);
+            return toPage(chatRepo.findGroupMessagesAfter(projectId, cursor.timestamp(), cursor.id(), limit),
+                    pageSize, false, after);
+        }
+        if (before != null) {
+            ChatCursor cursor = ChatCursor.decode(before);
+            return toPage(chatRepo.findGroupMessagesBefore(projectId, cursor.timestamp(), cursor.id(), limit),
+                    pageSize, true, null);
         }
+        return toPage(chatRepo.findLatestGroupMessages(projectId, limit), pageSize, true, null);
+    }
+
+    // Access rules shared by the history endpoints and the live streams
+    public void assertPrivateChatAccess(Long senderId, Long receiverId) {
+        Long currentUserId = currentUser.getId();
+        if (!currentUserId.equals(senderId) && !currentUserId.equals(receiverId) && !currentUser.isAdmin()) {
+            throw new SecurityException("You are not authorized to view this private chat.");
+        }
+    }
 
-        List<ChatMessage> messages = chatRepo.findByProjectIdAndIsGroupTrueOrderByTimestampAsc(projectId);
-        return messages.stream().map(this::mapToSummaryDTO).collect(Collectors.toList());
+    public void assertGroupChatAccess(Long projectId) {
+        // Membership implies the project exists; everyone else still gets "Project not found" first
+        if (currentUser.isMemberOf(projectId)) {
+            return;
+        }
+        if (!projectRepo.existsById(projectId)) {
+            throw new RuntimeException("Project not found");
+        }
+        if (!currentUser.isAdmin()) {
+            throw new SecurityException("You are not authorized to view this group chat.");
+        }
     }
 
     // 5. Assigned Projects (Deeya's Feature)
     public List<MemberProjectDTO> getAssignedProjectsForCurrentUser() {
-        Long currentUserId = getCurrentUserId();
-        List<Project> projects = chatProjectRepo.findProjectsAssignedToUser(currentUserId);
-        return projects.stream()
-                .map(p -> new MemberProjectDTO(p.getId(),p.getName(), p.getStatus().toString()))
-                .collect(Collectors.toList());
+        return chatProjectRepo.findProjectsAssignedToUser(currentUser.getId());
     }
 
-    // Mapper for Summary View
+    // Mapper for Summary View (write paths only; the sender is already loaded there)
     private ChatSummaryDTO mapToSummaryDTO(ChatMessage msg) {
         return new ChatSummaryDTO(
+                msg.getId(),
                 msg.getSender().getId(),
                 msg.getSender().getFirstName() + " " + msg.getSender().getLastName(),
                 msg.getContent(),
@@ -143,21 +198,32 @@ public class ChatService {
         );
     }
 
-    // Get current user
-    private Long getCurrentUserId() {
-        Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-        if (principal instanceof UserDetails userDetails) {
-            String username = userDetails.getUsername();
-            return userRepo.findByUsernameOrEmail(username, username)
-                    .map(User::getId)
-                    .orElseThrow(() -> new RuntimeException("User not found"));
+    // Trims the look-ahead row, puts the page in chronological order and derives both cursors
+    private ChatPageDTO toPage(List<ChatSummaryDTO> rows, int pageSize, boolean newestFirst, String after) {
+        boolean hasMore = rows.size() > pageSize;
+        List<ChatSummaryDTO> page = new ArrayList<>(hasMore ? rows.subList(0, pageSize) : rows);
+        if (newestFirst) {
+            Collections.reverse(page);
         }
-        return null;
+
+        String beforeCursor = null;
+        String afterCursor = null;
+        if (!page.isEmpty()) {
+            ChatSummaryDTO oldest = page.get(0);
+            ChatSummaryDTO newest = page.get(page.size() - 1);
+            beforeCursor = ChatCursor.encode(oldest.getTimestamp(), oldest.getId());
+            afterCursor = ChatCursor.encode(newest.getTimestamp(), newest.getId());
+        } else if (after != null) {
+            // Nothing newer yet: keep polling from the same position
+            afterCursor = after;
+        }
+        return new ChatPageDTO(page, beforeCursor, afterCursor, hasMore);
     }
 
-    private boolean isAdmin(Long userId) {
-        return userRepo.findById(userId)
-                .map(user -> user.getRole().name().equals("ADMIN"))
-                .orElse(false);
+    private int resolvePageSize(Integer size) {
+        if (size == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
     }
 }
\ No newline at end of file
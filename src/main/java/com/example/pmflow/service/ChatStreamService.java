@@ -0,0 +1,241 @@
+package com.example.pmflow.service;
+
+import com.example.pmflow.dto.ChatSummaryDTO;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 🔹 Server-Sent Events push for chat. Topics are "project:{id}" (group chat) and "task:{id}"
+//    (private threads, filtered per conversation). Subscribers live in this JVM only.
+//    Publishing only enqueues: each subscriber has a bounded outbox drained by a small sender pool,
+//    so a slow client never holds up the posting request or the ingest flusher.
+@Service
+public class ChatStreamService {
+
+    private static final Logger log = LoggerFactory.getLogger(ChatStreamService.class);
+
+    @Autowired
+    private ChatService chatService;
+
+    @Value("${chat.stream.timeoutMs:1800000}")
+    private long emitterTimeoutMs;
+
+    @Value("${chat.stream.senderThreads:4}")
+    private int senderThreads;
+
+    @Value("${chat.stream.subscriberQueueSize:256}")
+    private int subscriberQueueSize;
+
+    private final Map<String, Set<Subscriber>> topics = new ConcurrentHashMap<>();
+
+    private Executor sender;
+    private ExecutorService senderPool;
+
+    public ChatStreamService() {
+    }
+
+    ChatStreamService(Executor sender, int subscriberQueueSize) {
+        this.sender = sender;
+        this.subscriberQueueSize = subscriberQueueSize;
+    }
+
+    @PostConstruct
+    void init() {
+        if (sender != null) {
+            return;
+        }
+        AtomicInteger threadCount = new AtomicInteger();
+        // At most one drain task per subscriber is ever queued
+        senderPool = new ThreadPoolExecutor(senderThreads, senderThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(10_000),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "chat-stream-sender-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        sender = senderPool;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (senderPool != null) {
+            senderPool.shutdownNow();
+        }
+    }
+
+    // ✅ A private subscriber only receives messages between its two participants
+    static final class Subscriber {
+        private final SseEmitter emitter;
+        private final Long userA;
+        private final Long userB;
+        private Queue<SseEmitter.SseEventBuilder> outbox;
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        Subscriber(SseEmitter emitter, Long userA, Long userB) {
+            this.emitter = emitter;
+            this.userA = userA;
+            this.userB = userB;
+        }
+
+        SseEmitter emitter() {
+            return emitter;
+        }
+
+        boolean accepts(ChatMessagePostedEvent event) {
+            if (event.group()) {
+                return true;
+            }
+            return (userA.equals(event.senderId()) && userB.equals(event.receiverId()))
+                    || (userB.equals(event.senderId()) && userA.equals(event.receiverId()));
+        }
+    }
+
+    public SseEmitter subscribeGroup(Long projectId) {
+        chatService.assertGroupChatAccess(projectId);
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        register(groupTopic(projectId), new Subscriber(emitter, null, null));
+        return emitter;
+    }
+
+    public SseEmitter subscribePrivate(Long senderId, Long receiverId, Long projectId, Long taskId) {
+        chatService.assertPrivateChatAccess(senderId, receiverId);
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        register(taskTopic(taskId), new Subscriber(emitter, senderId, receiverId));
+        return emitter;
+    }
+
+    void register(String topic, Subscriber subscriber) {
+        subscriber.outbox = new ArrayBlockingQueue<>(subscriberQueueSize);
+        // ✅ Add under the topic's lock, so a concurrent unregister can't drop the set this lands in
+        Set<Subscriber> subscribers = topics.compute(topic, (key, current) -> {
+            Set<Subscriber> set = current == null ? ConcurrentHashMap.newKeySet() : current;
+            set.add(subscriber);
+            return set;
+        });
+        SseEmitter emitter = subscriber.emitter();
+        emitter.onCompletion(() -> unregister(topic, subscriber));
+        emitter.onTimeout(() -> unregister(topic, subscriber));
+        emitter.onError(e -> unregister(topic, subscriber));
+        log.debug("Chat stream subscribed to {} ({} subscribers)", topic, subscribers.size());
+    }
+
+    private void unregister(String topic, Subscriber subscriber) {
+        topics.computeIfPresent(topic, (key, subscribers) -> {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+
+    // ✅ Runs after the sending transaction commits, so subscribers never see a rolled-back message
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMessagePosted(ChatMessagePostedEvent event) {
+        String topic = event.group() ? groupTopic(event.projectId()) : taskTopic(event.taskId());
+        Set<Subscriber> subscribers = topics.get(topic);
+        if (subscribers == null) {
+            return;
+        }
+
+        ChatSummaryDTO message = event.message();
+        // The event id is a chat cursor: after a reconnect, pass Last-Event-ID as ?after= to catch up
+        String eventId = ChatCursor.encode(message.getTimestamp(), message.getId());
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.accepts(event)) {
+                enqueue(topic, subscriber, SseEmitter.event().id(eventId).name("message").data(message));
+            }
+        }
+    }
+
+    // ✅ Keeps idle connections open through proxies and reaps clients that went away
+    @Scheduled(fixedDelayString = "${chat.stream.heartbeatMs:25000}")
+    public void heartbeat() {
+        topics.forEach((topic, subscribers) -> {
+            for (Subscriber subscriber : subscribers) {
+                enqueue(topic, subscriber, SseEmitter.event().comment("ping"));
+            }
+        });
+    }
+
+    // ✅ A subscriber whose outbox is full has fallen behind; it is dropped and reconnects with Last-Event-ID
+    private void enqueue(String topic, Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        if (!subscriber.outbox.offer(event)) {
+            drop(topic, subscriber, "outbox full");
+            return;
+        }
+        scheduleDrain(topic, subscriber);
+    }
+
+    private void scheduleDrain(String topic, Subscriber subscriber) {
+        if (!subscriber.draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            sender.execute(() -> drain(topic, subscriber));
+        } catch (RejectedExecutionException e) {
+            subscriber.draining.set(false);
+            drop(topic, subscriber, "sender pool full");
+        }
+    }
+
+    private void drain(String topic, Subscriber subscriber) {
+        SseEmitter.SseEventBuilder event;
+        while ((event = subscriber.outbox.poll()) != null) {
+            try {
+                subscriber.emitter().send(event);
+            } catch (IOException | IllegalStateException e) {
+                drop(topic, subscriber, e.getMessage());
+                return;
+            }
+        }
+        subscriber.draining.set(false);
+        // An event enqueued after the last poll but before the flag cleared still gets sent
+        if (!subscriber.outbox.isEmpty()) {
+            scheduleDrain(topic, subscriber);
+        }
+    }
+
+    private void drop(String topic, Subscriber subscriber, String reason) {
+        log.debug("Dropping chat stream subscriber on {}: {}", topic, reason);
+        unregister(topic, subscriber);
+        subscriber.outbox.clear();
+        try {
+            subscriber.emitter().complete();
+        } catch (IllegalStateException e) {
+            // Already completed by the container
+        }
+    }
+
+    int subscriberCount(String topic) {
+        Set<Subscriber> subscribers = topics.get(topic);
+        return subscribers == null ? 0 : subscribers.size();
+    }
+
+    static String groupTopic(Long projectId) {
+        return "project:" + projectId;
+    }
+
+    static String taskTopic(Long taskId) {
+        return "task:" + taskId;
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.pmflow.service;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+
+// 🔹 A validated message waiting in the ingest queue
+final class PendingChatMessage {
+
+    final long sequence;
+    final Long senderId;
+    final Long receiverId;
+    final Long projectId;
+    final Long taskId;
+    final String content;
+    final boolean group;
+    // Stamped by the flusher right before the insert, so (timestamp, id) order matches insert order
+    LocalDateTime timestamp;
+    // Completed with the generated id once the batch holding this message commits
+    final CompletableFuture<Long> persisted = new CompletableFuture<>();
+
+    PendingChatMessage(long sequence, Long senderId, Long receiverId, Long projectId, Long taskId,
+                       String content, boolean group) {
+        this.sequence = sequence;
+        this.senderId = senderId;
+        this.receiverId = receiverId;
+        this.projectId = projectId;
+        this.taskId = taskId;
+        this.content = content;
+        this.group = group;
+    }
+}
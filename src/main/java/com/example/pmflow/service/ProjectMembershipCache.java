@@ -0,0 +1,138 @@
+package com.example.pmflow.service;
+
+import com.example.pmflow.repository.ProjectMembership;
+import com.example.pmflow.repository.ProjectRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 🔹 Per-user project membership sets for authorization checks. One indexed query loads everything a
+//    user manages or belongs to; after that a check is a set lookup, whatever the team size.
+//    ProjectService evicts the affected users whenever a manager or team changes.
+@Component
+public class ProjectMembershipCache {
+
+    @Autowired
+    private ProjectRepository projectRepo;
+
+    @Value("${project.membership.cacheTtlMs:300000}")
+    private long ttlMs;
+
+    @Value("${project.membership.cacheMaxSize:10000}")
+    private int maxSize;
+
+    public record Memberships(Set<Long> managed, Set<Long> all) {
+
+        public boolean manages(Long projectId) {
+            return managed.contains(projectId);
+        }
+
+        // ✅ Manager or team member
+        public boolean belongsTo(Long projectId) {
+            return all.contains(projectId);
+        }
+    }
+
+    private record Entry(Memberships memberships, long expiresAt) {}
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    // 🔹 Bumped by every eviction before it removes entries; a load that overlapped one is not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    public Memberships forUser(Long userId) {
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(userId);
+        if (entry != null && entry.expiresAt() > now) {
+            return entry.memberships();
+        }
+        long loadedAt = generation.get();
+        Memberships memberships = load(userId);
+        makeRoom(now);
+        // ✅ Checked under the entry's lock, so an eviction either sees this entry and removes it,
+        //    or has already bumped the generation and the (possibly stale) result is not stored
+        entries.compute(userId, (id, current) ->
+                generation.get() == loadedAt ? new Entry(memberships, now + ttlMs) : current);
+        return memberships;
+    }
+
+    public boolean isManager(Long userId, Long projectId) {
+        return forUser(userId).manages(projectId);
+    }
+
+    public boolean isMember(Long userId, Long projectId) {
+        return forUser(userId).belongsTo(projectId);
+    }
+
+    // ✅ Invalidation hooks; deferred to commit when a transaction is open (same as ChatReferenceCache)
+    public void evictUsers(Collection<Long> userIds) {
+        Set<Long> ids = Set.copyOf(userIds);
+        afterCommit(() -> {
+            generation.incrementAndGet();
+            entries.keySet().removeAll(ids);
+        });
+    }
+
+    // Used when the affected users are not known cheaply (project deletes)
+    public void evictAll() {
+        afterCommit(() -> {
+            generation.incrementAndGet();
+            entries.clear();
+        });
+    }
+
+    private void makeRoom(long now) {
+        if (entries.size() >= maxSize) {
+            entries.values().removeIf(entry -> entry.expiresAt() <= now);
+        }
+        // Still full of live entries: drop the tenth loaded longest ago, so active users stay cached
+        if (entries.size() >= maxSize) {
+            entries.entrySet().stream()
+                    .sorted(Comparator.comparingLong(e -> e.getValue().expiresAt()))
+                    .limit(entries.size() - maxSize + 1 + maxSize / 10)
+                    .toList()
+                    .forEach(e -> entries.remove(e.getKey(), e.getValue()));
+        }
+    }
+
+    int cachedUserCount() {
+        return entries.size();
+    }
+
+    private Memberships load(Long userId) {
+        List<ProjectMembership> rows = projectRepo.findMemberships(userId);
+        Set<Long> managed = new HashSet<>();
+        Set<Long> all = new HashSet<>();
+        for (ProjectMembership row : rows) {
+            if (row.isManager()) {
+                managed.add(row.getProjectId());
+            }
+            all.add(row.getProjectId());
+        }
+        return new Memberships(Set.copyOf(managed), Set.copyOf(all));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
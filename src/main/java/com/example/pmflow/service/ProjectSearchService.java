@@ -0,0 +1,160 @@
+package com.example.pmflow.service;
+
+import com.example.pmflow.entity.Project;
+import com.example.pmflow.entity.ProjectSearchTerm;
+import com.example.pmflow.repository.ProjectRepository;
+import com.example.pmflow.repository.ProjectSearchHit;
+import com.example.pmflow.repository.ProjectSearchTermRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import static com.example.pmflow.entity.ProjectSearchTerm.MAX_TERM_LENGTH;
+
+// 🔹 Maintains project_search_terms and answers ranked searches from it. Every word of a project's
+//    name and description is indexed by its prefixes, so "dash" finds "Dashboard" with an index seek
+//    instead of a LIKE '%dash%' scan over all projects.
+@Service
+public class ProjectSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProjectSearchService.class);
+
+    static final int MIN_TERM_LENGTH = 2;
+    static final int MAX_QUERY_TERMS = 8;
+    private static final int BACKFILL_BATCH_SIZE = 200;
+
+    // ✅ Ranking: name beats description, a whole word beats a prefix
+    static final int NAME_WORD_WEIGHT = 8;
+    static final int NAME_PREFIX_WEIGHT = 4;
+    static final int DESCRIPTION_WORD_WEIGHT = 2;
+    static final int DESCRIPTION_PREFIX_WEIGHT = 1;
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    @Autowired
+    private ProjectSearchTermRepository termRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // ✅ Brings the project's rows in line with its current name and description (only changed rows are written)
+    @Transactional
+    public void index(Project project) {
+        Map<String, Integer> wanted = terms(project.getName(), project.getDescription());
+        List<ProjectSearchTerm> stale = new ArrayList<>();
+        for (ProjectSearchTerm row : termRepository.findByIdProjectId(project.getId())) {
+            Integer weight = wanted.remove(row.getId().getTerm());
+            if (weight == null) {
+                stale.add(row);
+            } else if (weight != row.getWeight()) {
+                row.setWeight(weight);
+            }
+        }
+        termRepository.deleteAll(stale);
+        List<ProjectSearchTerm> added = new ArrayList<>();
+        wanted.forEach((term, weight) -> added.add(new ProjectSearchTerm(term, project.getId(), weight)));
+        termRepository.saveAll(added);
+    }
+
+    @Transactional
+    public void remove(Long projectId) {
+        termRepository.deleteByProjectId(projectId);
+    }
+
+    // 🔍 Projects matching every word of the query (as a word or word prefix), best first
+    public Slice<ProjectSearchHit> search(String query, Pageable pageable) {
+        Set<String> terms = queryTerms(query);
+        if (terms.isEmpty()) {
+            throw new IllegalArgumentException("Search query needs at least one word of " + MIN_TERM_LENGTH + "+ characters");
+        }
+        return termRepository.search(terms, terms.size(), pageable);
+    }
+
+    // ✅ Indexes projects created before the search table existed (or missed by a crash); resumable,
+    //    one transaction per batch
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        long afterId = 0L;
+        int indexed = 0;
+        List<Long> batch;
+        do {
+            batch = termRepository.findUnindexedProjectIds(afterId, PageRequest.of(0, BACKFILL_BATCH_SIZE));
+            if (batch.isEmpty()) {
+                break;
+            }
+            List<Long> ids = batch;
+            transactionTemplate.executeWithoutResult(status -> projectRepository.findAllById(ids).forEach(this::index));
+            afterId = batch.get(batch.size() - 1);
+            indexed += batch.size();
+        } while (batch.size() == BACKFILL_BATCH_SIZE);
+        if (indexed > 0) {
+            logger.info("Indexed {} projects for search", indexed);
+        }
+    }
+
+    // term -> weight for a project's name and description; a term found in both counts for both
+    static Map<String, Integer> terms(String name, String description) {
+        Map<String, Integer> terms = fieldTerms(name, NAME_WORD_WEIGHT, NAME_PREFIX_WEIGHT);
+        fieldTerms(description, DESCRIPTION_WORD_WEIGHT, DESCRIPTION_PREFIX_WEIGHT)
+                .forEach((term, weight) -> terms.merge(term, weight, Integer::sum));
+        return terms;
+    }
+
+    // Query words are matched against stored prefixes, so long words are cut to the stored length
+    static Set<String> queryTerms(String query) {
+        Set<String> terms = new LinkedHashSet<>();
+        for (String word : words(query)) {
+            terms.add(word.length() > MAX_TERM_LENGTH ? word.substring(0, MAX_TERM_LENGTH) : word);
+            if (terms.size() == MAX_QUERY_TERMS) {
+                break;
+            }
+        }
+        return terms;
+    }
+
+    // Within one field a repeated term counts once, at its best weight
+    private static Map<String, Integer> fieldTerms(String text, int wordWeight, int prefixWeight) {
+        Map<String, Integer> terms = new HashMap<>();
+        for (String word : words(text)) {
+            int longest = Math.min(word.length(), MAX_TERM_LENGTH);
+            for (int length = MIN_TERM_LENGTH; length <= longest; length++) {
+                int weight = length == word.length() ? wordWeight : prefixWeight;
+                terms.merge(word.substring(0, length), weight, Math::max);
+            }
+        }
+        return terms;
+    }
+
+    private static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        for (String word : WORD_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (word.length() >= MIN_TERM_LENGTH) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+}
@@ -2,13 +2,20 @@ package com.example.pmflow.service;
 
 import com.example.pmflow.dto.*;
 import com.example.pmflow.entity.Project;
+import com.example.pmflow.entity.ProjectTaskRollup;
 import com.example.pmflow.entity.ProjectStatus;
 import com.example.pmflow.entity.User;
 import com.example.pmflow.repository.ProjectRepository;
+import com.example.pmflow.repository.ProjectSearchHit;
+import com.example.pmflow.repository.ProjectStatusCount;
 import com.example.pmflow.repository.UserRepository;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
 import jakarta.transaction.Transactional;
@@ -17,17 +24,39 @@ import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.stream.Collectors;
 
+import static com.example.pmflow.repository.ProjectSpecifications.*;
+
 @Service
 public class ProjectService {
 
     private static final Logger logger = LoggerFactory.getLogger(ProjectService.class);
 
+    static final int MAX_PAGE_SIZE = 100;
+
+    // ✅ API sort keys -> entity paths (anything else is rejected)
+    private static final Map<String, String> SORTABLE = Map.of(
+            "name", "name",
+            "status", "status",
+            "startDate", "startDate",
+            "endDate", "endDate",
+            "managerName", "manager.username");
+
     private final ProjectRepository projectRepository;
     private final UserRepository userRepository;
+    private final TaskRollupService taskRollupService;
+    private final ChatReferenceCache chatReferenceCache;
+    private final ProjectMembershipCache membershipCache;
+    private final ProjectSearchService projectSearchService;
 
-    public ProjectService(ProjectRepository projectRepository, UserRepository userRepository) {
+    public ProjectService(ProjectRepository projectRepository, UserRepository userRepository,
+                          TaskRollupService taskRollupService, ChatReferenceCache chatReferenceCache,
+                          ProjectMembershipCache membershipCache, ProjectSearchService projectSearchService) {
         this.projectRepository = projectRepository;
         this.userRepository = userRepository;
+        this.taskRollupService = taskRollupService;
+        this.chatReferenceCache = chatReferenceCache;
+        this.membershipCache = membershipCache;
+        this.projectSearchService = projectSearchService;
     }
 
     @Transactional
@@ -45,23 +74,29 @@ public class ProjectService {
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MM/dd/yyyy");
         project.setEndDate(LocalDate.parse(request.getEndDate(), formatter));
         Project saved = projectRepository.save(project);
+        taskRollupService.createRollup(saved.getId());
+        membershipCache.evictUsers(memberIds(manager, teamMembers));
+        projectSearchService.index(saved);
         logger.info("Project created with ID: {}", saved.getId());
         return convertToDetailDTO(saved);
     }
 
     public List<ProjectSummaryDTO> getAllProjects() {
         logger.info("Fetching all projects for admin view");
-        return projectRepository.findAll().stream()
-                .map(this::convertToSummaryDTO)
-                .collect(Collectors.toList());
+        return withProgress(projectRepository.findSummaries(null, Sort.by("id")));
     }
 
     public List<ProjectSummaryDTO> getProjectsByManagerId(Long managerId) {
         logger.info("Fetching projects for manager ID: {}", managerId);
-        return projectRepository.findAll().stream()
-                .filter(p -> p.getManager().getId().equals(managerId))
-                .map(this::convertToSummaryDTO)
-                .collect(Collectors.toList());
+        return projectRepository.findSummaries(managedBy(managerId), Sort.by("id"));
+    }
+
+    // ✅ NEW: Manager landing page: a page of projects with rollups and team size, plus status totals
+    public ManagerDashboardDTO getManagerDashboard(Long managerId, int page, int size, String sort) {
+        logger.info("Fetching dashboard for manager {} (page {}, size {}, sort {})", managerId, page, size, sort);
+        PageResponseDTO<ManagerProjectSummaryDTO> projects = PageResponseDTO.from(
+                projectRepository.findManagerDashboard(managerId, pageRequest(page, size, sort)));
+        return new ManagerDashboardDTO(projects, getProjectStatsForManager(managerId));
     }
 
     public ProjectDetailDTO getProjectById(Long projectId) {
@@ -90,14 +125,14 @@ public class ProjectService {
 
     public List<TeamMemberDTO> getTeamMembersOfProject(Long projectId, Long managerId) {
         logger.info("Fetching team members for project ID: {} by manager ID: {}", projectId, managerId);
-        Project project = projectRepository.findById(projectId)
-                .orElseThrow(() -> new RuntimeException("Project not found"));
-        if (!Objects.equals(project.getManager().getId(), managerId)) {
+        // ✅ Manager check from the membership cache; the project is only hit when it fails
+        if (!membershipCache.isManager(managerId, projectId)) {
+            if (!projectRepository.existsById(projectId)) {
+                throw new RuntimeException("Project not found");
+            }
             throw new RuntimeException("Access denied: You are not the manager of this project.");
         }
-        return project.getTeamMembers().stream()
-                .map(user -> new TeamMemberDTO(user.getId(), user.getUsername()))
-                .collect(Collectors.toList());
+        return projectRepository.findTeamMembers(projectId);
     }
 
     @Transactional
@@ -136,6 +171,11 @@ public class ProjectService {
     }
 
     private ProjectDetailDTO updateProjectFields(Project project, ProjectUpdateRequestDTO request) {
+        // Everyone on the project before or after the change has stale memberships
+        Set<Long> affectedUsers = new HashSet<>();
+        if (request.getManagerId() != null || request.getTeamMemberIds() != null) {
+            affectedUsers.addAll(memberIds(project.getManager(), project.getTeamMembers()));
+        }
         if (request.getName() != null) project.setName(request.getName());
         if (request.getDescription() != null) project.setDescription(request.getDescription());
         if (request.getStatus() != null) project.setStatus(ProjectStatus.valueOf(request.getStatus()));
@@ -153,6 +193,13 @@ public class ProjectService {
             project.setEndDate(LocalDate.parse(request.getEndDate(), formatter));
         }
         Project updated = projectRepository.save(project);
+        if (!affectedUsers.isEmpty()) {
+            affectedUsers.addAll(memberIds(updated.getManager(), updated.getTeamMembers()));
+            membershipCache.evictUsers(affectedUsers);
+        }
+        if (request.getName() != null || request.getDescription() != null) {
+            projectSearchService.index(updated);
+        }
         logger.info("Project updated: {}", updated.getId());
         return convertToDetailDTO(updated);
     }
@@ -161,6 +208,10 @@ public class ProjectService {
     public void deleteProject(Long projectId) {
         logger.warn("Deleting project ID: {}", projectId);
         projectRepository.deleteById(projectId);
+        taskRollupService.deleteRollup(projectId);
+        chatReferenceCache.evictProject(projectId);
+        membershipCache.evictAll();
+        projectSearchService.remove(projectId);
     }
 
     @Transactional
@@ -169,23 +220,45 @@ public class ProjectService {
         Project project = projectRepository.findByName(projectName)
                 .orElseThrow(() -> new RuntimeException("Project not found with name: " + projectName));
         projectRepository.delete(project);
+        taskRollupService.deleteRollup(project.getId());
+        chatReferenceCache.evictProject(project.getId());
+        membershipCache.evictAll();
+        projectSearchService.remove(project.getId());
     }
 
     public List<ProjectSummaryDTO> filterProjects(String projectName, String managerName, String status, String endDate) {
         logger.info("Filtering projects with criteria - name: {}, manager: {}, status: {}, endDate: {}",
                 projectName, managerName, status, endDate);
 
-        return projectRepository.findAll().stream()
-                .filter(p -> projectName == null || p.getName().toLowerCase().contains(projectName.toLowerCase()))
-                .filter(p -> managerName == null || p.getManager().getUsername().equalsIgnoreCase(managerName))
-                .filter(p -> status == null || p.getStatus().name().equalsIgnoreCase(status))
-                .filter(p -> {
-                    if (endDate == null) return true;
-                    DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MM/dd/yyyy");
-                    return p.getEndDate().equals(LocalDate.parse(endDate, formatter));
-                })
-                .map(this::convertToSummaryDTO)
-                .collect(Collectors.toList());
+        return projectRepository.findSummaries(
+                filterSpec(null, projectName, managerName, status, endDate), Sort.by("id"));
+    }
+
+    // ✅ NEW: Paged + sorted admin filter, all predicates evaluated in SQL
+    public PageResponseDTO<ProjectSummaryDTO> filterProjectsPaged(String projectName, String managerName, String status,
+                                                                  String endDate, int page, int size, String sort) {
+        logger.info("Filtering projects (page {}, size {}, sort {}) - name: {}, manager: {}, status: {}, endDate: {}",
+                page, size, sort, projectName, managerName, status, endDate);
+
+        PageResponseDTO<ProjectSummaryDTO> result = PageResponseDTO.from(projectRepository.findSummaries(
+                filterSpec(null, projectName, managerName, status, endDate), pageRequest(page, size, sort)));
+        withProgress(result.getContent());
+        return result;
+    }
+
+    // ✅ NEW: Ranked name/description search over the search index, one page at a time
+    public ProjectSearchPageDTO searchProjects(String query, int page, int size) {
+        logger.info("Searching projects for '{}' (page {}, size {})", query, page, size);
+        Slice<ProjectSearchHit> hits = projectSearchService.search(query,
+                PageRequest.of(Math.max(page, 0), Math.max(1, Math.min(size, MAX_PAGE_SIZE))));
+        List<Long> ids = hits.getContent().stream().map(ProjectSearchHit::getProjectId).toList();
+        List<ProjectSummaryDTO> ranked = new ArrayList<>();
+        if (!ids.isEmpty()) {
+            Map<Long, ProjectSummaryDTO> byId = projectRepository.findSummaries(idIn(ids), Sort.unsorted()).stream()
+                    .collect(Collectors.toMap(ProjectSummaryDTO::getId, dto -> dto));
+            ids.stream().map(byId::get).filter(Objects::nonNull).forEach(ranked::add);
+        }
+        return new ProjectSearchPageDTO(withProgress(ranked), hits.getNumber(), hits.getSize(), hits.hasNext());
     }
 
     public long countProjectsByStatus(ProjectStatus status) {
@@ -197,26 +270,100 @@ public class ProjectService {
     public List<ProjectSummaryDTO> filterProjectsByManager(Long managerId, String projectName, String status, String endDate) {
         logger.info("Filtering projects for manager {} with - name: {}, status: {}, endDate: {}", managerId, projectName, status, endDate);
 
-        return projectRepository.findAll().stream()
-                .filter(p -> p.getManager().getId().equals(managerId))
-                .filter(p -> projectName == null || p.getName().toLowerCase().contains(projectName.toLowerCase()))
-                .filter(p -> status == null || p.getStatus().name().equalsIgnoreCase(status))
-                .filter(p -> {
-                    if (endDate == null) return true;
-                    DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MM/dd/yyyy");
-                    return p.getEndDate().equals(LocalDate.parse(endDate, formatter));
-                })
-                .map(this::convertToSummaryDTO)
-                .collect(Collectors.toList());
+        return projectRepository.findSummaries(
+                filterSpec(managerId, projectName, null, status, endDate), Sort.by("id"));
+    }
+
+    // ✅ NEW: Paged + sorted filter for a manager's own projects
+    public PageResponseDTO<ProjectSummaryDTO> filterProjectsByManagerPaged(Long managerId, String projectName, String status,
+                                                                           String endDate, int page, int size, String sort) {
+        logger.info("Filtering projects for manager {} (page {}, size {}, sort {}) - name: {}, status: {}, endDate: {}",
+                managerId, page, size, sort, projectName, status, endDate);
+
+        return PageResponseDTO.from(projectRepository.findSummaries(
+                filterSpec(managerId, projectName, null, status, endDate), pageRequest(page, size, sort)));
     }
 
     // ✅ NEW: Count projects by manager and status
     public long countProjectsByStatusForManager(Long managerId, ProjectStatus status) {
         logger.info("Counting projects for manager {} with status: {}", managerId, status);
-        return projectRepository.findAll().stream()
-                .filter(p -> p.getManager().getId().equals(managerId))
-                .filter(p -> p.getStatus().equals(status))
-                .count();
+        return projectRepository.countByManagerIdAndStatus(managerId, status);
+    }
+
+    // ✅ NEW: Dashboard stats for all projects (one GROUP BY query)
+    public ProjectStatsDTO getProjectStats() {
+        logger.info("Fetching project stats for admin dashboard");
+        return toStatsDTO(projectRepository.countGroupedByStatus(LocalDate.now()));
+    }
+
+    // ✅ NEW: Dashboard stats for a manager's projects (one GROUP BY query)
+    public ProjectStatsDTO getProjectStatsForManager(Long managerId) {
+        logger.info("Fetching project stats for manager {}", managerId);
+        return toStatsDTO(projectRepository.countGroupedByStatusForManager(managerId, LocalDate.now()));
+    }
+
+    private ProjectStatsDTO toStatsDTO(List<ProjectStatusCount> rows) {
+        Map<String, Long> countsByStatus = new LinkedHashMap<>();
+        for (ProjectStatus status : ProjectStatus.values()) {
+            countsByStatus.put(status.name(), 0L);
+        }
+        long total = 0;
+        long overdue = 0;
+        for (ProjectStatusCount row : rows) {
+            countsByStatus.put(row.getStatus().name(), row.getTotal());
+            total += row.getTotal();
+            overdue += row.getOverdue();
+        }
+        return new ProjectStatsDTO(countsByStatus, total, overdue);
+    }
+
+    // ✅ Attaches task progress from the rollup table: one lookup for the whole list
+    private List<ProjectSummaryDTO> withProgress(List<ProjectSummaryDTO> projects) {
+        Map<Long, ProjectTaskRollup> rollups = taskRollupService.getRollups(
+                projects.stream().map(ProjectSummaryDTO::getId).toList());
+        for (ProjectSummaryDTO dto : projects) {
+            ProjectTaskRollup rollup = rollups.get(dto.getId());
+            if (rollup != null) {
+                dto.setTaskTotal(rollup.getTotal());
+                dto.setTasksCompleted(rollup.getCompleted());
+                dto.setOverdueTasks(rollup.getOverdue());
+                dto.setProgressPercent(rollup.getProgressPercent());
+            }
+        }
+        return projects;
+    }
+
+    private Specification<Project> filterSpec(Long managerId, String projectName, String managerName,
+                                              String status, String endDate) {
+        LocalDate parsedEndDate = endDate == null ? null
+                : LocalDate.parse(endDate, DateTimeFormatter.ofPattern("MM/dd/yyyy"));
+        return Specification.allOf(
+                managedBy(managerId),
+                nameContains(projectName),
+                managerUsername(managerName),
+                hasStatus(status),
+                endsOn(parsedEndDate));
+    }
+
+    // "sort" is "field" or "field,asc|desc"; id breaks ties so pages are stable
+    private PageRequest pageRequest(int page, int size, String sort) {
+        String[] parts = sort.split(",");
+        String property = SORTABLE.get(parts[0].trim());
+        if (property == null) {
+            throw new IllegalArgumentException("Unsupported sort field: " + parts[0]);
+        }
+        Sort.Direction direction = parts.length > 1 ? Sort.Direction.fromString(parts[1].trim()) : Sort.Direction.ASC;
+        Sort order = Sort.by(direction, property).and(Sort.by("id"));
+        return PageRequest.of(Math.max(page, 0), Math.max(1, Math.min(size, MAX_PAGE_SIZE)), order);
+    }
+
+    private static Set<Long> memberIds(User manager, Set<User> teamMembers) {
+        Set<Long> ids = new HashSet<>();
+        if (manager != null) {
+            ids.add(manager.getId());
+        }
+        teamMembers.forEach(user -> ids.add(user.getId()));
+        return ids;
     }
 
     private ProjectSummaryDTO convertToSummaryDTO(Project p) {
@@ -0,0 +1,36 @@
+package com.example.pmflow.service;
+
+import com.example.pmflow.repository.TaskSort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+// 🔹 Opaque keyset position in a task search: the sort it belongs to, the last row's sort key and its id.
+//    For DUE_DATE a null dueDate means the page ended among tasks without a due date.
+record TaskCursor(TaskSort sort, LocalDateTime dueDate, int priorityRank, Long id) {
+
+    static String encode(TaskSort sort, LocalDateTime dueDate, int priorityRank, Long id) {
+        String key = sort == TaskSort.PRIORITY ? String.valueOf(priorityRank)
+                : dueDate == null ? "" : dueDate.toString();
+        String raw = sort.name() + "|" + key + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static TaskCursor decode(String cursor, TaskSort expectedSort) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", -1);
+            TaskSort sort = TaskSort.valueOf(parts[0]);
+            if (parts.length != 3 || sort != expectedSort) {
+                throw new IllegalArgumentException();
+            }
+            Long id = Long.valueOf(parts[2]);
+            if (sort == TaskSort.PRIORITY) {
+                return new TaskCursor(sort, null, Integer.parseInt(parts[1]), id);
+            }
+            return new TaskCursor(sort, parts[1].isEmpty() ? null : LocalDateTime.parse(parts[1]), 0, id);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid task cursor");
+        }
+    }
+}
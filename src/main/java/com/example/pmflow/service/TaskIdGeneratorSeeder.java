@@ -0,0 +1,51 @@
+package com.example.pmflow.service;
+
+import com.example.pmflow.entity.Task;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// 🔹 Task ids moved from IDENTITY to the pooled "tasks" row in id_generators. Hibernate starts that row
+//    at zero, so on databases that already hold tasks it is raised past MAX(id) before the first insert.
+//    Runs after the schema update and before the web server accepts requests.
+@Component
+@DependsOn("entityManagerFactory")
+public class TaskIdGeneratorSeeder {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskIdGeneratorSeeder.class);
+    static final String GENERATOR_ROW = "tasks";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void seed() {
+        long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM tasks", Long.class);
+        // The pooled optimizer hands out (next_val - allocationSize, next_val], so the whole next block must clear maxId
+        long floor = maxId + Task.ID_ALLOCATION_SIZE;
+
+        List<Long> current = jdbcTemplate.queryForList(
+                "SELECT next_val FROM id_generators WHERE entity = ?", Long.class, GENERATOR_ROW);
+        if (current.isEmpty()) {
+            try {
+                jdbcTemplate.update("INSERT INTO id_generators (entity, next_val) VALUES (?, ?)", GENERATOR_ROW, floor);
+                logger.info("Seeded task id generator at {}", floor);
+                return;
+            } catch (DuplicateKeyException e) {
+                // Another node inserted it first; fall through and raise it if needed
+            }
+        }
+        int raised = jdbcTemplate.update(
+                "UPDATE id_generators SET next_val = ? WHERE entity = ? AND next_val < ?", floor, GENERATOR_ROW, floor);
+        if (raised > 0) {
+            logger.info("Raised task id generator to {} (max task id {})", floor, maxId);
+        }
+    }
+}
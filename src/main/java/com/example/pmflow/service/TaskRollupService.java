@@ -0,0 +1,209 @@
+package com.example.pmflow.service;
+
+import com.example.pmflow.entity.Project;
+import com.example.pmflow.entity.ProjectTaskRollup;
+import com.example.pmflow.entity.Task;
+import com.example.pmflow.enums.TaskPriority;
+import com.example.pmflow.enums.TaskStatus;
+import com.example.pmflow.repository.ProjectRepository;
+import com.example.pmflow.repository.ProjectTaskRollupRepository;
+import com.example.pmflow.repository.TaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// 🔹 Maintains project_task_rollups: TaskService reports each task change as a before/after
+//    snapshot, and the difference is applied to the project's counters in the same transaction.
+@Service
+public class TaskRollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskRollupService.class);
+
+    @Autowired
+    private ProjectTaskRollupRepository rollupRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // ✅ What one task contributes to its project's counters at a point in time
+    public record TaskSnapshot(Long projectId, TaskStatus status, TaskPriority priority,
+                               boolean assigned, boolean overdue) {
+
+        public static TaskSnapshot of(Task task) {
+            LocalDateTime now = LocalDateTime.now();
+            return new TaskSnapshot(
+                    task.getProject().getId(),
+                    task.getStatus(),
+                    task.getPriority(),
+                    task.getAssignee() != null,
+                    task.getDueDate() != null && task.getDueDate().isBefore(now) && task.getStatus() != TaskStatus.COMPLETED);
+        }
+    }
+
+    // ✅ before == null for a new task, after == null for a deleted one. Goes through applyAll so each
+    //    project's row is locked once; a missing row is recounted without applying the delta on top
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(TaskSnapshot before, TaskSnapshot after) {
+        applyAll(List.of(new TaskChange(before, after)));
+    }
+
+    public record TaskChange(TaskSnapshot before, TaskSnapshot after) {}
+
+    // ✅ Many changes at once (bulk task operations): deltas are summed per project, then each
+    //    rollup row is locked once, in project id order so concurrent bulks cannot deadlock
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void applyAll(List<TaskChange> changes) {
+        Map<Long, ProjectTaskRollup> deltas = new TreeMap<>();
+        for (TaskChange change : changes) {
+            if (Objects.equals(change.before(), change.after())) {
+                continue;
+            }
+            if (change.before() != null) {
+                addTo(deltas, change.before(), -1);
+            }
+            if (change.after() != null) {
+                addTo(deltas, change.after(), 1);
+            }
+        }
+        deltas.forEach((projectId, delta) -> {
+            Optional<ProjectTaskRollup> rollup = rollupRepository.findForUpdate(projectId);
+            if (rollup.isEmpty()) {
+                // No row yet (project predates rollups): the recount already includes these changes
+                rollupRepository.save(recount(projectId));
+            } else {
+                addCounters(delta, rollup.get());
+                // Overdue is recounted while the row is locked: a snapshot can be overdue by the clock
+                // before refreshOverdue ever counted it, so its -1 could push the stored value below zero
+                rollup.get().setOverdue(taskRepository.countOverdue(projectId, LocalDateTime.now()));
+            }
+        });
+    }
+
+    private static void addTo(Map<Long, ProjectTaskRollup> deltas, TaskSnapshot snapshot, int sign) {
+        deltas.computeIfAbsent(snapshot.projectId(), ProjectTaskRollup::new)
+                .add(snapshot.status(), snapshot.priority(), snapshot.assigned(), snapshot.overdue(), sign);
+    }
+
+    // ✅ New projects start with an empty row so later task changes only ever update it
+    @Transactional
+    public void createRollup(Long projectId) {
+        rollupRepository.save(new ProjectTaskRollup(projectId));
+    }
+
+    public Map<Long, ProjectTaskRollup> getRollups(Collection<Long> projectIds) {
+        return rollupRepository.findAllById(projectIds).stream()
+                .collect(Collectors.toMap(ProjectTaskRollup::getProjectId, Function.identity()));
+    }
+
+    @Transactional
+    public void deleteRollup(Long projectId) {
+        rollupRepository.findById(projectId).ifPresent(rollupRepository::delete);
+    }
+
+    // ✅ Tasks become overdue by the clock alone, so refresh that counter periodically
+    @Scheduled(fixedDelayString = "${task.rollup.overdueRefreshMs:300000}")
+    @Transactional
+    public void refreshOverdue() {
+        int updated = rollupRepository.refreshOverdue(LocalDateTime.now());
+        logger.debug("Refreshed overdue counts for {} project rollups", updated);
+    }
+
+    // ✅ Consistency job: recount every project from the tasks table, one project per transaction
+    @Scheduled(cron = "${task.rollup.rebuildCron:0 30 3 * * *}")
+    public void rebuildAll() {
+        List<Long> projectIds = projectRepository.findAll().stream().map(Project::getId).toList();
+        int corrected = 0;
+        for (Long projectId : projectIds) {
+            Boolean changed = transactionTemplate.execute(status -> rebuild(projectId));
+            if (Boolean.TRUE.equals(changed)) {
+                corrected++;
+            }
+        }
+        logger.info("Rebuilt task rollups for {} projects ({} corrected)", projectIds.size(), corrected);
+    }
+
+    // Returns true when the stored counters had drifted from the recount
+    boolean rebuild(Long projectId) {
+        Optional<ProjectTaskRollup> rollup = rollupRepository.findForUpdate(projectId);
+        ProjectTaskRollup recount = recount(projectId);
+        if (rollup.isEmpty()) {
+            rollupRepository.save(recount);
+            return true;
+        }
+        boolean drifted = !sameCounters(rollup.get(), recount);
+        if (drifted) {
+            logger.warn("Task rollup for project {} drifted, correcting", projectId);
+            copyCounters(recount, rollup.get());
+        }
+        return drifted;
+    }
+
+    ProjectTaskRollup recount(Long projectId) {
+        ProjectTaskRollup recount = new ProjectTaskRollup(projectId);
+        for (Task task : taskRepository.findByProjectId(projectId)) {
+            TaskSnapshot snapshot = TaskSnapshot.of(task);
+            recount.add(snapshot.status(), snapshot.priority(), snapshot.assigned(), snapshot.overdue(), 1);
+        }
+        return recount;
+    }
+
+    static boolean sameCounters(ProjectTaskRollup a, ProjectTaskRollup b) {
+        return a.getTotal() == b.getTotal()
+                && a.getNotStarted() == b.getNotStarted()
+                && a.getInProgress() == b.getInProgress()
+                && a.getCompleted() == b.getCompleted()
+                && a.getOnHold() == b.getOnHold()
+                && a.getHighPriority() == b.getHighPriority()
+                && a.getMediumPriority() == b.getMediumPriority()
+                && a.getLowPriority() == b.getLowPriority()
+                && a.getUnassigned() == b.getUnassigned()
+                && a.getOverdue() == b.getOverdue();
+    }
+
+    private static void addCounters(ProjectTaskRollup delta, ProjectTaskRollup to) {
+        to.setTotal(to.getTotal() + delta.getTotal());
+        to.setNotStarted(to.getNotStarted() + delta.getNotStarted());
+        to.setInProgress(to.getInProgress() + delta.getInProgress());
+        to.setCompleted(to.getCompleted() + delta.getCompleted());
+        to.setOnHold(to.getOnHold() + delta.getOnHold());
+        to.setHighPriority(to.getHighPriority() + delta.getHighPriority());
+        to.setMediumPriority(to.getMediumPriority() + delta.getMediumPriority());
+        to.setLowPriority(to.getLowPriority() + delta.getLowPriority());
+        to.setUnassigned(to.getUnassigned() + delta.getUnassigned());
+        to.setOverdue(to.getOverdue() + delta.getOverdue());
+    }
+
+    private static void copyCounters(ProjectTaskRollup from, ProjectTaskRollup to) {
+        to.setTotal(from.getTotal());
+        to.setNotStarted(from.getNotStarted());
+        to.setInProgress(from.getInProgress());
+        to.setCompleted(from.getCompleted());
+        to.setOnHold(from.getOnHold());
+        to.setHighPriority(from.getHighPriority());
+        to.setMediumPriority(from.getMediumPriority());
+        to.setLowPriority(from.getLowPriority());
+        to.setUnassigned(from.getUnassigned());
+        to.setOverdue(from.getOverdue());
+    }
+}
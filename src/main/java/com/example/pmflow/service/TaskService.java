@@ -1,30 +1,53 @@
 package com.example.pmflow.service;
 
 import com.example.pmflow.dto.AdminUpdateTaskRequest;
+import com.example.pmflow.dto.BulkTaskOperation;
+import com.example.pmflow.dto.BulkTaskResponse;
+import com.example.pmflow.dto.BulkTaskResultDTO;
+import com.example.pmflow.dto.TaskPageDTO;
 import com.example.pmflow.dto.TaskRequest;
 import com.example.pmflow.dto.TaskResponse;
 import com.example.pmflow.dto.UpdateTaskRequest;
 import com.example.pmflow.entity.Project;
 import com.example.pmflow.entity.Task;
 import com.example.pmflow.entity.User;
+import com.example.pmflow.enums.BulkTaskAction;
+import com.example.pmflow.enums.TaskPriority;
 import com.example.pmflow.enums.TaskStatus;
 import com.example.pmflow.repository.ProjectRepository;
 import com.example.pmflow.repository.TaskRepository;
+import com.example.pmflow.repository.TaskSort;
 import com.example.pmflow.repository.UserRepository;
+import com.example.pmflow.service.TaskRollupService.TaskChange;
+import com.example.pmflow.service.TaskRollupService.TaskSnapshot;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import static com.example.pmflow.repository.TaskSpecifications.*;
+
 @Service
 public class TaskService {
 
     private static final Logger logger = LoggerFactory.getLogger(TaskService.class);
 
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 100;
+    static final int MAX_BULK_OPERATIONS = 500;
+
     @Autowired
     private TaskRepository taskRepository;
 
@@ -34,7 +57,14 @@ public class TaskService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private TaskRollupService taskRollupService;
+
+    @Autowired
+    private ChatReferenceCache chatReferenceCache;
+
     // ✅ Add new task
+    @Transactional
     public TaskResponse createTask(TaskRequest request) {
         logger.info("Creating task in project ID: {}", request.getProjectId());
 
@@ -53,17 +83,8 @@ public class TaskService {
                     });
         }
 
-        Task task = new Task();
-        task.setName(request.getName());
-        task.setDescription(request.getDescription());
-        task.setPriority(request.getPriority());
-        task.setStatus(request.getStatus());
-        task.setDueDate(request.getDueDate());
-        task.setProject(project);
-        task.setAssignee(assignee);
-
-
-        Task savedTask = taskRepository.save(task);
+        Task savedTask = taskRepository.save(buildTask(request, project, assignee));
+        taskRollupService.apply(null, TaskSnapshot.of(savedTask));
         logger.info("Task created successfully with ID: {}", savedTask.getId());
         return mapToResponse(savedTask);
     }
@@ -71,7 +92,7 @@ public class TaskService {
     // ✅ Get tasks by project ID
     public List<TaskResponse> getTasksByProjectId(Long projectId) {
         logger.info("Fetching tasks for project ID: {}", projectId);
-        return taskRepository.findByProjectId(projectId)
+        return taskRepository.findDetailedByProjectId(projectId)
                 .stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
@@ -80,13 +101,61 @@ public class TaskService {
     // ✅ Get tasks by assignee (user) ID
     public List<TaskResponse> getTasksByUserId(Long userId) {
         logger.info("Fetching tasks for assignee ID: {}", userId);
-        return taskRepository.findByAssigneeId(userId)
+        return taskRepository.findDetailedByAssigneeId(userId)
                 .stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
     }
 
+    // ✅ Keyset search over a project's or an assignee's tasks, sorted by due date or priority
+    public TaskPageDTO searchTasks(Long projectId, Long assigneeId, List<TaskStatus> statuses, TaskPriority priority,
+                                   LocalDateTime dueFrom, LocalDateTime dueTo, String sort, String cursor, Integer size) {
+        logger.info("Searching tasks - project: {}, assignee: {}, statuses: {}, priority: {}, due: {}..{}, sort: {}",
+                projectId, assigneeId, statuses, priority, dueFrom, dueTo, sort);
+        if (projectId == null && assigneeId == null) {
+            throw new IllegalArgumentException("projectId or assigneeId is required");
+        }
+        TaskSort taskSort = parseSort(sort);
+        TaskCursor position = cursor == null ? null : TaskCursor.decode(cursor, taskSort);
+        int pageSize = resolvePageSize(size);
+
+        Specification<Task> filter = Specification.allOf(
+                inProject(projectId),
+                assignedTo(assigneeId),
+                statusIn(statuses),
+                hasPriority(priority),
+                dueBetween(dueFrom, dueTo));
+
+        // Fetch one extra row to learn whether another page exists without a COUNT query
+        List<Task> rows;
+        if (taskSort == TaskSort.PRIORITY) {
+            rows = taskRepository.findTaskSlice(position == null ? filter
+                    : filter.and(afterPriority(position.priorityRank(), position.id())), taskSort, pageSize + 1);
+        } else if (position != null && position.dueDate() == null) {
+            rows = taskRepository.findTaskSlice(
+                    filter.and(hasDueDate(false)).and(afterId(position.id())), taskSort, pageSize + 1);
+        } else {
+            // Dated tasks first, then undated ones; each query is a plain range scan on a due_date index
+            rows = new ArrayList<>(taskRepository.findTaskSlice(position == null ? filter.and(hasDueDate(true))
+                    : filter.and(hasDueDate(true)).and(afterDueDate(position.dueDate(), position.id())),
+                    taskSort, pageSize + 1));
+            if (rows.size() <= pageSize && dueFrom == null && dueTo == null) {
+                rows.addAll(taskRepository.findTaskSlice(filter.and(hasDueDate(false)), taskSort, pageSize + 1 - rows.size()));
+            }
+        }
+
+        boolean hasMore = rows.size() > pageSize;
+        List<Task> page = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            Task last = page.get(page.size() - 1);
+            nextCursor = TaskCursor.encode(taskSort, last.getDueDate(), priorityRank(last.getPriority()), last.getId());
+        }
+        return new TaskPageDTO(page.stream().map(this::mapToResponse).collect(Collectors.toList()), nextCursor, hasMore);
+    }
+
     // ✅ Update task status
+    @Transactional
     public TaskResponse updateTaskStatus(Long taskId, TaskStatus status) {
         logger.info("Updating status for task ID: {} to {}", taskId, status);
         Task task = taskRepository.findById(taskId)
@@ -95,8 +164,10 @@ public class TaskService {
                     return new RuntimeException("Task not found");
                 });
 
+        TaskSnapshot before = TaskSnapshot.of(task);
         task.setStatus(status);
         Task updated = taskRepository.save(task);
+        taskRollupService.apply(before, TaskSnapshot.of(updated));
         logger.info("Task status updated for ID: {}", taskId);
         return mapToResponse(updated);
     }
@@ -104,7 +175,7 @@ public class TaskService {
     // ✅ Get task by ID
     public TaskResponse getTaskById(Long taskId) {
         logger.info("Fetching task by ID: {}", taskId);
-        Task task = taskRepository.findById(taskId)
+        Task task = taskRepository.findDetailedById(taskId)
                 .orElseThrow(() -> {
                     logger.error("Task not found with id: {}", taskId);
                     return new RuntimeException("Task not found with id: " + taskId);
@@ -115,6 +186,7 @@ public class TaskService {
 
 
     // ✅ Assign task to a user
+    @Transactional
     public TaskResponse assignTask(Long taskId, Long userId) {
         logger.info("Assigning task ID: {} to user ID: {}", taskId, userId);
         Task task = taskRepository.findById(taskId)
@@ -129,13 +201,16 @@ public class TaskService {
                     return new RuntimeException("User not found");
                 });
 
+        TaskSnapshot before = TaskSnapshot.of(task);
         task.setAssignee(assignee);
         Task updated = taskRepository.save(task);
+        taskRollupService.apply(before, TaskSnapshot.of(updated));
         logger.info("Task ID: {} assigned to user ID: {}", taskId, userId);
         return mapToResponse(updated);
     }
 
     // ✅ Update task details (user)
+    @Transactional
     public TaskResponse updateTaskDetails(Long taskId, UpdateTaskRequest request) {
         logger.info("Updating task details for ID: {}", taskId);
         Task task = taskRepository.findById(taskId)
@@ -144,26 +219,26 @@ public class TaskService {
                     return new RuntimeException("Task not found");
                 });
 
-        if (request.getName() != null) task.setName(request.getName());
-        if (request.getDescription() != null) task.setDescription(request.getDescription());
-        if (request.getPriority() != null) task.setPriority(request.getPriority());
-        if (request.getDueDate() != null) task.setDueDate(request.getDueDate());
-
+        User assignee = null;
         if (request.getAssigneeId() != null) {
-            User assignee = userRepository.findById(request.getAssigneeId())
+            assignee = userRepository.findById(request.getAssigneeId())
                     .orElseThrow(() -> {
                         logger.error("Assignee not found: {}", request.getAssigneeId());
                         return new RuntimeException("Assignee not found");
                     });
-            task.setAssignee(assignee);
         }
 
+        TaskSnapshot before = TaskSnapshot.of(task);
+        applyDetails(task, request, assignee);
+
         Task updatedTask = taskRepository.save(task);
+        taskRollupService.apply(before, TaskSnapshot.of(updatedTask));
         logger.info("Task details updated for ID: {}", taskId);
         return mapToResponse(updatedTask);
     }
 
     // ✅ Update task (admin)
+    @Transactional
     public TaskResponse adminUpdateTask(Long taskId, AdminUpdateTaskRequest request) {
         logger.info("Admin updating task ID: {}", taskId);
         Task task = taskRepository.findById(taskId)
@@ -172,6 +247,7 @@ public class TaskService {
                     return new RuntimeException("Task not found with ID: " + taskId);
                 });
 
+        TaskSnapshot before = TaskSnapshot.of(task);
         if (request.getName() != null) {
             task.setName(request.getName());
         }
@@ -180,11 +256,13 @@ public class TaskService {
         }
 
         Task updatedTask = taskRepository.save(task);
+        taskRollupService.apply(before, TaskSnapshot.of(updatedTask));
         logger.info("Admin updated task successfully for ID: {}", taskId);
         return mapToResponse(updatedTask);
     }
 
     // ✅ Delete task
+    @Transactional
     public void deleteTask(Long taskId) {
         logger.info("Deleting task ID: {}", taskId);
         Task task = taskRepository.findById(taskId)
@@ -192,10 +270,190 @@ public class TaskService {
                     logger.error("Task not found with ID: {}", taskId);
                     return new RuntimeException("Task not found with ID: " + taskId);
                 });
+        TaskSnapshot before = TaskSnapshot.of(task);
         taskRepository.delete(task);
+        taskRollupService.apply(before, null);
+        chatReferenceCache.evictTask(taskId);
         logger.info("Task deleted successfully with ID: {}", taskId);
     }
 
+    // ✅ Sprint planning: many creates/updates/assignments/status changes/deletes in one transaction.
+    //    Referenced rows are loaded up front in three queries, failed items are reported and skipped,
+    //    and the writes go out as JDBC batches at commit.
+    @Transactional
+    public BulkTaskResponse applyBulk(List<BulkTaskOperation> operations) {
+        if (operations == null || operations.isEmpty()) {
+            throw new IllegalArgumentException("No operations given");
+        }
+        if (operations.size() > MAX_BULK_OPERATIONS) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_OPERATIONS + " operations per request");
+        }
+        logger.info("Applying {} bulk task operations", operations.size());
+
+        Set<Long> taskIds = new HashSet<>();
+        Set<Long> projectIds = new HashSet<>();
+        Set<Long> userIds = new HashSet<>();
+        for (BulkTaskOperation op : operations) {
+            if (op == null) {
+                continue;
+            }
+            addIfPresent(taskIds, op.getTaskId());
+            addIfPresent(userIds, op.getAssigneeId());
+            if (op.getTask() != null) {
+                addIfPresent(projectIds, op.getTask().getProjectId());
+                addIfPresent(userIds, op.getTask().getAssigneeId());
+            }
+            if (op.getUpdate() != null) {
+                addIfPresent(userIds, op.getUpdate().getAssigneeId());
+            }
+        }
+        Map<Long, Task> tasks = taskRepository.findDetailedByIdIn(taskIds).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+        Map<Long, Project> projects = projectRepository.findAllById(projectIds).stream()
+                .collect(Collectors.toMap(Project::getId, Function.identity()));
+        Map<Long, User> users = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        List<TaskChange> changes = new ArrayList<>();
+        List<BulkTaskResultDTO> results = new ArrayList<>(operations.size());
+        List<Task> changed = new ArrayList<>(operations.size());
+        for (int i = 0; i < operations.size(); i++) {
+            BulkTaskOperation op = operations.get(i);
+            BulkTaskAction action = op == null ? null : op.getAction();
+            try {
+                Task task = applyBulkOperation(op, tasks, projects, users, changes);
+                results.add(new BulkTaskResultDTO(i, action, task.getId(), true, null, null));
+                changed.add(action == BulkTaskAction.DELETE ? null : task);
+            } catch (RuntimeException e) {
+                logger.warn("Bulk task operation {} ({}) failed: {}", i, action, e.getMessage());
+                results.add(new BulkTaskResultDTO(i, action, op == null ? null : op.getTaskId(), false, e.getMessage(), null));
+                changed.add(null);
+            }
+        }
+
+        taskRollupService.applyAll(changes);
+        // Responses reflect the final state of each task, after every operation in the request
+        for (int i = 0; i < results.size(); i++) {
+            Task task = changed.get(i);
+            if (task != null && tasks.containsKey(task.getId())) {
+                results.get(i).setTask(mapToResponse(task));
+            }
+        }
+        BulkTaskResponse response = new BulkTaskResponse(results);
+        logger.info("Bulk task operations done: {} succeeded, {} failed", response.getSucceeded(), response.getFailed());
+        return response;
+    }
+
+    // Validates before touching the task, so a failed item leaves nothing half-applied
+    private Task applyBulkOperation(BulkTaskOperation op, Map<Long, Task> tasks, Map<Long, Project> projects,
+                                    Map<Long, User> users, List<TaskChange> changes) {
+        if (op == null || op.getAction() == null) {
+            throw new IllegalArgumentException("Action is required");
+        }
+        if (op.getAction() == BulkTaskAction.CREATE) {
+            TaskRequest request = op.getTask();
+            if (request == null) {
+                throw new IllegalArgumentException("Task is required");
+            }
+            Project project = Optional.ofNullable(request.getProjectId()).map(projects::get)
+                    .orElseThrow(() -> new RuntimeException("Project not found"));
+            User assignee = bulkAssignee(request.getAssigneeId(), users);
+            Task task = taskRepository.save(buildTask(request, project, assignee));
+            tasks.put(task.getId(), task);
+            changes.add(new TaskChange(null, TaskSnapshot.of(task)));
+            return task;
+        }
+
+        Task task = Optional.ofNullable(op.getTaskId()).map(tasks::get)
+                .orElseThrow(() -> new RuntimeException("Task not found"));
+        TaskSnapshot before = TaskSnapshot.of(task);
+        switch (op.getAction()) {
+            case UPDATE -> {
+                if (op.getUpdate() == null) {
+                    throw new IllegalArgumentException("Update is required");
+                }
+                applyDetails(task, op.getUpdate(), bulkAssignee(op.getUpdate().getAssigneeId(), users));
+            }
+            case ASSIGN -> {
+                if (op.getAssigneeId() == null) {
+                    throw new IllegalArgumentException("Assignee id is required");
+                }
+                task.setAssignee(bulkAssignee(op.getAssigneeId(), users));
+            }
+            case STATUS -> {
+                if (op.getStatus() == null) {
+                    throw new IllegalArgumentException("Status is required");
+                }
+                task.setStatus(op.getStatus());
+            }
+            case DELETE -> {
+                taskRepository.delete(task);
+                tasks.remove(task.getId());
+                chatReferenceCache.evictTask(task.getId());
+                changes.add(new TaskChange(before, null));
+                return task;
+            }
+            default -> throw new IllegalArgumentException("Unsupported action: " + op.getAction());
+        }
+        changes.add(new TaskChange(before, TaskSnapshot.of(task)));
+        return task;
+    }
+
+    private static User bulkAssignee(Long assigneeId, Map<Long, User> users) {
+        if (assigneeId == null) {
+            return null;
+        }
+        User assignee = users.get(assigneeId);
+        if (assignee == null) {
+            throw new RuntimeException("Assignee not found");
+        }
+        return assignee;
+    }
+
+    private static void addIfPresent(Set<Long> ids, Long id) {
+        if (id != null) {
+            ids.add(id);
+        }
+    }
+
+    private static Task buildTask(TaskRequest request, Project project, User assignee) {
+        Task task = new Task();
+        task.setName(request.getName());
+        task.setDescription(request.getDescription());
+        task.setPriority(request.getPriority());
+        task.setStatus(request.getStatus());
+        task.setDueDate(request.getDueDate());
+        task.setProject(project);
+        task.setAssignee(assignee);
+        return task;
+    }
+
+    // Same fields as PUT /api/tasks/{taskId}; a null assignee leaves the current one in place
+    private static void applyDetails(Task task, UpdateTaskRequest request, User assignee) {
+        if (request.getName() != null) task.setName(request.getName());
+        if (request.getDescription() != null) task.setDescription(request.getDescription());
+        if (request.getPriority() != null) task.setPriority(request.getPriority());
+        if (request.getDueDate() != null) task.setDueDate(request.getDueDate());
+        if (assignee != null) task.setAssignee(assignee);
+    }
+
+    private static TaskSort parseSort(String sort) {
+        if (sort == null || sort.equals("dueDate")) {
+            return TaskSort.DUE_DATE;
+        }
+        if (sort.equals("priority")) {
+            return TaskSort.PRIORITY;
+        }
+        throw new IllegalArgumentException("Unsupported sort: " + sort);
+    }
+
+    private static int resolvePageSize(Integer size) {
+        if (size == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
     // ✅ Helper method to convert entity to response
     private TaskResponse mapToResponse(Task task) {
         TaskResponse response = new TaskResponse();
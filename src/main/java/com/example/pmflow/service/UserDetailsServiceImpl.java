@@ -2,12 +2,14 @@ package com.example.pmflow.service;
 
 import com.example.pmflow.entity.User;
 import com.example.pmflow.repository.UserRepository;
+import com.example.pmflow.security.AuthenticatedUser;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.*;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
     @Autowired
     private UserRepository userRepository;
@@ -17,10 +19,33 @@ public class UserDetailsServiceImpl implements UserDetailsService {
         User user = userRepository.findByUsernameOrEmail(usernameOrEmail, usernameOrEmail)
             .orElseThrow(() -> new UsernameNotFoundException("User not found: " + usernameOrEmail));
 
-        return org.springframework.security.core.userdetails.User.builder()
-            .username(user.getUsername())
-            .password(user.getPasswordHash())
-            .roles(user.getRole().name())  // assuming enum Role.ADMIN etc.
-            .build();
+        // Carries id + role so JwtService can put them into the token claims
+        return new AuthenticatedUser(
+            user.getId(),
+            user.getUsername(),
+            user.getPasswordHash(),
+            user.getRole()
+        );
+    }
+
+    // ✅ Rehash on login: DaoAuthenticationProvider calls this after a successful login whose
+    //    stored hash has a lower cost than the current encoder, with a hash of the presented password
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        User entity = (user instanceof AuthenticatedUser authenticated
+                ? userRepository.findById(authenticated.getId())
+                : userRepository.findByUsernameOrEmail(user.getUsername(), user.getUsername()))
+            .orElseThrow(() -> new UsernameNotFoundException("User not found: " + user.getUsername()));
+
+        entity.setPasswordHash(newPassword);
+        userRepository.save(entity);
+
+        return new AuthenticatedUser(
+            entity.getId(),
+            entity.getUsername(),
+            newPassword,
+            entity.getRole()
+        );
     }
 }
@@ -12,6 +12,7 @@ import com.example.pmflow.dto.UserDTO;
 import com.example.pmflow.entity.Role;
 import com.example.pmflow.entity.User;
 import com.example.pmflow.repository.UserRepository;
+import com.example.pmflow.security.JwtPrincipalResolver;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -27,6 +28,12 @@ public class UserService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private JwtPrincipalResolver principalResolver;
+
+    @Autowired
+    private ChatReferenceCache chatReferenceCache;
+
     // ✅ Get current user's profile
     public UserDTO getUserProfile(String username) {
         logger.info("Fetching profile for username/email: {}", username);
@@ -55,6 +62,7 @@ public class UserService {
         user.setEmail(dto.getEmail());
 
         User updated = userRepository.save(user);
+        chatReferenceCache.evictUser(user.getId());
         logger.info("Profile updated for user: {}", username);
         return toDTO(updated);
     }
@@ -108,6 +116,9 @@ public class UserService {
         }
 
         User updated = userRepository.save(user);
+        // The entity cache is updated by Hibernate; these caches sit outside it
+        principalResolver.evict(updated.getUsername());
+        chatReferenceCache.evictUser(userId);
         logger.info("User updated successfully with ID: {}", userId);
         return toDTO(updated);
     }
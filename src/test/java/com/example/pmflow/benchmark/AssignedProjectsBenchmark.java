@@ -0,0 +1,128 @@
+package com.example.pmflow.benchmark;
+
+import com.example.pmflow.PmflowApplication;
+import com.example.pmflow.dto.MemberProjectDTO;
+import com.example.pmflow.entity.Project;
+import com.example.pmflow.repository.ChatProjectRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * GET /api/chat/assigned_projects on an embedded H2 database with PROJECTS projects and a team of
+ * TEAM_SIZE per project: the old correlated `:userId IN (SELECT ... p.teamMembers)` query that
+ * loads full Project entities against the UNION projection straight into MemberProjectDTO.
+ * Every user manages ~50 and belongs to ~250 projects; each call asks for the next user, so H2
+ * cannot answer a repeated identical query from its result cache.
+ *
+ * Run after `mvn test-compile` with the test classpath:
+ *   java -cp target/test-classes:target/classes:<deps> org.openjdk.jmh.Main AssignedProjectsBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AssignedProjectsBenchmark {
+
+    private static final int PROJECTS = 50_000;
+    private static final int USERS = 1_000;
+    private static final int TEAM_SIZE = 5;
+
+    private ConfigurableApplicationContext context;
+    private EntityManagerFactory entityManagerFactory;
+    private ChatProjectRepository chatProjectRepo;
+    private long nextUser;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(PmflowApplication.class)
+                .web(WebApplicationType.NONE)
+                // Command-line arguments, so they win over application.properties
+                .run(
+                        "--spring.datasource.url=jdbc:h2:mem:assignedbench;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.properties.hibernate.auto_quote_keyword=true",
+                        "--spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN");
+        entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        chatProjectRepo = context.getBean(ChatProjectRepository.class);
+        seed(context.getBean(JdbcTemplate.class));
+    }
+
+    // Plain JDBC batches: 50k projects through JPA would take longer than the measurement
+    private void seed(JdbcTemplate jdbc) {
+        List<Object[]> users = new ArrayList<>();
+        for (long id = 1; id <= USERS; id++) {
+            users.add(new Object[]{id, "user" + id, "MEMBER"});
+        }
+        jdbc.batchUpdate("INSERT INTO \"user\" (id, username, role) VALUES (?, ?, ?)", users);
+
+        Random random = new Random(42);
+        List<Object[]> projects = new ArrayList<>();
+        List<Object[]> members = new ArrayList<>();
+        for (long id = 1; id <= PROJECTS; id++) {
+            long projectId = id;
+            projects.add(new Object[]{projectId, "Project " + projectId, "IN_PROGRESS", 1 + random.nextInt(USERS)});
+            random.ints(1, USERS + 1).distinct().limit(TEAM_SIZE)
+                    .forEach(user -> members.add(new Object[]{projectId, user}));
+        }
+        jdbc.batchUpdate("INSERT INTO projects (id, name, status, manager_id) VALUES (?, ?, ?, ?)", projects);
+        jdbc.batchUpdate("INSERT INTO project_team_members (project_id, user_id) VALUES (?, ?)", members);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<MemberProjectDTO> correlatedSubqueryEntities() {
+        EntityManager em = entityManagerFactory.createEntityManager();
+        try {
+            List<Project> projects = em.createQuery("SELECT p FROM Project p " +
+                            "WHERE p.manager.id = :userId " +
+                            "OR :userId IN (SELECT u.id FROM p.teamMembers u)", Project.class)
+                    .setParameter("userId", nextUserId())
+                    .getResultList();
+            return projects.stream()
+                    .map(p -> new MemberProjectDTO(p.getId(), p.getName(), p.getStatus().toString()))
+                    .collect(Collectors.toList());
+        } finally {
+            em.close();
+        }
+    }
+
+    @Benchmark
+    public List<MemberProjectDTO> unionProjection() {
+        return chatProjectRepo.findProjectsAssignedToUser(nextUserId());
+    }
+
+    private long nextUserId() {
+        return 1 + (nextUser++ % USERS);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(AssignedProjectsBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.pmflow.benchmark;
+
+import com.example.pmflow.PmflowApplication;
+import com.example.pmflow.dto.ChatRequestDTO;
+import com.example.pmflow.entity.Project;
+import com.example.pmflow.entity.User;
+import com.example.pmflow.repository.ProjectRepository;
+import com.example.pmflow.repository.UserRepository;
+import com.example.pmflow.service.ChatIngestService;
+import com.example.pmflow.service.ChatService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chat message writes on an embedded H2 database: the synchronous ChatService path (reference
+ * lookups + one IDENTITY insert per message) against ChatIngestService (cached reference checks,
+ * queued, batched JDBC inserts). Each invocation sends a burst of BURST messages; the queued
+ * burst ends with a durable send, so it is only counted once every message in it is written.
+ *
+ * Run after `mvn test-compile` with the test classpath:
+ *   java -cp target/test-classes:target/classes:<deps> org.openjdk.jmh.Main ChatIngestBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class ChatIngestBenchmark {
+
+    private static final int BURST = 200;
+
+    private ConfigurableApplicationContext context;
+    private ChatService chatService;
+    private ChatIngestService chatIngestService;
+    private Long senderId;
+    private Long projectId;
+    private ChatRequestDTO request;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(PmflowApplication.class)
+                .web(WebApplicationType.NONE)
+                // Command-line arguments, so they win over application.properties
+                .run(
+                        "--spring.datasource.url=jdbc:h2:mem:chatbench;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.properties.hibernate.auto_quote_keyword=true",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--chat.ingest.offerTimeoutMs=10000",
+                        "--logging.level.root=WARN");
+        chatService = context.getBean(ChatService.class);
+        chatIngestService = context.getBean(ChatIngestService.class);
+
+        User sender = new User();
+        sender.setUsername("akshay");
+        sender.setFirstName("Akshay");
+        sender.setLastName("K");
+        senderId = context.getBean(UserRepository.class).save(sender).getId();
+        Project project = new Project();
+        project.setName("PM-Flow");
+        project.setManager(sender);
+        projectId = context.getBean(ProjectRepository.class).save(project).getId();
+
+        request = new ChatRequestDTO();
+        request.setContent("Standup: done with the API, starting on the dashboard");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BURST)
+    public void synchronousSend() {
+        for (int i = 0; i < BURST; i++) {
+            chatService.sendGroupMessage(senderId, projectId, request);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BURST)
+    public Object queuedBatchedSend() {
+        for (int i = 0; i < BURST - 1; i++) {
+            chatIngestService.submitGroupMessage(senderId, projectId, request, false);
+        }
+        return chatIngestService.submitGroupMessage(senderId, projectId, request, true);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ChatIngestBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.pmflow.benchmark;
+
+import com.example.pmflow.security.JwtKeyRing;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Raw sign and verify cost per signing algorithm, without JwtService's claims cache (every
+ * token a node sees for the first time pays the verify cost once).
+ *
+ * Run after `mvn test-compile` with the test classpath:
+ *   java -cp target/test-classes:target/classes:<deps> org.openjdk.jmh.Main JwtSigningBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtSigningBenchmark {
+
+    private static final String SECRET = "MySuperSecretKey1234567890!@#$%^";
+
+    @Param({"HS256", "ES256", "ES384", "RS256"})
+    private String algorithm;
+
+    private JwtKeyRing keyRing;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        keyRing = new JwtKeyRing(SignatureAlgorithm.forName(algorithm), SECRET, 3_600_000L);
+        token = sign();
+    }
+
+    @Benchmark
+    public String sign() {
+        return keyRing.sign(Jwts.builder()
+                .setId(UUID.randomUUID().toString())
+                .setSubject("akshay")
+                .claim("uid", 42L)
+                .claim("role", "MEMBER")
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + 900_000L)));
+    }
+
+    @Benchmark
+    public Claims verify() {
+        return keyRing.verify(token);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtSigningBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
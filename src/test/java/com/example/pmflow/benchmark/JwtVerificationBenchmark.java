@@ -0,0 +1,80 @@
+package com.example.pmflow.benchmark;
+
+import com.example.pmflow.security.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request token handling in JwtAuthFilter: the old path (key derivation and signature
+ * check repeated for extractUsername + validateToken) against the single cached parse.
+ *
+ * Run after `mvn test-compile` with the test classpath:
+ *   java -cp target/test-classes:target/classes:<deps> org.openjdk.jmh.Main JwtVerificationBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "MySuperSecretKey1234567890!@#$%^";
+
+    private JwtService jwtService;
+    private UserDetails userDetails;
+    private String token;
+
+    @Setup
+    public void setUp() throws Exception {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey", SECRET);
+        ReflectionTestUtils.setField(jwtService, "jwtExpirationMs", 3_600_000L);
+        ReflectionTestUtils.setField(jwtService, "claimsCacheMaxSize", 10_000);
+        ReflectionTestUtils.invokeMethod(jwtService, "init");
+
+        userDetails = User.withUsername("akshay").password("x").roles("MEMBER").build();
+        token = jwtService.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public boolean legacyThreeParses() {
+        String username = legacyExtract(token).getSubject();
+        return legacyExtract(token).getSubject().equals(username)
+                && !legacyExtract(token).getExpiration().before(new Date());
+    }
+
+    @Benchmark
+    public boolean cachedSingleParse() {
+        Claims claims = jwtService.parseToken(token);
+        return jwtService.isTokenValid(claims, userDetails);
+    }
+
+    // Mirrors the pre-cache JwtService.extractClaim
+    private Claims legacyExtract(String jwt) {
+        Key key = Keys.hmacShaKeyFor(SECRET.getBytes());
+        return Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(jwt)
+                .getBody();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtVerificationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
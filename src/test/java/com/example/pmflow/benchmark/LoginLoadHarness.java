@@ -0,0 +1,181 @@
+package com.example.pmflow.benchmark;
+
+import com.example.pmflow.PmflowApplication;
+import com.example.pmflow.dto.RegisterRequest;
+import com.example.pmflow.security.AuthenticatedUser;
+import com.example.pmflow.security.JwtService;
+import com.example.pmflow.service.AuthService;
+import com.example.pmflow.service.UserDetailsServiceImpl;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Login storm against a running server on an embedded H2 database: LOGIN_CLIENTS clients post to
+ * /api/auth/login (BCrypt cost 10) while API_CLIENTS clients read /api/chat/assigned_projects
+ * with a token, pausing API_THINK_MS between requests. Each pool mode gets a fresh server:
+ *   requestThreads - every login hashes on its Tomcat thread (auth.hashing.threads=-1)
+ *   bounded        - hashing runs on the fixed pool; logins it can't serve within maxWait get 503
+ * Login clients back off for Retry-After on a 503, so a login sample is the time until that user
+ * got a token. Prints p50/p99/max for logins and for the other API, plus the 200/503 split.
+ *
+ * Run after `mvn test-compile` with the test classpath:
+ *   java -cp target/test-classes:target/classes:<deps> com.example.pmflow.benchmark.LoginLoadHarness [seconds]
+ */
+public class LoginLoadHarness {
+
+    private static final int LOGIN_CLIENTS = 32;
+    private static final int API_CLIENTS = 4;
+    // Users clicking around rather than a closed loop, which would take every idle cycle itself
+    private static final long API_THINK_MS = 20;
+    private static final int WARMUP_SECONDS = 10;
+
+    public static void main(String[] args) throws Exception {
+        int seconds = args.length > 0 ? Integer.parseInt(args[0]) : 30;
+        for (String pool : List.of("requestThreads", "bounded")) {
+            run(pool, seconds);
+        }
+    }
+
+    private static void run(String pool, int seconds) throws Exception {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(PmflowApplication.class)
+                .web(WebApplicationType.SERVLET)
+                // Command-line arguments, so they win over application.properties
+                .run(
+                        "--server.port=0",
+                        "--server.tomcat.threads.max=" + (LOGIN_CLIENTS * 2),
+                        "--spring.datasource.url=jdbc:h2:mem:loginload-" + pool + ";DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.properties.hibernate.auto_quote_keyword=true",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--auth.bcrypt.strength=10",
+                        "--auth.bcrypt.targetMs=0",
+                        "--auth.hashing.threads=" + ("bounded".equals(pool) ? "0" : "-1"),
+                        "--logging.level.root=WARN");
+        try {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+
+            RegisterRequest register = new RegisterRequest();
+            register.setUsername("storm");
+            register.setEmail("storm@example.com");
+            register.setPassword("correct-horse-battery");
+            context.getBean(AuthService.class).register(register);
+            AuthenticatedUser user = (AuthenticatedUser) context.getBean(UserDetailsServiceImpl.class).loadUserByUsername("storm");
+            String token = context.getBean(JwtService.class).generateToken(user);
+
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            HttpRequest login = HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                            "{\"usernameOrEmail\":\"storm\",\"password\":\"correct-horse-battery\"}"))
+                    .build();
+            HttpRequest api = HttpRequest.newBuilder(URI.create(baseUrl + "/api/chat/assigned_projects"))
+                    .header("Authorization", "Bearer " + token)
+                    .GET()
+                    .build();
+
+            drive(client, login, api, WARMUP_SECONDS, null);
+            drive(client, login, api, seconds, pool);
+        } finally {
+            context.close();
+        }
+    }
+
+    private static void drive(HttpClient client, HttpRequest login, HttpRequest api, int seconds, String label)
+            throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        LongAdder ok = new LongAdder();
+        LongAdder rejected = new LongAdder();
+        ExecutorService clients = Executors.newFixedThreadPool(LOGIN_CLIENTS + API_CLIENTS);
+
+        List<Future<List<Long>>> logins = new ArrayList<>();
+        for (int i = 0; i < LOGIN_CLIENTS; i++) {
+            logins.add(clients.submit(() -> {
+                List<Long> samples = new ArrayList<>();
+                while (System.nanoTime() < deadline) {
+                    long start = System.nanoTime();
+                    while (System.nanoTime() < deadline) {
+                        HttpResponse<Void> response = client.send(login, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() == 200) {
+                            ok.increment();
+                            samples.add(System.nanoTime() - start);
+                            break;
+                        }
+                        if (response.statusCode() != 503) {
+                            throw new IllegalStateException("Unexpected login status " + response.statusCode());
+                        }
+                        rejected.increment();
+                        Thread.sleep(TimeUnit.SECONDS.toMillis(
+                                response.headers().firstValueAsLong("Retry-After").orElse(1)));
+                    }
+                }
+                return samples;
+            }));
+        }
+        List<Future<List<Long>>> reads = new ArrayList<>();
+        for (int i = 0; i < API_CLIENTS; i++) {
+            reads.add(clients.submit(() -> {
+                List<Long> samples = new ArrayList<>();
+                while (System.nanoTime() < deadline) {
+                    long start = System.nanoTime();
+                    int status = client.send(api, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    if (status != 200) {
+                        throw new IllegalStateException("Unexpected API status " + status);
+                    }
+                    samples.add(System.nanoTime() - start);
+                    Thread.sleep(API_THINK_MS);
+                }
+                return samples;
+            }));
+        }
+
+        List<Long> loginSamples = collect(logins);
+        List<Long> readSamples = collect(reads);
+        clients.shutdown();
+
+        if (label != null) {
+            System.out.printf("%n[%s] %d s, %d login clients, %d API clients%n", label, seconds, LOGIN_CLIENTS, API_CLIENTS);
+            System.out.printf("  login (time to token)  %s   %d ok, %d rejected with 503%n",
+                    percentiles(loginSamples), ok.sum(), rejected.sum());
+            System.out.printf("  other API              %s   %d requests%n", percentiles(readSamples), readSamples.size());
+        }
+    }
+
+    private static List<Long> collect(List<Future<List<Long>>> futures) throws Exception {
+        List<Long> samples = new ArrayList<>();
+        for (Future<List<Long>> future : futures) {
+            samples.addAll(future.get());
+        }
+        Collections.sort(samples);
+        return samples;
+    }
+
+    private static String percentiles(List<Long> sorted) {
+        if (sorted.isEmpty()) {
+            return "no samples";
+        }
+        return String.format("p50 %7.1f ms  p99 %7.1f ms  max %7.1f ms",
+                millis(sorted, 0.50), millis(sorted, 0.99), sorted.get(sorted.size() - 1) / 1e6);
+    }
+
+    private static double millis(List<Long> sorted, double quantile) {
+        int index = (int) Math.ceil(quantile * sorted.size()) - 1;
+        return sorted.get(Math.max(0, index)) / 1e6;
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.pmflow.benchmark;
+
+import com.example.pmflow.entity.Role;
+import com.example.pmflow.security.AuthenticatedUser;
+import com.example.pmflow.security.JwtService;
+import com.example.pmflow.security.RateLimitFilter;
+import com.example.pmflow.security.RateLimiter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of RateLimitFilter: a route with no limit (path matching only), a limited
+ * route keyed by client IP, and one keyed by a bearer token (cached claims), next to the bare
+ * bucket check on one hot key from 4 threads (CAS contention) and spread over 10k keys.
+ * Limits are set high enough that nothing is throttled, so every call takes the admit path.
+ *
+ * Run after `mvn test-compile` with the test classpath:
+ *   java -cp target/test-classes:target/classes:<deps> org.openjdk.jmh.Main RateLimitBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RateLimitBenchmark {
+
+    private static final int KEYS = 10_000;
+
+    private RateLimitFilter filter;
+    private RateLimiter limiter;
+    private String[] keys;
+
+    private MockHttpServletRequest unlimitedRequest;
+    private MockHttpServletRequest ipRequest;
+    private MockHttpServletRequest tokenRequest;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Setup
+    public void setUp() throws Exception {
+        JwtService jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey", "MySuperSecretKey1234567890!@#$%^");
+        ReflectionTestUtils.setField(jwtService, "jwtExpirationMs", 3_600_000L);
+        ReflectionTestUtils.setField(jwtService, "claimsCacheMaxSize", 10_000);
+        ReflectionTestUtils.invokeMethod(jwtService, "init");
+
+        filter = new RateLimitFilter();
+        ReflectionTestUtils.setField(filter, "jwtService", jwtService);
+        ReflectionTestUtils.setField(filter, "routeSpecs",
+                "POST /api/auth/login=2000000000/1000,POST /api/chat/group/**=2000000000/1000");
+        ReflectionTestUtils.setField(filter, "maxKeysPerRoute", 50_000);
+        ReflectionTestUtils.invokeMethod(filter, "init");
+
+        limiter = new RateLimiter(2_000_000_000, 1_000, 50_000);
+        keys = new String[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = "ip:10.0." + (i / 256) + "." + (i % 256);
+        }
+
+        unlimitedRequest = request("GET", "/api/chat/group/project/5");
+        ipRequest = request("POST", "/api/auth/login");
+        tokenRequest = request("POST", "/api/chat/group/sender/1/project/5");
+        String token = jwtService.generateToken(new AuthenticatedUser(1L, "akshay", "x", Role.MEMBER));
+        tokenRequest.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+    }
+
+    private static MockHttpServletRequest request(String method, String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setRemoteAddr("10.0.0.1");
+        return request;
+    }
+
+    @Benchmark
+    public int filterUnlimitedRoute() throws Exception {
+        return pass(unlimitedRequest);
+    }
+
+    @Benchmark
+    public int filterPerIp() throws Exception {
+        return pass(ipRequest);
+    }
+
+    @Benchmark
+    public int filterPerUser() throws Exception {
+        return pass(tokenRequest);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long bucketHotKeyContended() {
+        return limiter.tryAcquire("user:akshay", System.nanoTime());
+    }
+
+    @Benchmark
+    public long bucketManyKeys(Cursor cursor) {
+        String key = keys[cursor.next++ % KEYS];
+        return limiter.tryAcquire(key, System.nanoTime());
+    }
+
+    private int pass(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response.getStatus();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RateLimitBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -2,7 +2,11 @@ package com.example.pmflow.controller;
 
 import com.example.pmflow.dto.AuthRequest;
 import com.example.pmflow.dto.AuthResponse;
+import com.example.pmflow.dto.RefreshRequest;
 import com.example.pmflow.dto.RegisterRequest;
+import com.example.pmflow.security.InvalidRefreshTokenException;
+import com.example.pmflow.security.PasswordHashingBusyException;
+import com.example.pmflow.security.RefreshTokenService;
 import com.example.pmflow.security.TokenBlacklistService;
 import com.example.pmflow.service.AuthService;
 
@@ -10,6 +14,8 @@ import jakarta.servlet.http.HttpServletRequest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -26,6 +32,9 @@ public class AuthControllerTest {
     @Mock
     private TokenBlacklistService tokenBlacklistService;
 
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
     @Mock
     private HttpServletRequest httpServletRequest;
 
@@ -77,6 +86,50 @@ public class AuthControllerTest {
         assertEquals("mock-jwt", response.getBody().getToken());
     }
 
+    @Test
+    void testLogin_RejectedWhenHashingPoolIsFull() {
+        AuthRequest request = new AuthRequest();
+        request.setUsernameOrEmail("user");
+        request.setPassword("pass");
+
+        when(authService.login(any())).thenThrow(new PasswordHashingBusyException("busy"));
+
+        ResponseEntity<AuthResponse> response = authController.login(request);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("1", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertNull(response.getBody());
+    }
+
+    @Test
+    void testRefresh_Success() {
+        RefreshRequest request = new RefreshRequest();
+        request.setRefreshToken("refresh-1");
+
+        when(refreshTokenService.refresh("refresh-1"))
+                .thenReturn(new AuthResponse("new-jwt", 900000L, "refresh-2", 1209600000L));
+
+        ResponseEntity<AuthResponse> response = authController.refresh(request);
+
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals("new-jwt", response.getBody().getToken());
+        assertEquals("refresh-2", response.getBody().getRefreshToken());
+    }
+
+    @Test
+    void testRefresh_Rejected() {
+        RefreshRequest request = new RefreshRequest();
+        request.setRefreshToken("spent");
+
+        when(refreshTokenService.refresh("spent"))
+                .thenThrow(new InvalidRefreshTokenException("Refresh token has already been used"));
+
+        ResponseEntity<AuthResponse> response = authController.refresh(request);
+
+        assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
+        assertNull(response.getBody());
+    }
+
     @Test
     void testLogout_Success() {
         when(httpServletRequest.getHeader("Authorization")).thenReturn("Bearer test.jwt.token");
@@ -84,6 +137,7 @@ public class AuthControllerTest {
         ResponseEntity<String> response = authController.logout(httpServletRequest);
 
         verify(tokenBlacklistService).blacklistToken("test.jwt.token");
+        verify(refreshTokenService).endSession("test.jwt.token");
         assertEquals(200, response.getStatusCodeValue());
         assertEquals("Logged out successfully.", response.getBody());
     }
@@ -1,15 +1,22 @@
 package com.example.pmflow.controller;
 
+import com.example.pmflow.dto.ChatIngestAckDTO;
+import com.example.pmflow.dto.ChatPageDTO;
 import com.example.pmflow.dto.ChatRequestDTO;
 import com.example.pmflow.dto.ChatSummaryDTO;
 import com.example.pmflow.dto.MemberProjectDTO;
+import com.example.pmflow.service.ChatBackpressureException;
+import com.example.pmflow.service.ChatIngestService;
 import com.example.pmflow.service.ChatService;
+import com.example.pmflow.service.ChatStreamService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -22,6 +29,12 @@ class ChatControllerTest {
     @Mock
     private ChatService chatService;
 
+    @Mock
+    private ChatStreamService chatStreamService;
+
+    @Mock
+    private ChatIngestService chatIngestService;
+
     @InjectMocks
     private ChatController chatController;
 
@@ -60,29 +73,41 @@ class ChatControllerTest {
 
     @Test
     void testGetPrivateChatSummary() {
-        ChatSummaryDTO chat1 = new ChatSummaryDTO(1L, "Sender One", "Hello", LocalDateTime.now());
-        ChatSummaryDTO chat2 = new ChatSummaryDTO(2L, "Receiver", "Hi", LocalDateTime.now());
-        List<ChatSummaryDTO> expected = List.of(chat1, chat2);
+        ChatSummaryDTO chat1 = new ChatSummaryDTO(10L, 1L, "Sender One", "Hello", LocalDateTime.now());
+        ChatSummaryDTO chat2 = new ChatSummaryDTO(11L, 2L, "Receiver", "Hi", LocalDateTime.now());
+        ChatPageDTO expected = new ChatPageDTO(List.of(chat1, chat2), "older", "newer", false);
 
-        when(chatService.getPrivateChatSummary(1L, 2L, 3L, 4L)).thenReturn(expected);
+        when(chatService.getPrivateChatPage(1L, 2L, 3L, 4L, null, null, null)).thenReturn(expected);
 
-        ResponseEntity<List<ChatSummaryDTO>> response = chatController.getPrivateChatSummary(1L, 2L, 3L, 4L);
+        ResponseEntity<ChatPageDTO> response = chatController.getPrivateChatSummary(1L, 2L, 3L, 4L, null, null, null);
 
         assertEquals(expected, response.getBody());
-        verify(chatService).getPrivateChatSummary(1L, 2L, 3L, 4L);
+        verify(chatService).getPrivateChatPage(1L, 2L, 3L, 4L, null, null, null);
     }
 
     @Test
     void testGetGroupChatSummary() {
-        ChatSummaryDTO chat = new ChatSummaryDTO(1L, "Manager", "Group message", LocalDateTime.now());
-        List<ChatSummaryDTO> expected = List.of(chat);
+        ChatSummaryDTO chat = new ChatSummaryDTO(10L, 1L, "Manager", "Group message", LocalDateTime.now());
+        ChatPageDTO expected = new ChatPageDTO(List.of(chat), "older", "newer", false);
+
+        when(chatService.getGroupChatPage(5L, null, null, null)).thenReturn(expected);
+
+        ResponseEntity<ChatPageDTO> response = chatController.getGroupChatSummary(5L, null, null, null);
+
+        assertEquals(expected, response.getBody());
+        verify(chatService).getGroupChatPage(5L, null, null, null);
+    }
+
+    @Test
+    void testGetGroupChatSummaryWithCursor() {
+        ChatPageDTO expected = new ChatPageDTO(List.of(), null, null, false);
 
-        when(chatService.getGroupChatSummary(5L)).thenReturn(expected);
+        when(chatService.getGroupChatPage(5L, "cursor", null, 20)).thenReturn(expected);
 
-        ResponseEntity<List<ChatSummaryDTO>> response = chatController.getGroupChatSummary(5L);
+        ResponseEntity<ChatPageDTO> response = chatController.getGroupChatSummary(5L, "cursor", null, 20);
 
         assertEquals(expected, response.getBody());
-        verify(chatService).getGroupChatSummary(5L);
+        verify(chatService).getGroupChatPage(5L, "cursor", null, 20);
     }
 
     @Test
@@ -97,4 +122,48 @@ class ChatControllerTest {
         assertEquals(expected, response.getBody());
         verify(chatService).getAssignedProjectsForCurrentUser();
     }
+
+    @Test
+    void testStreamGroupChat() {
+        SseEmitter emitter = new SseEmitter();
+        when(chatStreamService.subscribeGroup(5L)).thenReturn(emitter);
+
+        assertSame(emitter, chatController.streamGroupChat(5L));
+        verify(chatStreamService).subscribeGroup(5L);
+    }
+
+    @Test
+    void testStreamPrivateChat() {
+        SseEmitter emitter = new SseEmitter();
+        when(chatStreamService.subscribePrivate(1L, 2L, 3L, 4L)).thenReturn(emitter);
+
+        assertSame(emitter, chatController.streamPrivateChat(1L, 2L, 3L, 4L));
+        verify(chatStreamService).subscribePrivate(1L, 2L, 3L, 4L);
+    }
+
+    @Test
+    void testIngestGroupMessageIsAccepted() {
+        ChatRequestDTO request = new ChatRequestDTO();
+        request.setContent("Queued");
+        ChatIngestAckDTO ack = new ChatIngestAckDTO(42L, null, ChatIngestService.QUEUED);
+        when(chatIngestService.submitGroupMessage(1L, 5L, request, false)).thenReturn(ack);
+
+        ResponseEntity<ChatIngestAckDTO> response = chatController.ingestGroupMessage(1L, 5L, false, request);
+
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+        assertEquals(ack, response.getBody());
+    }
+
+    @Test
+    void testIngestPrivateMessageUnderBackpressure() {
+        ChatRequestDTO request = new ChatRequestDTO();
+        request.setContent("Too many");
+        when(chatIngestService.submitPrivateMessage(1L, 2L, 3L, 4L, request, true))
+                .thenThrow(new ChatBackpressureException("Chat ingest queue is full"));
+
+        ResponseEntity<ChatIngestAckDTO> response = chatController.ingestPrivateMessage(1L, 2L, 3L, 4L, true, request);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("1", response.getHeaders().getFirst("Retry-After"));
+    }
 }
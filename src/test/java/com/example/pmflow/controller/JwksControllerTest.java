@@ -0,0 +1,41 @@
+package com.example.pmflow.controller;
+
+import com.example.pmflow.security.JwtService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class JwksControllerTest {
+
+    @InjectMocks
+    private JwksController jwksController;
+
+    @Mock
+    private JwtService jwtService;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void testGetJwks_ReturnsCacheableKeySet() {
+        Map<String, Object> jwk = Map.of("kid", "k1", "kty", "EC", "alg", "ES256");
+        when(jwtService.getPublicJwks()).thenReturn(List.of(jwk));
+
+        ResponseEntity<Map<String, List<Map<String, Object>>>> response = jwksController.getJwks();
+
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals(List.of(jwk), response.getBody().get("keys"));
+        assertEquals("max-age=300, public", response.getHeaders().getFirst(HttpHeaders.CACHE_CONTROL));
+    }
+}
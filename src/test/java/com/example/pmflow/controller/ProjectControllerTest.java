@@ -1,7 +1,5 @@
 package com.example.pmflow.controller;
 
-public class ProjectControllerTest {package com.example.pmflow.controller;
-
 import com.example.pmflow.dto.*;
 import com.example.pmflow.entity.ProjectStatus;
 import com.example.pmflow.service.ProjectService;
@@ -14,6 +12,7 @@ import org.springframework.http.ResponseEntity;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.*;
@@ -155,6 +154,63 @@ public class ProjectControllerTest {
         ResponseEntity<Long> response = projectController.countProjectsByStatusForManager(2L, ProjectStatus.IN_PROGRESS);
         assertEquals(5L, response.getBody());
     }
-}
 
+    @Test
+    void testFilterProjectsPaged() {
+        PageResponseDTO<ProjectSummaryDTO> expected = new PageResponseDTO<>(List.of(new ProjectSummaryDTO()), 0, 20, 1, 1);
+        when(projectService.filterProjectsPaged("apollo", null, "IN_PROGRESS", null, 0, 20, "name,asc")).thenReturn(expected);
+
+        ResponseEntity<PageResponseDTO<ProjectSummaryDTO>> response =
+                projectController.filterProjectsPaged("apollo", null, "IN_PROGRESS", null, 0, 20, "name,asc");
+        assertEquals(expected, response.getBody());
+    }
+
+    @Test
+    void testFilterProjectsForManagerPaged() {
+        PageResponseDTO<ProjectSummaryDTO> expected = new PageResponseDTO<>(Collections.emptyList(), 1, 10, 10, 1);
+        when(projectService.filterProjectsByManagerPaged(1L, null, null, null, 1, 10, "endDate,desc")).thenReturn(expected);
+
+        ResponseEntity<PageResponseDTO<ProjectSummaryDTO>> response =
+                projectController.filterProjectsForManagerPaged(1L, null, null, null, 1, 10, "endDate,desc");
+        assertEquals(expected, response.getBody());
+    }
+
+    @Test
+    void testGetProjectStats() {
+        ProjectStatsDTO expected = new ProjectStatsDTO(Map.of("IN_PROGRESS", 3L), 3, 1);
+        when(projectService.getProjectStats()).thenReturn(expected);
+
+        ResponseEntity<ProjectStatsDTO> response = projectController.getProjectStats();
+        assertEquals(expected, response.getBody());
+    }
+
+    @Test
+    void testGetProjectStatsForManager() {
+        ProjectStatsDTO expected = new ProjectStatsDTO(Map.of("COMPLETED", 2L), 2, 0);
+        when(projectService.getProjectStatsForManager(2L)).thenReturn(expected);
+
+        ResponseEntity<ProjectStatsDTO> response = projectController.getProjectStatsForManager(2L);
+        assertEquals(expected, response.getBody());
+    }
+
+    @Test
+    void testSearchProjects() {
+        ProjectSearchPageDTO expected = new ProjectSearchPageDTO(
+                Collections.singletonList(new ProjectSummaryDTO()), 0, 20, false);
+        when(projectService.searchProjects("dash", 0, 20)).thenReturn(expected);
+
+        ResponseEntity<ProjectSearchPageDTO> response = projectController.searchProjects("dash", 0, 20);
+        assertEquals(expected, response.getBody());
+    }
+
+    @Test
+    void testGetManagerDashboard() {
+        ManagerDashboardDTO expected = new ManagerDashboardDTO(
+                new PageResponseDTO<>(Collections.emptyList(), 0, 20, 0, 0),
+                new ProjectStatsDTO(Map.of("IN_PROGRESS", 0L), 0, 0));
+        when(projectService.getManagerDashboard(2L, 0, 20, "name,asc")).thenReturn(expected);
+
+        ResponseEntity<ManagerDashboardDTO> response = projectController.getManagerDashboard(2L, 0, 20, "name,asc");
+        assertEquals(expected, response.getBody());
+    }
 }
@@ -1,6 +1,7 @@
 package com.example.pmflow.controller;
 
 import com.example.pmflow.dto.*;
+import com.example.pmflow.enums.BulkTaskAction;
 import com.example.pmflow.enums.TaskPriority;
 import com.example.pmflow.enums.TaskStatus;
 import com.example.pmflow.service.TaskService;
@@ -45,6 +46,43 @@ public class TaskControllerTest {
         assertEquals("Build API", result.getBody().getName());
     }
 
+    @Test
+    void testApplyBulk() {
+        BulkTaskOperation op = new BulkTaskOperation();
+        op.setAction(BulkTaskAction.STATUS);
+        op.setTaskId(1L);
+        op.setStatus(TaskStatus.COMPLETED);
+        BulkTaskRequest request = new BulkTaskRequest();
+        request.setOperations(List.of(op));
+
+        BulkTaskResponse response = new BulkTaskResponse(List.of(
+                new BulkTaskResultDTO(0, BulkTaskAction.STATUS, 1L, true, null, new TaskResponse())));
+        when(taskService.applyBulk(request.getOperations())).thenReturn(response);
+
+        ResponseEntity<BulkTaskResponse> result = taskController.applyBulk(request);
+
+        assertEquals(200, result.getStatusCodeValue());
+        assertEquals(1, result.getBody().getSucceeded());
+        assertEquals(0, result.getBody().getFailed());
+    }
+
+    @Test
+    void testSearchTasks() {
+        TaskResponse response = new TaskResponse();
+        response.setId(1L);
+        TaskPageDTO page = new TaskPageDTO(List.of(response), "next", true);
+
+        when(taskService.searchTasks(2L, null, List.of(TaskStatus.IN_PROGRESS), null, null, null, "priority", null, 10))
+                .thenReturn(page);
+
+        ResponseEntity<TaskPageDTO> result = taskController.searchTasks(
+                2L, null, List.of(TaskStatus.IN_PROGRESS), null, null, null, "priority", null, 10);
+
+        assertEquals(200, result.getStatusCodeValue());
+        assertEquals("next", result.getBody().getNextCursor());
+        assertTrue(result.getBody().isHasMore());
+    }
+
     @Test
     void testGetTaskById() {
         TaskResponse response = new TaskResponse();
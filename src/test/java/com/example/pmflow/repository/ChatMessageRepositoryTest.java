@@ -0,0 +1,195 @@
+package com.example.pmflow.repository;
+
+import com.example.pmflow.dto.ChatSummaryDTO;
+import com.example.pmflow.entity.ChatMessage;
+import com.example.pmflow.entity.Project;
+import com.example.pmflow.entity.Task;
+import com.example.pmflow.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class ChatMessageRepositoryTest {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private ChatMessageRepository chatRepo;
+
+    private User sender;
+    private User receiver;
+    private Project project;
+    private Project otherProject;
+
+    @BeforeEach
+    void setUp() {
+        sender = new User();
+        sender.setUsername("akshay");
+        sender.setEmail("akshay@example.com");
+        sender.setFirstName("Akshay");
+        sender.setLastName("K");
+        em.persist(sender);
+
+        receiver = new User();
+        receiver.setUsername("deeya");
+        receiver.setEmail("deeya@example.com");
+        receiver.setFirstName("Deeya");
+        receiver.setLastName("S");
+        em.persist(receiver);
+
+        project = newProject("PM-Flow");
+        otherProject = newProject("Other");
+    }
+
+    @Test
+    void testKeysetPagesWalkTheWholeHistoryAcrossTimestampTies() {
+        // Three messages share each timestamp, so the id tiebreaker decides the order
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 10, 0);
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < 9; i++) {
+            expected.add(groupMessage(project, base.plusMinutes(i / 3)).getId());
+        }
+        groupMessage(otherProject, base);
+        em.flush();
+        em.clear();
+
+        List<ChatSummaryDTO> latest = chatRepo.findLatestGroupMessages(project.getId(), PageRequest.of(0, 4));
+        assertEquals(List.of(expected.get(8), expected.get(7), expected.get(6), expected.get(5)), ids(latest));
+
+        ChatSummaryDTO oldest = latest.get(latest.size() - 1);
+        List<ChatSummaryDTO> older = chatRepo.findGroupMessagesBefore(
+                project.getId(), oldest.getTimestamp(), oldest.getId(), PageRequest.of(0, 10));
+        assertEquals(List.of(expected.get(4), expected.get(3), expected.get(2), expected.get(1), expected.get(0)), ids(older));
+
+        ChatSummaryDTO first = older.get(older.size() - 1);
+        List<ChatSummaryDTO> newer = chatRepo.findGroupMessagesAfter(
+                project.getId(), first.getTimestamp(), first.getId(), PageRequest.of(0, 3));
+        assertEquals(List.of(expected.get(1), expected.get(2), expected.get(3)), ids(newer));
+    }
+
+    @Test
+    void testPrivateMessagesAreNotPartOfGroupHistory() {
+        ChatMessage message = new ChatMessage();
+        message.setSender(sender);
+        message.setProject(project);
+        message.setContent("psst");
+        message.setGroup(false);
+        em.persist(message);
+        em.flush();
+
+        assertTrue(chatRepo.findLatestGroupMessages(project.getId(), PageRequest.of(0, 10)).isEmpty());
+    }
+
+    @Test
+    void testPrivateThreadReturnsBothDirectionsInOneOrderedPage() {
+        Task task = new Task();
+        task.setName("Design");
+        task.setProject(project);
+        em.persist(task);
+        Task otherTask = new Task();
+        otherTask.setName("Build");
+        otherTask.setProject(project);
+        em.persist(otherTask);
+
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 10, 0);
+        Long m1 = privateMessage(sender, receiver, task, base).getId();
+        Long m2 = privateMessage(receiver, sender, task, base).getId();
+        Long m3 = privateMessage(sender, receiver, task, base.plusMinutes(1)).getId();
+        Long m4 = privateMessage(receiver, sender, task, base.plusMinutes(2)).getId();
+        privateMessage(sender, receiver, otherTask, base.plusMinutes(3));
+        em.flush();
+        em.clear();
+
+        // The thread reads the same whichever participant is passed first
+        List<ChatSummaryDTO> latest = chatRepo.findLatestPrivateMessages(
+                receiver.getId(), sender.getId(), project.getId(), task.getId(), PageRequest.of(0, 2));
+        assertEquals(List.of(m4, m3), ids(latest));
+
+        ChatSummaryDTO oldest = latest.get(1);
+        List<ChatSummaryDTO> older = chatRepo.findPrivateMessagesBefore(sender.getId(), receiver.getId(),
+                project.getId(), task.getId(), oldest.getTimestamp(), oldest.getId(), PageRequest.of(0, 10));
+        assertEquals(List.of(m2, m1), ids(older));
+
+        List<ChatSummaryDTO> newer = chatRepo.findPrivateMessagesAfter(sender.getId(), receiver.getId(),
+                project.getId(), task.getId(), older.get(1).getTimestamp(), older.get(1).getId(), PageRequest.of(0, 10));
+        assertEquals(List.of(m2, m3, m4), ids(newer));
+    }
+
+    @Test
+    void testGroupPageIsOneStatementRegardlessOfSize() {
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 10, 0);
+        for (int i = 0; i < 60; i++) {
+            // Alternate senders so a lazy sender lookup would show up as extra statements
+            ChatMessage message = groupMessage(project, base.plusSeconds(i));
+            message.setSender(i % 2 == 0 ? sender : receiver);
+        }
+        em.flush();
+
+        assertEquals(1, statementsFor(5));
+        assertEquals(1, statementsFor(60));
+    }
+
+    private long statementsFor(int pageSize) {
+        em.clear();
+        Statistics statistics = em.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<ChatSummaryDTO> page = chatRepo.findLatestGroupMessages(project.getId(), PageRequest.of(0, pageSize));
+
+        assertEquals(pageSize, page.size());
+        assertTrue(page.stream().allMatch(m -> m.getSenderName().equals("Akshay K") || m.getSenderName().equals("Deeya S")));
+        return statistics.getPrepareStatementCount();
+    }
+
+    private ChatMessage privateMessage(User from, User to, Task task, LocalDateTime timestamp) {
+        ChatMessage message = new ChatMessage();
+        message.setSender(from);
+        message.setReceiver(to);
+        message.setProject(project);
+        message.setTask(task);
+        message.setContent("hi");
+        message.setGroup(false);
+        em.persist(message);
+        message.setTimestamp(timestamp);
+        return message;
+    }
+
+    private Project newProject(String name) {
+        Project p = new Project();
+        p.setName(name);
+        p.setManager(sender);
+        return em.persist(p);
+    }
+
+    private ChatMessage groupMessage(Project target, LocalDateTime timestamp) {
+        ChatMessage message = new ChatMessage();
+        message.setSender(sender);
+        message.setProject(target);
+        message.setContent("hello");
+        message.setGroup(true);
+        em.persist(message);
+        // @PrePersist stamps "now"; pin the timestamp so ties are deterministic
+        message.setTimestamp(timestamp);
+        return message;
+    }
+
+    private List<Long> ids(List<ChatSummaryDTO> messages) {
+        return messages.stream().map(ChatSummaryDTO::getId).toList();
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.pmflow.repository;
+
+import com.example.pmflow.dto.MemberProjectDTO;
+import com.example.pmflow.entity.Project;
+import com.example.pmflow.entity.ProjectStatus;
+import com.example.pmflow.entity.User;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class ChatProjectRepositoryTest {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private ChatProjectRepository chatProjectRepo;
+
+    @Test
+    void testManagedAndMemberProjectsInOneStatement() {
+        User alice = user("alice");
+        User bob = user("bob");
+        Project managed = project("Managed", alice, Set.of(), ProjectStatus.IN_PROGRESS);
+        Project joined = project("Joined", bob, Set.of(alice), ProjectStatus.NOT_STARTED);
+        // Manager and team member at once: listed once
+        Project both = project("Both", alice, Set.of(alice, bob), ProjectStatus.COMPLETED);
+        project("Unrelated", bob, Set.of(), ProjectStatus.IN_PROGRESS);
+        em.flush();
+        em.clear();
+        Statistics statistics = em.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<MemberProjectDTO> projects = chatProjectRepo.findProjectsAssignedToUser(alice.getId()).stream()
+                .sorted(Comparator.comparing(MemberProjectDTO::getProjectId))
+                .toList();
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        // Projection only: no Project entities in the persistence context
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(List.of(managed.getId(), joined.getId(), both.getId()),
+                projects.stream().map(MemberProjectDTO::getProjectId).toList());
+        assertEquals("Managed", projects.get(0).getProjectName());
+        assertEquals("NOT_STARTED", projects.get(1).getStatus());
+    }
+
+    @Test
+    void testUserWithoutProjects() {
+        User carol = user("carol");
+        project("Other", user("dave"), Set.of(), ProjectStatus.IN_PROGRESS);
+        em.flush();
+
+        assertTrue(chatProjectRepo.findProjectsAssignedToUser(carol.getId()).isEmpty());
+    }
+
+    @Test
+    void testMemberLookupIndexExists() {
+        List<?> columns = em.getEntityManager().createNativeQuery(
+                        "SELECT COLUMN_NAME FROM INFORMATION_SCHEMA.INDEX_COLUMNS " +
+                        "WHERE INDEX_NAME = 'IDX_TEAM_MEMBERS_USER_PROJECT' ORDER BY ORDINAL_POSITION")
+                .getResultList();
+
+        assertEquals(List.of("USER_ID", "PROJECT_ID"), columns);
+    }
+
+    private User user(String username) {
+        User user = new User();
+        user.setUsername(username);
+        return em.persist(user);
+    }
+
+    private Project project(String name, User manager, Set<User> team, ProjectStatus status) {
+        Project project = new Project();
+        project.setName(name);
+        project.setManager(manager);
+        project.setTeamMembers(new HashSet<>(team));
+        project.setStatus(status);
+        return em.persist(project);
+    }
+}
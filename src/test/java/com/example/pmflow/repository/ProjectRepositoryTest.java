@@ -0,0 +1,217 @@
+package com.example.pmflow.repository;
+
+import com.example.pmflow.dto.ManagerProjectSummaryDTO;
+import com.example.pmflow.dto.ProjectSummaryDTO;
+import com.example.pmflow.dto.TeamMemberDTO;
+import com.example.pmflow.entity.Project;
+import com.example.pmflow.entity.ProjectStatus;
+import com.example.pmflow.entity.ProjectTaskRollup;
+import com.example.pmflow.entity.User;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static com.example.pmflow.repository.ProjectSpecifications.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class ProjectRepositoryTest {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    private User alice;
+    private User bob;
+
+    @BeforeEach
+    void setUp() {
+        alice = user("alice");
+        bob = user("bob");
+        project("Apollo", alice, ProjectStatus.IN_PROGRESS, LocalDate.of(2025, 6, 30));
+        project("Apollo Docs", bob, ProjectStatus.COMPLETED, LocalDate.of(2025, 6, 30));
+        project("Gemini", alice, ProjectStatus.NOT_STARTED, LocalDate.of(2025, 12, 31));
+        project("100%_done", bob, ProjectStatus.IN_PROGRESS, LocalDate.of(2025, 1, 1));
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    void testAllPredicatesAreAppliedInSql() {
+        Specification<Project> spec = Specification.allOf(
+                nameContains("apollo"),
+                managerUsername("ALICE"),
+                hasStatus("in_progress"),
+                endsOn(LocalDate.of(2025, 6, 30)));
+
+        List<ProjectSummaryDTO> result = projectRepository.findSummaries(spec, Sort.by("id"));
+
+        assertEquals(1, result.size());
+        assertEquals("Apollo", result.get(0).getName());
+        assertEquals("alice", result.get(0).getManagerName());
+        assertEquals("IN_PROGRESS", result.get(0).getStatus());
+        assertEquals("2025-06-30", result.get(0).getEndDate());
+    }
+
+    @Test
+    void testManagerScopeAndUnknownStatus() {
+        assertEquals(2, projectRepository.findSummaries(managedBy(bob.getId()), Sort.by("id")).size());
+        assertTrue(projectRepository.findSummaries(hasStatus("NOPE"), Sort.by("id")).isEmpty());
+    }
+
+    @Test
+    void testLikeWildcardsInNameAreLiteral() {
+        List<ProjectSummaryDTO> result = projectRepository.findSummaries(nameContains("%_"), Sort.by("id"));
+
+        assertEquals(List.of("100%_done"), result.stream().map(ProjectSummaryDTO::getName).toList());
+    }
+
+    @Test
+    void testPagingAndSortingByManagerName() {
+        Page<ProjectSummaryDTO> page = projectRepository.findSummaries(null,
+                PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "manager.username").and(Sort.by("id"))));
+
+        assertEquals(4, page.getTotalElements());
+        assertEquals(2, page.getTotalPages());
+        assertEquals(List.of("bob", "bob", "alice"), page.getContent().stream().map(ProjectSummaryDTO::getManagerName).toList());
+    }
+
+    @Test
+    void testPartialPageNeedsNoCountQuery() {
+        Statistics statistics = em.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        Page<ProjectSummaryDTO> page = projectRepository.findSummaries(managedBy(alice.getId()), PageRequest.of(0, 20, Sort.by("name")));
+
+        assertEquals(2, page.getTotalElements());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testGroupedStatsCountOverdueOutsideCompleted() {
+        LocalDate today = LocalDate.of(2025, 7, 1);
+
+        Map<ProjectStatus, ProjectStatusCount> all = projectRepository.countGroupedByStatus(today).stream()
+                .collect(Collectors.toMap(ProjectStatusCount::getStatus, row -> row));
+        assertEquals(2, all.get(ProjectStatus.IN_PROGRESS).getTotal());
+        assertEquals(2, all.get(ProjectStatus.IN_PROGRESS).getOverdue());
+        // Past its end date but finished, so not overdue
+        assertEquals(1, all.get(ProjectStatus.COMPLETED).getTotal());
+        assertEquals(0, all.get(ProjectStatus.COMPLETED).getOverdue());
+        assertFalse(all.containsKey(ProjectStatus.ON_HOLD));
+
+        List<ProjectStatusCount> forAlice = projectRepository.countGroupedByStatusForManager(alice.getId(), today);
+        assertEquals(2, forAlice.stream().mapToLong(ProjectStatusCount::getTotal).sum());
+        assertEquals(1, forAlice.stream().mapToLong(ProjectStatusCount::getOverdue).sum());
+        assertEquals(1, projectRepository.countByManagerIdAndStatus(alice.getId(), ProjectStatus.NOT_STARTED));
+    }
+
+    @Test
+    void testMembershipsAndTeamMembersAreOneStatementWhateverTheTeamSize() {
+        Project gemini = projectRepository.findByName("Gemini").orElseThrow();
+        Set<User> team = new HashSet<>();
+        team.add(em.find(User.class, bob.getId()));
+        for (int i = 0; i < 200; i++) {
+            team.add(user("dev" + i));
+        }
+        gemini.setTeamMembers(team);
+        em.flush();
+        em.clear();
+        Statistics statistics = em.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        List<ProjectMembership> memberships = projectRepository.findMemberships(bob.getId());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        // Manages "Apollo Docs" and "100%_done", member of "Gemini"
+        assertEquals(3, memberships.size());
+        assertEquals(2, memberships.stream().filter(ProjectMembership::isManager).count());
+        assertTrue(memberships.stream().anyMatch(m -> m.getProjectId().equals(gemini.getId()) && !m.isManager()));
+
+        statistics.clear();
+        List<TeamMemberDTO> members = projectRepository.findTeamMembers(gemini.getId());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(201, members.size());
+        assertTrue(members.stream().anyMatch(m -> m.getUsername().equals("bob")));
+
+        assertTrue(projectRepository.findMemberships(user("nobody").getId()).isEmpty());
+    }
+
+    @Test
+    void testManagerDashboardRowsCarryRollupsAndTeamSizeInOneStatement() {
+        Project apollo = projectRepository.findByName("Apollo").orElseThrow();
+        Project gemini = projectRepository.findByName("Gemini").orElseThrow();
+        ProjectTaskRollup rollup = new ProjectTaskRollup(apollo.getId());
+        rollup.setTotal(4);
+        rollup.setInProgress(1);
+        rollup.setCompleted(3);
+        rollup.setOverdue(1);
+        em.persist(rollup);
+        gemini.setTeamMembers(new HashSet<>(Set.of(user("dev1"), user("dev2"), em.find(User.class, bob.getId()))));
+        em.flush();
+        em.clear();
+        Statistics statistics = em.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        Page<ManagerProjectSummaryDTO> page = projectRepository.findManagerDashboard(alice.getId(),
+                PageRequest.of(0, 20, Sort.by("name")));
+
+        // Partial first page: no count query either
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(2, page.getTotalElements());
+        ManagerProjectSummaryDTO first = page.getContent().get(0);
+        assertEquals("Apollo", first.getName());
+        assertEquals(0, first.getTeamSize());
+        assertEquals(4, first.getTaskTotal());
+        assertEquals(3, first.getTasksCompleted());
+        assertEquals(1, first.getOverdueTasks());
+        assertEquals(75, first.getProgressPercent());
+        // No rollup row yet: zeros rather than nulls
+        ManagerProjectSummaryDTO second = page.getContent().get(1);
+        assertEquals("Gemini", second.getName());
+        assertEquals(3, second.getTeamSize());
+        assertEquals(0, second.getTaskTotal());
+        assertEquals(0, second.getProgressPercent());
+
+        Page<ManagerProjectSummaryDTO> paged = projectRepository.findManagerDashboard(alice.getId(),
+                PageRequest.of(1, 1, Sort.by("name")));
+        assertEquals(2, paged.getTotalElements());
+        assertEquals("Gemini", paged.getContent().get(0).getName());
+    }
+
+    private User user(String username) {
+        User user = new User();
+        user.setUsername(username);
+        return em.persist(user);
+    }
+
+    private void project(String name, User manager, ProjectStatus status, LocalDate endDate) {
+        Project project = new Project();
+        project.setName(name);
+        project.setManager(manager);
+        project.setStatus(status);
+        project.setEndDate(endDate);
+        em.persist(project);
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.pmflow.repository;
+
+import com.example.pmflow.entity.Project;
+import com.example.pmflow.entity.ProjectSearchTerm;
+import com.example.pmflow.entity.User;
+import com.example.pmflow.service.ProjectSearchService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(ProjectSearchService.class)
+class ProjectSearchTermRepositoryTest {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private ProjectSearchService searchService;
+
+    @Autowired
+    private ProjectSearchTermRepository termRepository;
+
+    private User manager;
+
+    @BeforeEach
+    void setUp() {
+        manager = new User();
+        manager.setUsername("mgr");
+        em.persist(manager);
+    }
+
+    @Test
+    void testNameMatchesOutrankDescriptionMatches() {
+        Project inDescription = project("Billing", "Rework the analytics dashboard");
+        Project prefixInName = project("Dashboards v2", null);
+        Project wordInName = project("Dashboard", "Sales dashboard");
+        project("Mobile app", "Offline sync");
+
+        assertEquals(List.of(wordInName.getId(), prefixInName.getId(), inDescription.getId()), ids("dashboard"));
+        // Prefix of a word, any case
+        assertEquals(List.of(wordInName.getId(), prefixInName.getId(), inDescription.getId()), ids("DASH"));
+    }
+
+    @Test
+    void testEveryQueryWordMustMatch() {
+        Project apollo = project("Apollo launch", "Rocket telemetry");
+        project("Apollo docs", "User guide");
+
+        assertEquals(List.of(apollo.getId()), ids("apollo tele"));
+        assertEquals(List.of(), ids("apollo missing"));
+    }
+
+    @Test
+    void testReindexWritesOnlyChangedRowsAndDropsOldWords() {
+        Project project = project("Gemini", "Old description");
+        long before = termRepository.findByIdProjectId(project.getId()).size();
+
+        project.setDescription("New description");
+        searchService.index(project);
+        em.flush();
+
+        assertEquals(List.of(), ids("old"));
+        assertEquals(List.of(project.getId()), ids("new"));
+        // "description" rows are kept; "old"/"ol" swapped for "new"/"ne"
+        assertEquals(before, termRepository.findByIdProjectId(project.getId()).size());
+
+        searchService.remove(project.getId());
+        assertTrue(termRepository.findByIdProjectId(project.getId()).isEmpty());
+    }
+
+    @Test
+    void testSearchIsOneStatementAndPages() {
+        for (int i = 0; i < 30; i++) {
+            project("Report " + i, i % 2 == 0 ? "quarterly report" : null);
+        }
+        project("Unrelated", "nothing to see");
+        em.flush();
+        em.clear();
+        Statistics statistics = em.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        Slice<ProjectSearchHit> first = searchService.search("report", PageRequest.of(0, 20));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(20, first.getNumberOfElements());
+        assertTrue(first.hasNext());
+        // Name + description hits score higher than name-only ones
+        assertTrue(first.getContent().get(0).getScore() > first.getContent().get(19).getScore());
+        Slice<ProjectSearchHit> second = searchService.search("report", PageRequest.of(1, 20));
+        assertEquals(10, second.getNumberOfElements());
+        assertFalse(second.hasNext());
+    }
+
+    @Test
+    void testBackfillIndexesProjectsMissingFromTheIndex() {
+        Project unindexed = new Project();
+        unindexed.setName("Legacy import");
+        unindexed.setManager(manager);
+        em.persist(unindexed);
+        em.flush();
+
+        searchService.backfill();
+        em.flush();
+
+        assertEquals(List.of(unindexed.getId()), ids("legacy"));
+    }
+
+    @Test
+    void testQueriesWithoutUsableWordsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> searchService.search("a - !", PageRequest.of(0, 20)));
+    }
+
+    @Test
+    void testLongWordsAreStoredAndQueriedAsCappedPrefixes() {
+        Project project = project("Internationalization rollout", null);
+
+        assertEquals(List.of(project.getId()), ids("internationalization"));
+        assertEquals(List.of(project.getId()), ids("internationalizations"));
+        assertTrue(termRepository.findByIdProjectId(project.getId()).stream()
+                .allMatch(t -> t.getId().getTerm().length() <= ProjectSearchTerm.MAX_TERM_LENGTH));
+    }
+
+    private List<Long> ids(String query) {
+        return searchService.search(query, PageRequest.of(0, 20)).getContent().stream()
+                .map(ProjectSearchHit::getProjectId)
+                .toList();
+    }
+
+    private Project project(String name, String description) {
+        Project project = new Project();
+        project.setName(name);
+        project.setDescription(description);
+        project.setManager(manager);
+        em.persist(project);
+        searchService.index(project);
+        em.flush();
+        return project;
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.pmflow.repository;
+
+import com.example.pmflow.dto.CacheRegionStatsDTO;
+import com.example.pmflow.entity.Project;
+import com.example.pmflow.entity.Task;
+import com.example.pmflow.entity.User;
+import com.example.pmflow.enums.TaskStatus;
+import com.example.pmflow.service.CacheStatsService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Each repository call commits on its own, as in the running app, so cache puts and invalidations are real
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.cache.use_second_level_cache=true")
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(CacheStatsService.class)
+class SecondLevelCacheTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CacheStatsService cacheStatsService;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAll();
+        projectRepository.deleteAll();
+        userRepository.deleteAll();
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void testRepeatedFindByIdIsServedFromCache() {
+        User user = userRepository.save(user("alice", "Alice"));
+        userRepository.findById(user.getId());
+        cacheStatsService.resetStats();
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals("Alice", userRepository.findById(user.getId()).orElseThrow().getFirstName());
+        }
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        CacheRegionStatsDTO users = region("users");
+        assertEquals(5, users.getHits());
+        assertEquals(0, users.getMisses());
+        assertEquals(1.0, users.getHitRatio());
+    }
+
+    @Test
+    void testUpdatesReplaceCachedEntries() {
+        User user = userRepository.save(user("bob", "Bob"));
+        User other = userRepository.save(user("carol", "Carol"));
+        Project project = projectRepository.save(project("Apollo", user, Set.of(user)));
+        userRepository.findById(user.getId());
+        findProjectWithMembers(project.getId());
+
+        // Same path as UserService.adminUpdateUser / ProjectService.updateProjectFields
+        User renamed = userRepository.findById(user.getId()).orElseThrow();
+        renamed.setFirstName("Robert");
+        userRepository.save(renamed);
+        transactionTemplate.executeWithoutResult(status -> {
+            Project managed = projectRepository.findById(project.getId()).orElseThrow();
+            managed.setName("Apollo II");
+            managed.getTeamMembers().add(userRepository.findById(other.getId()).orElseThrow());
+        });
+
+        assertEquals("Robert", userRepository.findById(user.getId()).orElseThrow().getFirstName());
+        Project reloaded = findProjectWithMembers(project.getId());
+        assertEquals("Apollo II", reloaded.getName());
+        assertEquals(Set.of("bob", "carol"),
+                reloaded.getTeamMembers().stream().map(User::getUsername).collect(Collectors.toSet()));
+    }
+
+    @Test
+    void testDeletedTaskIsNotServedFromCache() {
+        User user = userRepository.save(user("dave", "Dave"));
+        Project project = projectRepository.save(project("Gemini", user, Set.of()));
+        Task task = new Task();
+        task.setName("Ship it");
+        task.setStatus(TaskStatus.IN_PROGRESS);
+        task.setProject(project);
+        Long taskId = taskRepository.save(task).getId();
+        assertTrue(taskRepository.findById(taskId).isPresent());
+
+        taskRepository.deleteById(taskId);
+
+        assertTrue(taskRepository.findById(taskId).isEmpty());
+    }
+
+    private Project findProjectWithMembers(Long projectId) {
+        return transactionTemplate.execute(status -> {
+            Project found = projectRepository.findById(projectId).orElseThrow();
+            found.getTeamMembers().size();
+            return found;
+        });
+    }
+
+    private CacheRegionStatsDTO region(String name) {
+        return cacheStatsService.getRegionStats().stream()
+                .filter(r -> r.getRegion().equals(name))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static User user(String username, String firstName) {
+        User user = new User();
+        user.setUsername(username);
+        user.setFirstName(firstName);
+        return user;
+    }
+
+    private static Project project(String name, User manager, Set<User> members) {
+        Project project = new Project();
+        project.setName(name);
+        project.setManager(manager);
+        project.getTeamMembers().addAll(members);
+        return project;
+    }
+}
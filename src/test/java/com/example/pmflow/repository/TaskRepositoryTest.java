@@ -0,0 +1,230 @@
+package com.example.pmflow.repository;
+
+import com.example.pmflow.dto.TaskPageDTO;
+import com.example.pmflow.dto.TaskResponse;
+import com.example.pmflow.entity.Project;
+import com.example.pmflow.entity.Task;
+import com.example.pmflow.entity.User;
+import com.example.pmflow.enums.TaskPriority;
+import com.example.pmflow.enums.TaskStatus;
+import com.example.pmflow.service.TaskRollupService;
+import com.example.pmflow.service.ChatReferenceCache;
+import com.example.pmflow.service.TaskService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({TaskService.class, TaskRollupService.class, ChatReferenceCache.class})
+class TaskRepositoryTest {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Test
+    void testProjectTaskListIsOneStatementRegardlessOfSize() {
+        Project small = projectWithTasks("Small", 2);
+        Project large = projectWithTasks("Large", 40);
+        em.flush();
+        em.clear();
+
+        List<TaskResponse> smallTasks = countingStatements(1, () -> taskService.getTasksByProjectId(small.getId()));
+        List<TaskResponse> largeTasks = countingStatements(1, () -> taskService.getTasksByProjectId(large.getId()));
+
+        assertEquals(2, smallTasks.size());
+        assertEquals(40, largeTasks.size());
+        TaskResponse first = largeTasks.get(0);
+        assertEquals("Large", first.getProjectName());
+        assertEquals("Large Manager", first.getProjectManagerName());
+        assertNotNull(first.getAssigneeFirstName());
+    }
+
+    @Test
+    void testAssigneeTaskListIsOneStatementRegardlessOfSize() {
+        User assignee = user("busy");
+        for (int i = 0; i < 10; i++) {
+            // Every task sits in its own project with its own manager, so lazy loading would cost 2 per task
+            Project project = project("P" + i, user("manager" + i));
+            task(project, assignee);
+        }
+        task(project("Unassigned", user("idle")), null);
+        em.flush();
+        em.clear();
+
+        List<TaskResponse> tasks = countingStatements(1, () -> taskService.getTasksByUserId(assignee.getId()));
+
+        assertEquals(10, tasks.size());
+        assertTrue(tasks.stream().allMatch(t -> t.getProjectManagerId() != null && "busy".equals(t.getAssigneeFirstName())));
+    }
+
+    @Test
+    void testSingleTaskIsOneStatement() {
+        Project project = projectWithTasks("Solo", 1);
+        Long taskId = em.getEntityManager()
+                .createQuery("SELECT t.id FROM Task t WHERE t.project.id = :id", Long.class)
+                .setParameter("id", project.getId())
+                .getSingleResult();
+        em.flush();
+        em.clear();
+
+        TaskResponse response = countingStatements(1, () -> taskService.getTaskById(taskId));
+
+        assertEquals("Solo Manager", response.getProjectManagerName());
+    }
+
+    @Test
+    void testSearchByDueDateWalksEveryTaskOnceInOrder() {
+        Project project = project("Search", user("searchMgr"));
+        List<Task> tasks = searchFixture(project);
+        em.flush();
+        em.clear();
+
+        List<Long> expected = tasks.stream()
+                .sorted(Comparator.comparing(Task::getDueDate, Comparator.nullsLast(Comparator.naturalOrder()))
+                        .thenComparing(Task::getId))
+                .map(Task::getId)
+                .collect(Collectors.toList());
+
+        assertEquals(expected, walk(project.getId(), null, "dueDate", 4));
+    }
+
+    @Test
+    void testSearchByPriorityWalksEveryTaskOnceInOrder() {
+        Project project = project("Search", user("searchMgr"));
+        List<Task> tasks = searchFixture(project);
+        em.flush();
+        em.clear();
+
+        List<Long> expected = tasks.stream()
+                .sorted(Comparator.comparingInt((Task t) -> TaskSpecifications.priorityRank(t.getPriority()))
+                        .thenComparing(Task::getId))
+                .map(Task::getId)
+                .collect(Collectors.toList());
+
+        assertEquals(expected, walk(project.getId(), null, "priority", 3));
+    }
+
+    @Test
+    void testSearchFiltersAndPageCost() {
+        Project project = project("Search", user("searchMgr"));
+        searchFixture(project);
+        em.flush();
+        em.clear();
+
+        TaskPageDTO page = countingStatements(1, () -> taskService.searchTasks(project.getId(), null,
+                List.of(TaskStatus.IN_PROGRESS), TaskPriority.LOW,
+                LocalDateTime.of(2025, 1, 1, 0, 0), LocalDateTime.of(2025, 12, 31, 0, 0), "dueDate", null, 50));
+
+        assertFalse(page.isHasMore());
+        assertNull(page.getNextCursor());
+        assertFalse(page.getTasks().isEmpty());
+        assertTrue(page.getTasks().stream().allMatch(t -> t.getStatus() == TaskStatus.IN_PROGRESS
+                && t.getPriority() == TaskPriority.LOW
+                && t.getDueDate().getYear() == 2025
+                && "searchMgr".equals(t.getProjectManagerName().split(" ")[0])));
+    }
+
+    @Test
+    void testSearchRejectsBadInput() {
+        assertThrows(IllegalArgumentException.class,
+                () -> taskService.searchTasks(null, null, null, null, null, null, "dueDate", null, 10));
+        assertThrows(IllegalArgumentException.class,
+                () -> taskService.searchTasks(1L, null, null, null, null, null, "name", null, 10));
+        assertThrows(IllegalArgumentException.class,
+                () -> taskService.searchTasks(1L, null, null, null, null, null, "dueDate", "garbage", 10));
+
+        Project project = projectWithTasks("Cursor", 3);
+        em.flush();
+        String priorityCursor = taskService.searchTasks(project.getId(), null, null, null, null, null, "priority", null, 1)
+                .getNextCursor();
+        // A cursor only makes sense for the ordering it came from
+        assertThrows(IllegalArgumentException.class,
+                () -> taskService.searchTasks(project.getId(), null, null, null, null, null, "dueDate", priorityCursor, 1));
+    }
+
+    private List<Long> walk(Long projectId, Long assigneeId, String sort, int size) {
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            TaskPageDTO page = taskService.searchTasks(projectId, assigneeId, null, null, null, null, sort, cursor, size);
+            page.getTasks().forEach(t -> seen.add(t.getId()));
+            cursor = page.getNextCursor();
+            assertEquals(page.isHasMore(), cursor != null);
+        } while (cursor != null);
+        return seen;
+    }
+
+    // Shared due dates, missing due dates and missing priorities, so ties and NULLs cross page boundaries
+    private List<Task> searchFixture(Project project) {
+        List<Task> tasks = new ArrayList<>();
+        TaskPriority[] priorities = {TaskPriority.HIGH, TaskPriority.LOW, null, TaskPriority.MEDIUM};
+        TaskStatus[] statuses = TaskStatus.values();
+        for (int i = 0; i < 23; i++) {
+            Task task = task(project, i % 3 == 0 ? null : user("dev" + i));
+            task.setPriority(priorities[i % priorities.length]);
+            task.setStatus(statuses[i % statuses.length]);
+            task.setDueDate(i % 5 == 0 ? null : LocalDateTime.of(2024 + i % 3, 1 + i % 4, 1, 0, 0));
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    private <T> T countingStatements(long expected, Supplier<T> action) {
+        Statistics statistics = em.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        T result = action.get();
+        assertEquals(expected, statistics.getPrepareStatementCount());
+        return result;
+    }
+
+    private Project projectWithTasks(String name, int tasks) {
+        Project project = project(name, user(name + "Mgr"));
+        project.getManager().setFirstName(name);
+        project.getManager().setLastName("Manager");
+        for (int i = 0; i < tasks; i++) {
+            task(project, user(name + "Dev" + i));
+        }
+        return project;
+    }
+
+    private Task task(Project project, User assignee) {
+        Task task = new Task();
+        task.setName("Task");
+        task.setProject(project);
+        task.setAssignee(assignee);
+        return em.persist(task);
+    }
+
+    private Project project(String name, User manager) {
+        Project project = new Project();
+        project.setName(name);
+        project.setManager(manager);
+        return em.persist(project);
+    }
+
+    private User user(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setFirstName(username);
+        return em.persist(user);
+    }
+}
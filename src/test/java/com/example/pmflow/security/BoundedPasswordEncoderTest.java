@@ -0,0 +1,97 @@
+package com.example.pmflow.security;
+
+import com.example.pmflow.entity.Role;
+import com.example.pmflow.entity.User;
+import com.example.pmflow.repository.UserRepository;
+import com.example.pmflow.service.UserDetailsServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class BoundedPasswordEncoderTest {
+
+    private PasswordHashingExecutor executor;
+    private UserRepository userRepository;
+    private DaoAuthenticationProvider provider;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        executor = new PasswordHashingExecutor(2, 8, 5_000);
+        userRepository = mock(UserRepository.class);
+
+        UserDetailsServiceImpl userDetailsService = new UserDetailsServiceImpl();
+        ReflectionTestUtils.setField(userDetailsService, "userRepository", userRepository);
+
+        // Current cost is 5; the stored hash below was made at cost 4
+        provider = new DaoAuthenticationProvider(new BoundedPasswordEncoder(new BCryptPasswordEncoder(5), executor));
+        provider.setUserDetailsService(userDetailsService);
+        provider.setUserDetailsPasswordService(userDetailsService);
+
+        user = new User();
+        user.setId(7L);
+        user.setUsername("akshay");
+        user.setRole(Role.MEMBER);
+        user.setPasswordHash(new BCryptPasswordEncoder(4).encode("secret"));
+        when(userRepository.findByUsernameOrEmail("akshay", "akshay")).thenReturn(Optional.of(user));
+        when(userRepository.findById(7L)).thenReturn(Optional.of(user));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void testOutdatedHashIsUpgradedOnLogin() {
+        String oldHash = user.getPasswordHash();
+
+        Authentication result = provider.authenticate(new UsernamePasswordAuthenticationToken("akshay", "secret"));
+
+        assertTrue(result.isAuthenticated());
+        assertEquals(7L, ((AuthenticatedUser) result.getPrincipal()).getId());
+        ArgumentCaptor<User> saved = ArgumentCaptor.forClass(User.class);
+        verify(userRepository).save(saved.capture());
+        String newHash = saved.getValue().getPasswordHash();
+        assertNotEquals(oldHash, newHash);
+        assertTrue(newHash.startsWith("$2a$05$"));
+        assertTrue(new BCryptPasswordEncoder().matches("secret", newHash));
+    }
+
+    @Test
+    void testCurrentHashIsLeftAlone() {
+        user.setPasswordHash(new BCryptPasswordEncoder(5).encode("secret"));
+
+        provider.authenticate(new UsernamePasswordAuthenticationToken("akshay", "secret"));
+
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test
+    void testWrongPasswordIsNotRehashed() {
+        assertThrows(BadCredentialsException.class,
+                () -> provider.authenticate(new UsernamePasswordAuthenticationToken("akshay", "wrong")));
+
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test
+    void testCostTunerStaysWithinBounds() {
+        // Doubling a cost-10 hash can't fit in 1 ms, so the floor is kept
+        assertEquals(10, BCryptCostTuner.tune(10, 14, 1));
+        // A generous target stops at the ceiling
+        assertEquals(6, BCryptCostTuner.tune(4, 6, 60_000));
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.pmflow.security;
+
+import com.example.pmflow.entity.Project;
+import com.example.pmflow.entity.Role;
+import com.example.pmflow.entity.User;
+import com.example.pmflow.repository.ProjectRepository;
+import com.example.pmflow.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.ServletException;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Full filter chain against H2: counts the statements one authenticated request costs
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+@ActiveProfiles("test")
+class CurrentUserTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User manager;
+    private User member;
+    private User outsider;
+    private User admin;
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        manager = user("mgr", Role.PROJECT_MANAGER);
+        member = user("member", Role.MEMBER);
+        outsider = user("outsider", Role.MEMBER);
+        admin = user("admin", Role.ADMIN);
+
+        project = new Project();
+        project.setName("Apollo");
+        project.setManager(manager);
+        project.setTeamMembers(Set.of(member));
+        project = projectRepository.save(project);
+    }
+
+    @AfterEach
+    void tearDown() {
+        projectRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void testTeamMemberGroupHistoryIsMembershipPlusPageQuery() throws Exception {
+        // One membership lookup, one page query; no user or project reloads
+        assertStatements(2, member, "/api/chat/group/project/" + project.getId(), status().isOk());
+    }
+
+    @Test
+    void testManagerGroupHistoryIsMembershipPlusPageQuery() throws Exception {
+        assertStatements(2, manager, "/api/chat/group/project/" + project.getId(), status().isOk());
+    }
+
+    @Test
+    void testAdminGroupHistoryChecksProjectExistsOnce() throws Exception {
+        // Not a member: membership lookup, existence check, page query; the role comes from the token
+        assertStatements(3, admin, "/api/chat/group/project/" + project.getId(), status().isOk());
+    }
+
+    @Test
+    void testOutsiderIsRejectedWithoutLoadingTheProject() throws Exception {
+        // Membership lookup and existence check only; there is no handler for SecurityException, so it surfaces as-is
+        ServletException thrown = assertThrows(ServletException.class,
+                () -> assertStatements(2, outsider, "/api/chat/group/project/" + project.getId(), status().isOk()));
+        assertInstanceOf(SecurityException.class, thrown.getCause());
+        assertEquals(2, statistics().getPrepareStatementCount());
+    }
+
+    @Test
+    void testPrivateHistoryNeedsNoIdentityQueries() throws Exception {
+        // Sender/receiver/admin checks use the token alone; only the page query runs
+        String path = "/api/chat/private/sender/" + member.getId() + "/receiver/" + manager.getId()
+                + "/project/" + project.getId() + "/task/1";
+        assertStatements(1, member, path, status().isOk());
+    }
+
+    private void assertStatements(long expected, User caller, String path, ResultMatcher result) throws Exception {
+        String token = jwtService.generateToken(AuthenticatedUser.fromClaims(caller.getId(), caller.getUsername(), caller.getRole()));
+        Statistics statistics = statistics();
+        statistics.clear();
+
+        mockMvc.perform(get(path).header("Authorization", "Bearer " + token)).andExpect(result);
+
+        assertEquals(expected, statistics.getPrepareStatementCount());
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private User user(String username, Role role) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setFirstName(username);
+        user.setRole(role);
+        return userRepository.save(user);
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.pmflow.security;
+
+import com.example.pmflow.entity.RevokedToken;
+import com.example.pmflow.repository.RevokedTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class DatabaseRevocationStoreTest {
+
+    @Autowired
+    private RevokedTokenRepository repository;
+
+    // Two stores over the same table stand in for two nodes behind the load balancer
+    private DatabaseRevocationStore nodeA;
+    private DatabaseRevocationStore nodeB;
+
+    @BeforeEach
+    void setUp() {
+        nodeA = newNode();
+        nodeB = newNode();
+    }
+
+    @Test
+    void testRevocationOnOneNodeReachesTheOtherAfterPoll() {
+        long expiresAt = System.currentTimeMillis() + 60_000;
+
+        nodeA.revoke("jti-1", expiresAt);
+
+        assertTrue(nodeA.isRevoked("jti-1"));
+        assertFalse(nodeB.isRevoked("jti-1"));
+
+        nodeB.poll();
+
+        assertTrue(nodeB.isRevoked("jti-1"));
+        assertEquals(1, repository.count());
+    }
+
+    @Test
+    void testPollIsIncremental() {
+        long expiresAt = System.currentTimeMillis() + 60_000;
+        for (int i = 0; i < 1_200; i++) {
+            nodeA.revoke("jti-" + i, expiresAt);
+        }
+
+        nodeB.poll();
+        long mark = nodeB.getHighWaterMark();
+        assertEquals(1_200, nodeB.size());
+
+        nodeA.revoke("jti-late", expiresAt);
+        nodeB.poll();
+
+        assertTrue(nodeB.isRevoked("jti-late"));
+        assertTrue(nodeB.getHighWaterMark() > mark);
+    }
+
+    @Test
+    void testDuplicateRevocationIsStoredOnce() {
+        long expiresAt = System.currentTimeMillis() + 60_000;
+
+        nodeA.revoke("jti-1", expiresAt);
+        nodeB.revoke("jti-1", expiresAt);
+
+        assertEquals(1, repository.count());
+    }
+
+    @Test
+    void testExpiredRowsAreSkippedAndPurged() {
+        repository.save(new RevokedToken("expired", Instant.now().minusSeconds(5)));
+        nodeA.revoke("live", System.currentTimeMillis() + 60_000);
+
+        nodeB.poll();
+        assertFalse(nodeB.isRevoked("expired"));
+        assertTrue(nodeB.isRevoked("live"));
+
+        nodeB.purgeExpired();
+
+        assertEquals(1, repository.count());
+        assertFalse(repository.existsByTokenId("expired"));
+    }
+
+    private DatabaseRevocationStore newNode() {
+        return new DatabaseRevocationStore(repository, new InMemoryRevocationStore(true, 10_000), Duration.ofSeconds(30));
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.pmflow.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.ECPoint;
+import java.security.spec.ECPublicKeySpec;
+import java.security.AlgorithmParameters;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtKeyRingTest {
+
+    private static final String SECRET = "MySuperSecretKey1234567890!@#$%^";
+    private static final long RETAIN_MS = 60_000L;
+
+    @Test
+    void testHmacTokensAreUnchanged() {
+        JwtKeyRing ring = new JwtKeyRing(SignatureAlgorithm.HS256, SECRET, RETAIN_MS);
+
+        String token = ring.sign(Jwts.builder().setSubject("akshay"));
+
+        assertNull(Jwts.parserBuilder().build().parse(unsigned(token)).getHeader().get("kid"));
+        // Tokens from the old JwtService (plain HS256 with jwt.secret) still verify
+        String legacy = Jwts.builder().setSubject("akshay")
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+        assertEquals("akshay", ring.verify(token).getSubject());
+        assertEquals("akshay", ring.verify(legacy).getSubject());
+        assertTrue(ring.publicJwks().isEmpty());
+    }
+
+    @Test
+    void testEs256SignsWithKidAndVerifies() {
+        JwtKeyRing ring = new JwtKeyRing(SignatureAlgorithm.ES256, null, RETAIN_MS);
+
+        String token = ring.sign(Jwts.builder().setSubject("akshay"));
+        Claims claims = ring.verify(token);
+
+        assertEquals("akshay", claims.getSubject());
+        assertEquals(ring.getActiveKeyId(), Jwts.parserBuilder().build().parse(unsigned(token)).getHeader().get("kid"));
+    }
+
+    @Test
+    void testRotationKeepsOldTokensValid() {
+        JwtKeyRing ring = new JwtKeyRing(SignatureAlgorithm.ES256, null, RETAIN_MS);
+        String before = ring.sign(Jwts.builder().setSubject("akshay"));
+        String oldKid = ring.getActiveKeyId();
+
+        ring.rotate();
+        String after = ring.sign(Jwts.builder().setSubject("akshay"));
+
+        assertNotEquals(oldKid, ring.getActiveKeyId());
+        assertEquals("akshay", ring.verify(before).getSubject());
+        assertEquals("akshay", ring.verify(after).getSubject());
+    }
+
+    @Test
+    void testNextKeyIsPublishedBeforeItSigns() {
+        JwtKeyRing ring = new JwtKeyRing(SignatureAlgorithm.ES256, null, RETAIN_MS);
+        List<String> publishedBefore = kids(ring);
+
+        ring.rotate();
+
+        assertEquals(2, publishedBefore.size());
+        assertTrue(publishedBefore.contains(ring.getActiveKeyId()));
+    }
+
+    @Test
+    void testRetiredKeysArePrunedAfterRetention() {
+        long now = System.currentTimeMillis();
+        JwtKeyRing ring = new JwtKeyRing(SignatureAlgorithm.ES256, null, RETAIN_MS, now);
+        String oldest = ring.sign(Jwts.builder().setSubject("akshay"));
+
+        ring.rotate(now);
+        assertEquals(3, ring.verificationKeyCount());
+
+        // Two retention periods later the first key is gone
+        ring.rotate(now + 2 * RETAIN_MS);
+        assertEquals(3, ring.verificationKeyCount());
+        assertThrows(SignatureException.class, () -> ring.verify(oldest));
+    }
+
+    @Test
+    void testHmacTokensAcceptedDuringMigrationOnly() {
+        long now = System.currentTimeMillis();
+        String legacy = new JwtKeyRing(SignatureAlgorithm.HS256, SECRET, RETAIN_MS)
+                .sign(Jwts.builder().setSubject("akshay"));
+
+        JwtKeyRing migrating = new JwtKeyRing(SignatureAlgorithm.ES256, SECRET, RETAIN_MS, now);
+        JwtKeyRing migrated = new JwtKeyRing(SignatureAlgorithm.ES256, SECRET, RETAIN_MS, now - 2 * RETAIN_MS);
+
+        assertEquals("akshay", migrating.verify(legacy).getSubject());
+        assertThrows(SignatureException.class, () -> migrated.verify(legacy));
+        assertTrue(migrating.publicJwks().stream().noneMatch(jwk -> "".equals(jwk.get("kid"))));
+    }
+
+    @Test
+    void testTokenFromAnotherRingIsRejected() {
+        JwtKeyRing ours = new JwtKeyRing(SignatureAlgorithm.ES256, null, RETAIN_MS);
+        JwtKeyRing theirs = new JwtKeyRing(SignatureAlgorithm.ES256, null, RETAIN_MS);
+
+        String foreign = theirs.sign(Jwts.builder().setSubject("akshay"));
+
+        assertThrows(SignatureException.class, () -> ours.verify(foreign));
+    }
+
+    @Test
+    void testPublishedJwkVerifiesTokens() throws Exception {
+        JwtKeyRing ring = new JwtKeyRing(SignatureAlgorithm.ES256, null, RETAIN_MS);
+        String token = ring.sign(Jwts.builder().setSubject("akshay"));
+
+        Map<String, Object> jwk = ring.publicJwks().stream()
+                .filter(k -> ring.getActiveKeyId().equals(k.get("kid")))
+                .findFirst().orElseThrow();
+        assertEquals("EC", jwk.get("kty"));
+        assertEquals("P-256", jwk.get("crv"));
+        assertEquals("ES256", jwk.get("alg"));
+
+        // A separate service rebuilds the key from the JWK alone
+        PublicKey key = ecKey((String) jwk.get("x"), (String) jwk.get("y"));
+        Claims claims = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+        assertEquals("akshay", claims.getSubject());
+    }
+
+    @Test
+    void testRs256JwkHasModulusAndExponent() {
+        JwtKeyRing ring = new JwtKeyRing(SignatureAlgorithm.RS256, null, RETAIN_MS);
+
+        Map<String, Object> jwk = ring.publicJwks().get(0);
+
+        assertEquals("RSA", jwk.get("kty"));
+        assertEquals("AQAB", jwk.get("e"));
+        assertNotNull(jwk.get("n"));
+    }
+
+    @Test
+    void testUnsignedTokensAreRefused() {
+        assertThrows(IllegalArgumentException.class, () -> new JwtKeyRing(SignatureAlgorithm.NONE, SECRET, RETAIN_MS));
+        assertThrows(IllegalArgumentException.class, () -> new JwtKeyRing(SignatureAlgorithm.HS256, null, RETAIN_MS));
+    }
+
+    private static List<String> kids(JwtKeyRing ring) {
+        return ring.publicJwks().stream().map(jwk -> (String) jwk.get("kid")).toList();
+    }
+
+    // Header and payload only, so the header can be read without a key
+    private static String unsigned(String token) {
+        return token.substring(0, token.lastIndexOf('.') + 1);
+    }
+
+    private static PublicKey ecKey(String x, String y) throws Exception {
+        AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+        parameters.init(new ECGenParameterSpec("secp256r1"));
+        ECParameterSpec spec = parameters.getParameterSpec(ECParameterSpec.class);
+        ECPoint point = new ECPoint(
+                new BigInteger(1, Base64.getUrlDecoder().decode(x)),
+                new BigInteger(1, Base64.getUrlDecoder().decode(y)));
+        return KeyFactory.getInstance("EC").generatePublic(new ECPublicKeySpec(point, spec));
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.pmflow.security;
+
+import com.example.pmflow.entity.Role;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class JwtPrincipalResolverTest {
+
+    @InjectMocks
+    private JwtPrincipalResolver principalResolver;
+
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    private JwtService jwtService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(principalResolver, "revalidateCacheMaxSize", 100);
+
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey", "MySuperSecretKey1234567890!@#$%^");
+        ReflectionTestUtils.setField(jwtService, "jwtExpirationMs", 60_000L);
+        ReflectionTestUtils.setField(jwtService, "claimsCacheMaxSize", 100);
+        jwtService.init();
+    }
+
+    @Test
+    void testPrincipalBuiltFromClaimsWithoutLookup() {
+        String token = jwtService.generateToken(new AuthenticatedUser(7L, "akshay", "hash", Role.PROJECT_MANAGER));
+
+        UserDetails principal = principalResolver.resolve(jwtService.parseToken(token));
+
+        AuthenticatedUser user = assertInstanceOf(AuthenticatedUser.class, principal);
+        assertEquals(7L, user.getId());
+        assertEquals(Role.PROJECT_MANAGER, user.getRole());
+        assertEquals("ROLE_PROJECT_MANAGER", user.getAuthorities().iterator().next().getAuthority());
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void testLegacyTokenFallsBackToLookup() {
+        UserDetails legacy = User.withUsername("akshay").password("x").roles("MEMBER").build();
+        String token = jwtService.generateToken(legacy);
+        when(userDetailsService.loadUserByUsername("akshay")).thenReturn(legacy);
+
+        UserDetails principal = principalResolver.resolve(jwtService.parseToken(token));
+
+        assertSame(legacy, principal);
+        verify(userDetailsService).loadUserByUsername("akshay");
+    }
+
+    @Test
+    void testRevalidationUsesDatabaseRoleOncePerTtl() {
+        ReflectionTestUtils.setField(principalResolver, "revalidateTtlMs", 60_000L);
+        Claims claims = jwtService.parseToken(
+                jwtService.generateToken(new AuthenticatedUser(7L, "akshay", "hash", Role.MEMBER)));
+        AuthenticatedUser promoted = new AuthenticatedUser(7L, "akshay", "hash", Role.ADMIN);
+        when(userDetailsService.loadUserByUsername("akshay")).thenReturn(promoted);
+
+        assertSame(promoted, principalResolver.resolve(claims));
+        assertSame(promoted, principalResolver.resolve(claims));
+        verify(userDetailsService, times(1)).loadUserByUsername("akshay");
+
+        principalResolver.evict("akshay");
+        principalResolver.resolve(claims);
+        verify(userDetailsService, times(2)).loadUserByUsername("akshay");
+    }
+
+    @Test
+    void testRevalidationOfDeletedUserReturnsNull() {
+        ReflectionTestUtils.setField(principalResolver, "revalidateTtlMs", 60_000L);
+        Claims claims = jwtService.parseToken(
+                jwtService.generateToken(new AuthenticatedUser(7L, "akshay", "hash", Role.MEMBER)));
+        when(userDetailsService.loadUserByUsername("akshay")).thenThrow(new UsernameNotFoundException("gone"));
+
+        assertNull(principalResolver.resolve(claims));
+    }
+}
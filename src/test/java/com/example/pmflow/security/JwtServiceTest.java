@@ -0,0 +1,142 @@
+package com.example.pmflow.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtServiceTest {
+
+    private static final String SECRET = "MySuperSecretKey1234567890!@#$%^";
+
+    private JwtService jwtService;
+    private UserDetails userDetails;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = newJwtService(60_000L, 10);
+        userDetails = User.withUsername("akshay").password("x").roles("MEMBER").build();
+    }
+
+    @Test
+    void testParseTokenReturnsVerifiedClaims() {
+        String token = jwtService.generateToken(userDetails);
+
+        Claims claims = jwtService.parseToken(token);
+
+        assertEquals("akshay", claims.getSubject());
+        assertTrue(jwtService.isTokenValid(claims, userDetails));
+        assertTrue(jwtService.validateToken(token, userDetails));
+        assertEquals("akshay", jwtService.extractUsername(token));
+    }
+
+    @Test
+    void testRepeatedParseHitsCache() {
+        String token = jwtService.generateToken(userDetails);
+
+        Claims first = jwtService.parseToken(token);
+        Claims second = jwtService.parseToken(token);
+
+        assertSame(first, second);
+        assertEquals(1, jwtService.cachedTokenCount());
+    }
+
+    @Test
+    void testTamperedTokenIsRejected() {
+        String token = jwtService.generateToken(userDetails);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThrows(SignatureException.class, () -> jwtService.parseToken(tampered));
+        assertEquals(0, jwtService.cachedTokenCount());
+    }
+
+    @Test
+    void testExpiredCachedTokenIsEvicted() throws InterruptedException {
+        JwtService shortLived = newJwtService(1_500L, 10);
+        String token = shortLived.generateToken(userDetails);
+        shortLived.parseToken(token);
+        assertEquals(1, shortLived.cachedTokenCount());
+
+        Thread.sleep(1_600);
+
+        assertThrows(ExpiredJwtException.class, () -> shortLived.parseToken(token));
+        assertEquals(0, shortLived.cachedTokenCount());
+    }
+
+    @Test
+    void testCacheIsBounded() {
+        JwtService small = newJwtService(60_000L, 3);
+        for (int i = 0; i < 10; i++) {
+            UserDetails user = User.withUsername("user" + i).password("x").roles("MEMBER").build();
+            small.parseToken(small.generateToken(user));
+        }
+
+        assertTrue(small.cachedTokenCount() <= 3);
+    }
+
+    @Test
+    void testCachedClaimsAreReadOnly() {
+        String token = jwtService.generateToken(userDetails);
+        Claims claims = jwtService.parseToken(token);
+
+        assertThrows(UnsupportedOperationException.class, () -> claims.put("role", "ADMIN"));
+        assertThrows(UnsupportedOperationException.class, () -> claims.setSubject("mallory"));
+        assertThrows(UnsupportedOperationException.class, () -> claims.remove("sub"));
+        assertThrows(UnsupportedOperationException.class, () -> claims.entrySet().clear());
+        claims.getExpiration().setTime(0);
+
+        Claims again = jwtService.parseToken(token);
+        assertEquals("akshay", again.getSubject());
+        assertTrue(again.getExpiration().getTime() > System.currentTimeMillis());
+    }
+
+    @Test
+    void testFullCacheEvictsEarliestExpiringFirst() {
+        JwtService small = newJwtService(600_000L, 3);
+        JwtService shortLived = newJwtService(30_000L, 10);
+        String hot = small.generateToken(userDetails);
+        Claims hotClaims = small.parseToken(hot);
+
+        for (int i = 0; i < 10; i++) {
+            UserDetails user = User.withUsername("user" + i).password("x").roles("MEMBER").build();
+            small.parseToken(shortLived.generateToken(user));
+        }
+
+        assertTrue(small.cachedTokenCount() <= 3);
+        assertSame(hotClaims, small.parseToken(hot));
+    }
+
+    @Test
+    void testEs256TokensSurviveKeyRotation() {
+        JwtService es256 = new JwtService();
+        ReflectionTestUtils.setField(es256, "signingAlgorithm", "ES256");
+        ReflectionTestUtils.setField(es256, "jwtExpirationMs", 60_000L);
+        ReflectionTestUtils.setField(es256, "claimsCacheMaxSize", 10);
+        es256.init();
+
+        String before = es256.generateToken(userDetails);
+        es256.rotateSigningKey();
+        String after = es256.generateToken(userDetails);
+
+        assertEquals("akshay", es256.extractUsername(before));
+        assertEquals("akshay", es256.extractUsername(after));
+        assertEquals(3, es256.getPublicJwks().size());
+        // HS256 tokens from the shared secret are not accepted by an ES256-only service
+        assertThrows(SignatureException.class, () -> es256.parseToken(jwtService.generateToken(userDetails)));
+    }
+
+    private JwtService newJwtService(long expirationMs, int cacheSize) {
+        JwtService service = new JwtService();
+        ReflectionTestUtils.setField(service, "secretKey", SECRET);
+        ReflectionTestUtils.setField(service, "jwtExpirationMs", expirationMs);
+        ReflectionTestUtils.setField(service, "claimsCacheMaxSize", cacheSize);
+        service.init();
+        return service;
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.pmflow.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHashingExecutorTest {
+
+    private PasswordHashingExecutor executor;
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testRunsTaskOnPoolThread() {
+        executor = new PasswordHashingExecutor(1, 4, 1_000);
+
+        String thread = executor.run(() -> Thread.currentThread().getName());
+
+        assertTrue(thread.startsWith("password-hash-"));
+        assertTrue(executor.isBounded());
+    }
+
+    @Test
+    void testRejectsImmediatelyWhenQueueIsFull() throws Exception {
+        executor = new PasswordHashingExecutor(1, 1, 10_000);
+        CountDownLatch started = new CountDownLatch(1);
+
+        // One task holds the only worker, one more fills the queue
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> executor.run(() -> {
+            started.countDown();
+            await(release);
+            return true;
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> executor.run(() -> true));
+        waitForQueued(1);
+
+        long start = System.nanoTime();
+        assertThrows(PasswordHashingBusyException.class, () -> executor.run(() -> true));
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+        assertEquals(1, executor.getRejected());
+
+        release.countDown();
+        assertTrue(running.get(5, TimeUnit.SECONDS));
+        assertTrue(queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testGivesUpAfterMaxWait() throws Exception {
+        executor = new PasswordHashingExecutor(1, 8, 50);
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture<Object> stuck = CompletableFuture.supplyAsync(() -> executor.run(() -> {
+            started.countDown();
+            await(release);
+            return null;
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        assertThrows(PasswordHashingBusyException.class, () -> executor.run(() -> true));
+        // The caller of the stuck hash gives up too, even though its task is still running
+        ExecutionException e = assertThrows(ExecutionException.class, () -> stuck.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(PasswordHashingBusyException.class, e.getCause());
+        assertEquals(2, executor.getRejected());
+    }
+
+    @Test
+    void testTaskExceptionsPropagateUnchanged() {
+        executor = new PasswordHashingExecutor(1, 4, 1_000);
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> executor.run(() -> { throw new IllegalArgumentException("bad hash"); }));
+
+        assertEquals("bad hash", e.getMessage());
+        assertEquals(0, executor.getRejected());
+    }
+
+    @Test
+    void testUnboundedModeRunsOnCaller() {
+        executor = new PasswordHashingExecutor(-1, 4, 1_000);
+
+        assertEquals(Thread.currentThread().getName(), executor.run(() -> Thread.currentThread().getName()));
+        assertFalse(executor.isBounded());
+    }
+
+    private void waitForQueued(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (executor.getQueued() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(expected, executor.getQueued());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.pmflow.security;
+
+import com.example.pmflow.entity.Role;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitFilterTest {
+
+    private JwtService jwtService;
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey", "MySuperSecretKey1234567890!@#$%^");
+        ReflectionTestUtils.setField(jwtService, "jwtExpirationMs", 60_000L);
+        ReflectionTestUtils.setField(jwtService, "claimsCacheMaxSize", 10_000);
+        jwtService.init();
+
+        filter = new RateLimitFilter();
+        ReflectionTestUtils.setField(filter, "jwtService", jwtService);
+        ReflectionTestUtils.setField(filter, "routeSpecs",
+                "POST /api/auth/login=2/60000, POST /api/chat/group/**=3/60000");
+        ReflectionTestUtils.setField(filter, "maxKeysPerRoute", 1_000);
+        filter.init();
+    }
+
+    @Test
+    void testLoginLimitedPerIp() throws Exception {
+        assertEquals(200, send("POST", "/api/auth/login", "10.0.0.1", null).getStatus());
+        assertEquals(200, send("POST", "/api/auth/login", "10.0.0.1", null).getStatus());
+
+        MockHttpServletResponse limited = send("POST", "/api/auth/login", "10.0.0.1", null);
+        assertEquals(429, limited.getStatus());
+        assertEquals("30", limited.getHeader(HttpHeaders.RETRY_AFTER));
+
+        assertEquals(200, send("POST", "/api/auth/login", "10.0.0.2", null).getStatus());
+    }
+
+    @Test
+    void testThrottledRequestNeverReachesTheChain() throws Exception {
+        send("POST", "/api/auth/login", "10.0.0.1", null);
+        send("POST", "/api/auth/login", "10.0.0.1", null);
+
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request("POST", "/api/auth/login", "10.0.0.1", null), response, chain);
+
+        assertEquals(429, response.getStatus());
+        assertNull(chain.getRequest());
+    }
+
+    @Test
+    void testAuthenticatedCallersLimitedPerUserAcrossIps() throws Exception {
+        String token = jwtService.generateToken(new AuthenticatedUser(1L, "akshay", "x", Role.MEMBER));
+        String path = "/api/chat/group/sender/1/project/5";
+
+        assertEquals(200, send("POST", path, "10.0.0.1", token).getStatus());
+        assertEquals(200, send("POST", path, "10.0.0.2", token).getStatus());
+        assertEquals(200, send("POST", path, "10.0.0.3", token).getStatus());
+        assertEquals(429, send("POST", path, "10.0.0.4", token).getStatus());
+
+        String other = jwtService.generateToken(new AuthenticatedUser(2L, "ravi", "x", Role.MEMBER));
+        assertEquals(200, send("POST", path, "10.0.0.1", other).getStatus());
+    }
+
+    @Test
+    void testInvalidTokenFallsBackToIp() throws Exception {
+        String path = "/api/chat/group/sender/1/project/5";
+        for (int i = 0; i < 3; i++) {
+            assertEquals(200, send("POST", path, "10.0.0.1", "forged." + i + ".token").getStatus());
+        }
+
+        assertEquals(429, send("POST", path, "10.0.0.1", "forged.4.token").getStatus());
+    }
+
+    @Test
+    void testUnmatchedRoutesAreNotLimited() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            assertEquals(200, send("GET", "/api/chat/group/project/5", "10.0.0.1", null).getStatus());
+            assertEquals(200, send("POST", "/api/auth/register", "10.0.0.1", null).getStatus());
+        }
+    }
+
+    @Test
+    void testRouteParsing() {
+        RateLimitRule rule = RateLimitRule.parse(" POST /api/chat/ingest/**=60/10000 ");
+
+        assertEquals("POST", rule.method());
+        assertEquals("/api/chat/ingest/**", rule.pattern());
+        assertEquals(60, rule.limit());
+        assertEquals(10_000, rule.periodMs());
+        assertTrue(rule.matches("post", "/api/chat/ingest/group/sender/1/project/2"));
+        assertFalse(rule.matches("GET", "/api/chat/ingest/group/sender/1/project/2"));
+
+        assertTrue(RateLimitRule.parseAll("  ").isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> RateLimitRule.parse("/api/auth/login=10/60000"));
+        assertThrows(IllegalArgumentException.class, () -> RateLimitRule.parse("POST /api/auth/login=ten/60000"));
+        assertThrows(IllegalArgumentException.class, () -> RateLimitRule.parse("POST /api/auth/login=0/60000"));
+    }
+
+    private MockHttpServletResponse send(String method, String path, String ip, String token) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(method, path, ip, token), response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String method, String path, String ip, String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setRemoteAddr(ip);
+        if (token != null) {
+            request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        }
+        return request;
+    }
+}
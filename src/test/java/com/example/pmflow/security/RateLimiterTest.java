@@ -0,0 +1,122 @@
+package com.example.pmflow.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final long start = System.nanoTime();
+
+    @Test
+    void testBurstUpToLimitThenReject() {
+        RateLimiter limiter = new RateLimiter(5, 10_000, 100);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, limiter.tryAcquire("ip:1", start));
+        }
+        long wait = limiter.tryAcquire("ip:1", start);
+
+        // One token comes back every period / limit = 2 s
+        assertEquals(2 * SECOND, wait);
+    }
+
+    @Test
+    void testTokensRefillEvenly() {
+        RateLimiter limiter = new RateLimiter(5, 10_000, 100);
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire("ip:1", start);
+        }
+
+        assertTrue(limiter.tryAcquire("ip:1", start + SECOND) > 0);
+        assertEquals(0, limiter.tryAcquire("ip:1", start + 2 * SECOND));
+        assertTrue(limiter.tryAcquire("ip:1", start + 2 * SECOND) > 0);
+
+        // A long pause refills the bucket, but never past the limit
+        int admitted = 0;
+        for (int i = 0; i < 10; i++) {
+            if (limiter.tryAcquire("ip:1", start + 60 * SECOND) == 0) {
+                admitted++;
+            }
+        }
+        assertEquals(5, admitted);
+    }
+
+    @Test
+    void testKeysAreIndependent() {
+        RateLimiter limiter = new RateLimiter(1, 60_000, 100);
+
+        assertEquals(0, limiter.tryAcquire("ip:1", start));
+        assertTrue(limiter.tryAcquire("ip:1", start) > 0);
+        assertEquals(0, limiter.tryAcquire("user:akshay", start));
+    }
+
+    @Test
+    void testIdleBucketsAreEvicted() {
+        RateLimiter limiter = new RateLimiter(2, 1_000, 100);
+        limiter.tryAcquire("ip:1", start);
+        limiter.tryAcquire("ip:2", start);
+        limiter.tryAcquire("ip:2", start);
+
+        // ip:1 has refilled after 500 ms, ip:2 only after a full second
+        assertEquals(1, limiter.evictIdle(start + SECOND / 2));
+        assertEquals(1, limiter.size());
+        assertEquals(1, limiter.evictIdle(start + SECOND));
+        assertEquals(0, limiter.size());
+    }
+
+    @Test
+    void testNewKeysShareOverflowBucketWhenFull() {
+        RateLimiter limiter = new RateLimiter(3, 60_000, 2);
+        limiter.tryAcquire("ip:1", start);
+        limiter.tryAcquire("ip:2", start);
+
+        // Both tracked buckets are still active, so fresh keys are limited together
+        assertEquals(0, limiter.tryAcquire("ip:3", start));
+        assertEquals(0, limiter.tryAcquire("ip:4", start));
+        assertEquals(0, limiter.tryAcquire("ip:5", start));
+        assertTrue(limiter.tryAcquire("ip:6", start) > 0);
+        assertEquals(2, limiter.size());
+    }
+
+    @Test
+    void testConcurrentCallersNeverExceedLimit() throws Exception {
+        int limit = 1_000;
+        RateLimiter limiter = new RateLimiter(limit, 3_600_000, 100);
+        int threads = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch go = new CountDownLatch(1);
+        AtomicInteger admitted = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int t = 0; t < threads; t++) {
+            futures.add(pool.submit(() -> {
+                go.await();
+                for (int i = 0; i < 500; i++) {
+                    if (limiter.tryAcquire("user:akshay", start) == 0) {
+                        admitted.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        go.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        assertEquals(limit, admitted.get());
+    }
+}
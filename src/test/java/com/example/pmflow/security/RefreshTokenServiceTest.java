@@ -0,0 +1,229 @@
+package com.example.pmflow.security;
+
+import com.example.pmflow.dto.AuthResponse;
+import com.example.pmflow.entity.RefreshToken;
+import com.example.pmflow.entity.Role;
+import com.example.pmflow.entity.User;
+import com.example.pmflow.repository.RefreshTokenRepository;
+import com.example.pmflow.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Login -> refresh -> reuse through the real endpoints, so the reuse revocation has to survive
+// the rejected request's transaction
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+@ActiveProfiles("test")
+class RefreshTokenServiceTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private TokenBlacklistService tokenBlacklistService;
+
+    @Value("${jwt.secret}")
+    private String secret;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setUsername("akshay");
+        user.setEmail("akshay@example.com");
+        user.setFirstName("Akshay");
+        user.setLastName("K");
+        user.setRole(Role.MEMBER);
+        user.setPasswordHash(passwordEncoder.encode("secret"));
+        user = userRepository.save(user);
+    }
+
+    @AfterEach
+    void tearDown() {
+        refreshTokenRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void testLoginIssuesShortLivedAccessTokenAndHashedRefreshToken() throws Exception {
+        AuthResponse login = login();
+
+        assertEquals(jwtService.getExpirationMs(), login.getExpiresIn());
+        assertTrue(login.getExpiresIn() < login.getRefreshExpiresIn());
+        assertNotNull(login.getRefreshToken());
+
+        List<RefreshToken> stored = refreshTokenRepository.findAll();
+        assertEquals(1, stored.size());
+        assertNotEquals(login.getRefreshToken(), stored.get(0).getTokenHash());
+        assertEquals(JwtService.hash(login.getRefreshToken()), stored.get(0).getTokenHash());
+        assertEquals(stored.get(0).getFamilyId(),
+                jwtService.parseToken(login.getToken()).get(JwtService.CLAIM_FAMILY_ID, String.class));
+    }
+
+    @Test
+    void testRefreshRotatesWithinFamily() throws Exception {
+        AuthResponse login = login();
+
+        AuthResponse refreshed = readAuth(refresh(login.getRefreshToken()).andExpect(status().isOk()).andReturn());
+
+        assertNotEquals(login.getRefreshToken(), refreshed.getRefreshToken());
+        assertNotEquals(login.getToken(), refreshed.getToken());
+        assertEquals(user.getId(), jwtService.parseToken(refreshed.getToken()).get(JwtService.CLAIM_USER_ID, Long.class));
+        assertEquals(1, refreshTokenRepository.findAll().stream().map(RefreshToken::getFamilyId).distinct().count());
+
+        // The new pair works; the new refresh token can be exchanged in turn
+        mockMvc.perform(get("/api/chat/assigned_projects").header("Authorization", "Bearer " + refreshed.getToken()))
+                .andExpect(status().isOk());
+        refresh(refreshed.getRefreshToken()).andExpect(status().isOk());
+    }
+
+    @Test
+    void testReuseRevokesWholeFamily() throws Exception {
+        AuthResponse login = login();
+        AuthResponse refreshed = readAuth(refresh(login.getRefreshToken()).andExpect(status().isOk()).andReturn());
+
+        // Replaying the spent token is rejected and takes the live descendant down with it
+        refresh(login.getRefreshToken()).andExpect(status().isUnauthorized());
+        refresh(refreshed.getRefreshToken()).andExpect(status().isUnauthorized());
+
+        assertTrue(refreshTokenRepository.findAll().stream().allMatch(t -> t.getRevokedAt() != null));
+        assertTrue(tokenBlacklistService.isTokenBlacklisted(refreshed.getToken()));
+        mockMvc.perform(get("/api/chat/assigned_projects").header("Authorization", "Bearer " + refreshed.getToken()))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void testOtherSessionsSurviveReuse() throws Exception {
+        AuthResponse laptop = login();
+        AuthResponse phone = login();
+
+        refresh(laptop.getRefreshToken()).andExpect(status().isOk());
+        refresh(laptop.getRefreshToken()).andExpect(status().isUnauthorized());
+
+        refresh(phone.getRefreshToken()).andExpect(status().isOk());
+    }
+
+    @Test
+    void testLogoutEndsRefreshFamily() throws Exception {
+        AuthResponse login = login();
+
+        mockMvc.perform(post("/api/auth/logout").header("Authorization", "Bearer " + login.getToken()))
+                .andExpect(status().isOk());
+
+        refresh(login.getRefreshToken()).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void testLogoutWithExpiredAccessTokenEndsRefreshFamily() throws Exception {
+        AuthResponse login = login();
+        String familyId = refreshTokenRepository.findAll().get(0).getFamilyId();
+        // The access token ran out while the user was idle; the refresh token is still live
+        String expired = Jwts.builder()
+                .setId("expired-jti")
+                .setSubject("akshay")
+                .claim(JwtService.CLAIM_FAMILY_ID, familyId)
+                .setIssuedAt(new Date(System.currentTimeMillis() - 120_000))
+                .setExpiration(new Date(System.currentTimeMillis() - 60_000))
+                .signWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+
+        // servletPath as the container sets it, so JwtAuthFilter skips /api/auth/** like in production
+        mockMvc.perform(post("/api/auth/logout").servletPath("/api/auth/logout")
+                        .header("Authorization", "Bearer " + expired))
+                .andExpect(status().isOk());
+
+        refresh(login.getRefreshToken()).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void testExpiredAccessTokenOnProtectedEndpointIsUnauthorized() throws Exception {
+        String expired = Jwts.builder()
+                .setId("expired-jti")
+                .setSubject("akshay")
+                .setIssuedAt(new Date(System.currentTimeMillis() - 120_000))
+                .setExpiration(new Date(System.currentTimeMillis() - 60_000))
+                .signWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+
+        // 401 with a Bearer challenge tells the client to refresh, instead of a 500
+        mockMvc.perform(get("/api/chat/assigned_projects").header("Authorization", "Bearer " + expired))
+                .andExpect(status().isUnauthorized())
+                .andExpect(header().string("WWW-Authenticate", "Bearer error=\"invalid_token\""));
+        mockMvc.perform(get("/api/chat/assigned_projects").header("Authorization", "Bearer not-a-jwt"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(header().string("WWW-Authenticate", "Bearer error=\"invalid_token\""));
+    }
+
+    @Test
+    void testUnknownRefreshTokenIsRejected() throws Exception {
+        refresh("not-a-refresh-token").andExpect(status().isUnauthorized());
+        refresh("").andExpect(status().isUnauthorized());
+    }
+
+    private AuthResponse login() throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("usernameOrEmail", "akshay", "password", "secret"))))
+                .andExpect(status().isOk())
+                .andReturn();
+        return readAuth(result);
+    }
+
+    private org.springframework.test.web.servlet.ResultActions refresh(String refreshToken) throws Exception {
+        return mockMvc.perform(post("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("refreshToken", refreshToken))));
+    }
+
+    private AuthResponse readAuth(MvcResult result) throws Exception {
+        Map<?, ?> body = objectMapper.readValue(result.getResponse().getContentAsString(), Map.class);
+        return new AuthResponse(
+                (String) body.get("token"),
+                ((Number) body.get("expiresIn")).longValue(),
+                (String) body.get("refreshToken"),
+                ((Number) body.get("refreshExpiresIn")).longValue());
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.pmflow.security;
+
+import com.example.pmflow.entity.Role;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBlacklistServiceTest {
+
+    private JwtService jwtService;
+    private TokenBlacklistService tokenBlacklistService;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey", "MySuperSecretKey1234567890!@#$%^");
+        ReflectionTestUtils.setField(jwtService, "jwtExpirationMs", 60_000L);
+        ReflectionTestUtils.setField(jwtService, "claimsCacheMaxSize", 10_000);
+        jwtService.init();
+
+        tokenBlacklistService = newService(true);
+    }
+
+    @Test
+    void testBlacklistTokenRevokesByJti() {
+        String token = jwtService.generateToken(new AuthenticatedUser(1L, "akshay", "x", Role.MEMBER));
+        String other = jwtService.generateToken(new AuthenticatedUser(1L, "akshay", "x", Role.MEMBER));
+
+        tokenBlacklistService.blacklistToken(token);
+
+        assertTrue(tokenBlacklistService.isTokenBlacklisted(token));
+        assertFalse(tokenBlacklistService.isTokenBlacklisted(other));
+        assertTrue(tokenBlacklistService.isRevoked(jwtService.parseToken(token).getId()));
+    }
+
+    @Test
+    void testInvalidTokenIsIgnored() {
+        tokenBlacklistService.blacklistToken("not.a.jwt");
+
+        assertEquals(0, tokenBlacklistService.size());
+        assertFalse(tokenBlacklistService.isTokenBlacklisted("not.a.jwt"));
+    }
+
+    @Test
+    void testExpiredEntriesArePurged() {
+        long now = System.currentTimeMillis();
+        tokenBlacklistService.revoke("expired", now - 1);
+        tokenBlacklistService.revoke("live", now + 60_000);
+
+        assertFalse(tokenBlacklistService.isRevoked("expired"));
+
+        tokenBlacklistService.purgeExpired();
+
+        assertEquals(1, tokenBlacklistService.size());
+        assertTrue(tokenBlacklistService.isRevoked("live"));
+    }
+
+    @Test
+    void testWorksWithoutBloomFilter() {
+        TokenBlacklistService plain = newService(false);
+        plain.revoke("jti-1", System.currentTimeMillis() + 60_000);
+
+        assertTrue(plain.isRevoked("jti-1"));
+        assertFalse(plain.isRevoked("jti-2"));
+    }
+
+    @Test
+    void testConcurrentLogoutAndChecks() throws Exception {
+        int threads = 16;
+        int perThread = 2_000;
+        long expiresAt = System.currentTimeMillis() + 60_000;
+        ExecutorService pool = Executors.newFixedThreadPool(threads + 2);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger missed = new AtomicInteger();
+        AtomicInteger falseRevocations = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < perThread; i++) {
+                    String id = "jti-" + thread + "-" + i;
+                    tokenBlacklistService.revoke(id, expiresAt);
+                    // A token must be rejected as soon as its own logout returns
+                    if (!tokenBlacklistService.isRevoked(id)) {
+                        missed.incrementAndGet();
+                    }
+                    if (tokenBlacklistService.isRevoked("never-" + thread + "-" + i)) {
+                        falseRevocations.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        // Purges race with the writers; they must never drop a live entry
+        for (int p = 0; p < 2; p++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < 50; i++) {
+                    tokenBlacklistService.purgeExpired();
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        assertEquals(0, missed.get());
+        assertEquals(0, falseRevocations.get());
+        assertEquals(threads * perThread, tokenBlacklistService.size());
+        for (int t = 0; t < threads; t++) {
+            for (int i = 0; i < perThread; i++) {
+                assertTrue(tokenBlacklistService.isRevoked("jti-" + t + "-" + i));
+            }
+        }
+    }
+
+    private TokenBlacklistService newService(boolean bloomFilter) {
+        TokenBlacklistService service = new TokenBlacklistService();
+        ReflectionTestUtils.setField(service, "jwtService", jwtService);
+        ReflectionTestUtils.setField(service, "revocationStore", new InMemoryRevocationStore(bloomFilter, 50_000));
+        return service;
+    }
+}
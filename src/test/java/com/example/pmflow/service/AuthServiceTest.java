@@ -6,7 +6,7 @@ import com.example.pmflow.dto.RegisterRequest;
 import com.example.pmflow.entity.Role;
 import com.example.pmflow.entity.User;
 import com.example.pmflow.repository.UserRepository;
-import com.example.pmflow.security.JwtService;
+import com.example.pmflow.security.RefreshTokenService;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -31,7 +31,7 @@ class AuthServiceTest {
     private UserRepository userRepository;
 
     @Mock
-    private JwtService jwtService;
+    private RefreshTokenService refreshTokenService;
 
     @Mock
     private PasswordEncoder passwordEncoder;
@@ -59,12 +59,14 @@ class AuthServiceTest {
 
         when(authenticationManager.authenticate(any())).thenReturn(authentication);
         when(authentication.getPrincipal()).thenReturn(userDetails);
-        when(jwtService.generateToken(userDetails)).thenReturn("mock-jwt");
+        when(refreshTokenService.startSession(userDetails))
+                .thenReturn(new AuthResponse("mock-jwt", 900000L, "mock-refresh", 1209600000L));
 
         AuthResponse response = authService.login(request);
 
         assertEquals("mock-jwt", response.getToken());
-        assertEquals(86400000L, response.getExpiresIn());
+        assertEquals(900000L, response.getExpiresIn());
+        assertEquals("mock-refresh", response.getRefreshToken());
     }
 
     // ✅ Test Register New User
@@ -0,0 +1,67 @@
+package com.example.pmflow.service;
+
+import com.example.pmflow.dto.ChatSummaryDTO;
+import com.example.pmflow.entity.Project;
+import com.example.pmflow.entity.User;
+import com.example.pmflow.repository.ChatMessageRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(ChatBatchWriter.class)
+class ChatBatchWriterTest {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private ChatBatchWriter batchWriter;
+
+    @Autowired
+    private ChatMessageRepository chatRepo;
+
+    @Test
+    void testBatchInsertReturnsIdsInOrder() {
+        User sender = new User();
+        sender.setUsername("akshay");
+        sender.setFirstName("Akshay");
+        sender.setLastName("K");
+        em.persist(sender);
+        Project project = new Project();
+        project.setName("PM-Flow");
+        project.setManager(sender);
+        em.persist(project);
+        em.flush();
+
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 10, 0);
+        List<PendingChatMessage> batch = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            PendingChatMessage message = new PendingChatMessage(i, sender.getId(), null, project.getId(), null,
+                    "m" + i, true);
+            message.timestamp = base.plusSeconds(i);
+            batch.add(message);
+        }
+
+        List<Long> ids = batchWriter.insert(batch);
+
+        assertEquals(25, ids.size());
+        List<ChatSummaryDTO> page = chatRepo.findLatestGroupMessages(project.getId(), PageRequest.of(0, 50));
+        assertEquals(25, page.size());
+        // Newest first: m24 carries the last generated id
+        assertEquals("m24", page.get(0).getContent());
+        assertEquals(ids.get(24), page.get(0).getId());
+        assertEquals("Akshay K", page.get(0).getSenderName());
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.pmflow.service;
+
+import com.example.pmflow.dto.ChatIngestAckDTO;
+import com.example.pmflow.dto.ChatRequestDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ChatIngestServiceTest {
+
+    private final ChatReferenceCache referenceCache = mock(ChatReferenceCache.class);
+    private final ChatBatchWriter batchWriter = mock(ChatBatchWriter.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final AtomicLong ids = new AtomicLong(100);
+    private ChatIngestService service;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (service != null) {
+            service.stop();
+        }
+    }
+
+    @Test
+    void testAcksAreSequencedAndMessagesWrittenInBatches() throws Exception {
+        when(batchWriter.insert(anyList())).thenAnswer(inv -> assignIds(inv.getArgument(0)));
+        service = newService(100, 0);
+
+        ChatIngestAckDTO first = service.submitGroupMessage(1L, 5L, request("a"), false);
+        ChatIngestAckDTO second = service.submitGroupMessage(1L, 5L, request("b"), false);
+        ChatIngestAckDTO durable = service.submitGroupMessage(1L, 5L, request("c"), true);
+
+        assertEquals(ChatIngestService.QUEUED, first.getStatus());
+        assertTrue(second.getSequence() > first.getSequence());
+        assertEquals(ChatIngestService.PERSISTED, durable.getStatus());
+        assertNotNull(durable.getMessageId());
+        assertNotNull(durable.getTimestamp());
+        verify(eventPublisher, timeout(1_000).times(3)).publishEvent(any(ChatMessagePostedEvent.class));
+        verify(referenceCache, atLeastOnce()).requireProject(5L);
+    }
+
+    @Test
+    void testFullQueueIsRejected() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch writing = new CountDownLatch(1);
+        when(batchWriter.insert(anyList())).thenAnswer(inv -> {
+            writing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return assignIds(inv.getArgument(0));
+        });
+        service = newService(1, 0);
+
+        service.submitGroupMessage(1L, 5L, request("held by the flusher"), false);
+        assertTrue(writing.await(1, TimeUnit.SECONDS));
+        service.submitGroupMessage(1L, 5L, request("fills the queue"), false);
+
+        assertThrows(ChatBackpressureException.class,
+                () -> service.submitGroupMessage(1L, 5L, request("rejected"), false));
+        release.countDown();
+    }
+
+    @Test
+    void testFailedBatchIsRetriedRowByRow() {
+        service = newService(100, 0);
+        ReflectionTestUtils.setField(service, "running", false);
+        PendingChatMessage good = pending(1, "good");
+        PendingChatMessage bad = pending(2, "bad");
+        when(batchWriter.insert(anyList())).thenAnswer(inv -> {
+            List<PendingChatMessage> batch = inv.getArgument(0);
+            if (batch.contains(bad)) {
+                throw new RuntimeException("FK violation");
+            }
+            return assignIds(batch);
+        });
+
+        service.flush(List.of(good, bad));
+
+        assertTrue(good.persisted.isDone() && !good.persisted.isCompletedExceptionally());
+        assertTrue(bad.persisted.isCompletedExceptionally());
+        ArgumentCaptor<ChatMessagePostedEvent> events = ArgumentCaptor.forClass(ChatMessagePostedEvent.class);
+        verify(eventPublisher).publishEvent(events.capture());
+        assertEquals("good", events.getValue().message().getContent());
+    }
+
+    @Test
+    void testTimestampIsTakenWhenTheBatchIsWritten() {
+        service = newService(100, 0);
+        ReflectionTestUtils.setField(service, "running", false);
+        PendingChatMessage queuedFirst = pending(1, "queued first");
+        PendingChatMessage queuedSecond = pending(2, "queued second");
+        List<LocalDateTime> written = new ArrayList<>();
+        when(batchWriter.insert(anyList())).thenAnswer(inv -> {
+            List<PendingChatMessage> batch = inv.getArgument(0);
+            batch.forEach(m -> written.add(m.timestamp));
+            return assignIds(batch);
+        });
+
+        // Flushed in the opposite order to queueing: the later write must not carry the earlier time
+        service.flush(List.of(queuedSecond));
+        service.flush(List.of(queuedFirst));
+
+        assertNotNull(written.get(0));
+        assertFalse(written.get(1).isBefore(written.get(0)));
+        assertEquals(written.get(1), queuedFirst.timestamp);
+    }
+
+    @Test
+    void testStopFlushesQueuedMessages() throws Exception {
+        List<String> written = new ArrayList<>();
+        when(batchWriter.insert(anyList())).thenAnswer(inv -> {
+            List<PendingChatMessage> batch = inv.getArgument(0);
+            batch.forEach(m -> written.add(m.content));
+            return assignIds(batch);
+        });
+        service = newService(100, 0);
+        for (int i = 0; i < 20; i++) {
+            service.submitPrivateMessage(1L, 2L, 5L, 7L, request("m" + i), false);
+        }
+
+        service.stop();
+        service = null;
+
+        assertEquals(20, written.size());
+    }
+
+    private ChatIngestService newService(int capacity, long offerTimeoutMs) {
+        when(referenceCache.requireUser(anyLong(), anyString())).thenReturn("Akshay K");
+        ChatIngestService ingest = new ChatIngestService();
+        ReflectionTestUtils.setField(ingest, "referenceCache", referenceCache);
+        ReflectionTestUtils.setField(ingest, "batchWriter", batchWriter);
+        ReflectionTestUtils.setField(ingest, "eventPublisher", eventPublisher);
+        ReflectionTestUtils.setField(ingest, "queueCapacity", capacity);
+        ReflectionTestUtils.setField(ingest, "batchSize", 50);
+        ReflectionTestUtils.setField(ingest, "flushIntervalMs", 10L);
+        ReflectionTestUtils.setField(ingest, "offerTimeoutMs", offerTimeoutMs);
+        ReflectionTestUtils.setField(ingest, "durableTimeoutMs", 2_000L);
+        ingest.start();
+        return ingest;
+    }
+
+    private List<Long> assignIds(List<PendingChatMessage> batch) {
+        List<Long> assigned = new ArrayList<>();
+        batch.forEach(m -> assigned.add(ids.incrementAndGet()));
+        return assigned;
+    }
+
+    private PendingChatMessage pending(long sequence, String content) {
+        return new PendingChatMessage(sequence, 1L, null, 5L, null, content, true);
+    }
+
+    private ChatRequestDTO request(String content) {
+        ChatRequestDTO request = new ChatRequestDTO();
+        request.setContent(content);
+        return request;
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.pmflow.service;
+
+import com.example.pmflow.dto.ChatSummaryDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChatStreamServiceTest {
+
+    private ChatStreamService chatStreamService;
+
+    @BeforeEach
+    void setUp() {
+        // Sends run inline so each test sees them as soon as the event is published
+        chatStreamService = new ChatStreamService(Runnable::run, 4);
+    }
+
+    @Test
+    void testGroupMessageReachesProjectSubscribersOnly() {
+        CapturingEmitter project5 = subscribe(ChatStreamService.groupTopic(5L), null, null);
+        CapturingEmitter project6 = subscribe(ChatStreamService.groupTopic(6L), null, null);
+
+        chatStreamService.onMessagePosted(new ChatMessagePostedEvent(5L, null, 1L, null, true, message(10L)));
+
+        assertEquals(1, project5.sent);
+        assertEquals(0, project6.sent);
+    }
+
+    @Test
+    void testPrivateMessageIsFilteredByConversation() {
+        CapturingEmitter alice = subscribe(ChatStreamService.taskTopic(7L), 1L, 2L);
+        CapturingEmitter aliceReversed = subscribe(ChatStreamService.taskTopic(7L), 2L, 1L);
+        CapturingEmitter other = subscribe(ChatStreamService.taskTopic(7L), 1L, 3L);
+
+        chatStreamService.onMessagePosted(new ChatMessagePostedEvent(5L, 7L, 2L, 1L, false, message(11L)));
+
+        assertEquals(1, alice.sent);
+        assertEquals(1, aliceReversed.sent);
+        assertEquals(0, other.sent);
+    }
+
+    @Test
+    void testBrokenSubscriberIsDropped() {
+        CapturingEmitter broken = subscribe(ChatStreamService.groupTopic(5L), null, null);
+        broken.failing = true;
+        subscribe(ChatStreamService.groupTopic(5L), null, null);
+
+        chatStreamService.onMessagePosted(new ChatMessagePostedEvent(5L, null, 1L, null, true, message(12L)));
+
+        assertEquals(1, chatStreamService.subscriberCount(ChatStreamService.groupTopic(5L)));
+    }
+
+    @Test
+    void testStalledSubscriberDoesNotBlockPublisherAndIsDropped() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        chatStreamService = new ChatStreamService(pool, 4);
+        CountDownLatch release = new CountDownLatch(1);
+        StalledEmitter stalled = new StalledEmitter(release);
+        chatStreamService.register(ChatStreamService.groupTopic(5L), new ChatStreamService.Subscriber(stalled, null, null));
+        CapturingEmitter healthy = subscribe(ChatStreamService.groupTopic(5L), null, null);
+
+        long publishNanos = 0;
+        for (int id = 1; id <= 20; id++) {
+            long start = System.nanoTime();
+            chatStreamService.onMessagePosted(new ChatMessagePostedEvent(5L, null, 1L, null, true, message((long) id)));
+            publishNanos += System.nanoTime() - start;
+            // The healthy client keeps up with every message
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (healthy.sent < id && System.currentTimeMillis() < deadline) {
+                Thread.sleep(1);
+            }
+            assertEquals(id, healthy.sent);
+        }
+
+        // Publishing only enqueued; the stalled client overflowed its outbox and was disconnected
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(publishNanos) < 1_000);
+        assertEquals(1, chatStreamService.subscriberCount(ChatStreamService.groupTopic(5L)));
+        release.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    private CapturingEmitter subscribe(String topic, Long userA, Long userB) {
+        CapturingEmitter emitter = new CapturingEmitter();
+        chatStreamService.register(topic, new ChatStreamService.Subscriber(emitter, userA, userB));
+        return emitter;
+    }
+
+    private ChatSummaryDTO message(Long id) {
+        return new ChatSummaryDTO(id, 1L, "Akshay K", "hello", LocalDateTime.now());
+    }
+
+    // Blocks in send like a client that stopped reading
+    private static class StalledEmitter extends SseEmitter {
+        private final CountDownLatch release;
+
+        StalledEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    // Records sends instead of writing to a servlet response
+    private static class CapturingEmitter extends SseEmitter {
+        volatile int sent;
+        boolean failing;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (failing) {
+                throw new IOException("client went away");
+            }
+            sent++;
+        }
+    }
+}
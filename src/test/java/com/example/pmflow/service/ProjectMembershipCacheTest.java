@@ -0,0 +1,134 @@
+package com.example.pmflow.service;
+
+import com.example.pmflow.repository.ProjectMembership;
+import com.example.pmflow.repository.ProjectRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProjectMembershipCacheTest {
+
+    @Mock
+    private ProjectRepository projectRepo;
+
+    @InjectMocks
+    private ProjectMembershipCache membershipCache;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(membershipCache, "ttlMs", 60_000L);
+        ReflectionTestUtils.setField(membershipCache, "maxSize", 100);
+    }
+
+    @Test
+    void testChecksAreServedFromOneLoad() {
+        when(projectRepo.findMemberships(1L)).thenReturn(List.of(membership(10L, true), membership(11L, false)));
+
+        assertTrue(membershipCache.isManager(1L, 10L));
+        assertTrue(membershipCache.isMember(1L, 10L));
+        assertFalse(membershipCache.isManager(1L, 11L));
+        assertTrue(membershipCache.isMember(1L, 11L));
+        assertFalse(membershipCache.isMember(1L, 12L));
+
+        verify(projectRepo, times(1)).findMemberships(1L);
+    }
+
+    @Test
+    void testEvictedUsersAreReloaded() {
+        when(projectRepo.findMemberships(1L)).thenReturn(List.of()).thenReturn(List.of(membership(10L, false)));
+        when(projectRepo.findMemberships(2L)).thenReturn(List.of());
+
+        assertFalse(membershipCache.isMember(1L, 10L));
+        assertFalse(membershipCache.isMember(2L, 10L));
+
+        membershipCache.evictUsers(List.of(1L));
+
+        assertTrue(membershipCache.isMember(1L, 10L));
+        assertFalse(membershipCache.isMember(2L, 10L));
+        verify(projectRepo, times(2)).findMemberships(1L);
+        verify(projectRepo, times(1)).findMemberships(2L);
+
+        membershipCache.evictAll();
+        membershipCache.isMember(2L, 10L);
+        verify(projectRepo, times(2)).findMemberships(2L);
+    }
+
+    @Test
+    void testLoadOverlappingAnEvictionIsNotCached() {
+        // The load reads the old team, then the membership change commits and evicts before the result is stored
+        when(projectRepo.findMemberships(1L))
+                .thenAnswer(invocation -> {
+                    membershipCache.evictUsers(List.of(1L));
+                    return List.of(membership(10L, false));
+                })
+                .thenReturn(List.of());
+
+        assertTrue(membershipCache.isMember(1L, 10L));
+        assertFalse(membershipCache.isMember(1L, 10L));
+        assertFalse(membershipCache.isMember(1L, 10L));
+
+        verify(projectRepo, times(2)).findMemberships(1L);
+    }
+
+    @Test
+    void testExpiredEntriesAreReloaded() {
+        ReflectionTestUtils.setField(membershipCache, "ttlMs", 0L);
+        when(projectRepo.findMemberships(1L)).thenReturn(List.of());
+
+        membershipCache.isMember(1L, 10L);
+        membershipCache.isMember(1L, 10L);
+
+        verify(projectRepo, times(2)).findMemberships(1L);
+    }
+
+    @Test
+    void testFullCacheDropsOldestEntriesOnly() {
+        ReflectionTestUtils.setField(membershipCache, "maxSize", 10);
+        when(projectRepo.findMemberships(anyLong())).thenReturn(List.of());
+
+        for (long userId = 1; userId <= 10; userId++) {
+            membershipCache.isMember(userId, 10L);
+            sleepPastClockTick();
+        }
+        membershipCache.isMember(11L, 10L);
+
+        // The two oldest users made room; the rest are still served without a query
+        assertEquals(9, membershipCache.cachedUserCount());
+        for (long userId = 3; userId <= 11; userId++) {
+            membershipCache.isMember(userId, 10L);
+            verify(projectRepo, times(1)).findMemberships(userId);
+        }
+    }
+
+    private static void sleepPastClockTick() {
+        try {
+            Thread.sleep(2);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static ProjectMembership membership(Long projectId, boolean manager) {
+        return new ProjectMembership() {
+            @Override
+            public Long getProjectId() {
+                return projectId;
+            }
+
+            @Override
+            public boolean isManager() {
+                return manager;
+            }
+        };
+    }
+}
@@ -0,0 +1,223 @@
+package com.example.pmflow.service;
+
+import com.example.pmflow.dto.BulkTaskOperation;
+import com.example.pmflow.dto.BulkTaskResponse;
+import com.example.pmflow.dto.BulkTaskResultDTO;
+import com.example.pmflow.dto.TaskRequest;
+import com.example.pmflow.dto.UpdateTaskRequest;
+import com.example.pmflow.entity.Project;
+import com.example.pmflow.entity.ProjectTaskRollup;
+import com.example.pmflow.entity.Task;
+import com.example.pmflow.entity.User;
+import com.example.pmflow.enums.BulkTaskAction;
+import com.example.pmflow.enums.TaskPriority;
+import com.example.pmflow.enums.TaskStatus;
+import com.example.pmflow.repository.ProjectTaskRollupRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({TaskService.class, TaskRollupService.class, ChatReferenceCache.class})
+class TaskBulkOperationsTest {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRollupService taskRollupService;
+
+    @Autowired
+    private ProjectTaskRollupRepository rollupRepository;
+
+    private User manager;
+    private User dev;
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        manager = user("manager");
+        dev = user("dev");
+        project = new Project();
+        project.setName("Sprint");
+        project.setManager(manager);
+        em.persist(project);
+        taskRollupService.createRollup(project.getId());
+        em.flush();
+    }
+
+    @Test
+    void testMixedOperationsReportPerItemResults() {
+        Long keep = taskService.createTask(taskRequest("Keep")).getId();
+        Long remove = taskService.createTask(taskRequest("Remove")).getId();
+        em.flush();
+
+        UpdateTaskRequest update = new UpdateTaskRequest();
+        update.setName("Renamed");
+        update.setPriority(TaskPriority.LOW);
+
+        List<BulkTaskOperation> operations = new ArrayList<>(List.of(
+                create(taskRequest("New")),
+                status(keep, TaskStatus.IN_PROGRESS),
+                assign(keep, dev.getId()),
+                update(keep, update),
+                delete(remove),
+                status(remove, TaskStatus.COMPLETED),   // already deleted earlier in this request
+                assign(keep, 999_999L),
+                status(null, TaskStatus.COMPLETED)));
+        operations.add(null);
+
+        BulkTaskResponse response = taskService.applyBulk(operations);
+        em.flush();
+        em.clear();
+
+        List<BulkTaskResultDTO> results = response.getResults();
+        assertEquals(9, results.size());
+        assertEquals(5, response.getSucceeded());
+        assertEquals(4, response.getFailed());
+        for (int i = 0; i < 5; i++) {
+            assertTrue(results.get(i).isSuccess(), "operation " + i);
+            assertEquals(i, results.get(i).getIndex());
+        }
+        assertEquals("Task not found", results.get(5).getError());
+        assertEquals("Assignee not found", results.get(6).getError());
+        assertEquals("Task not found", results.get(7).getError());
+        assertEquals("Action is required", results.get(8).getError());
+
+        // Every successful result shows the task as it ended up after the whole request
+        assertEquals("Renamed", results.get(1).getTask().getName());
+        assertEquals(TaskStatus.IN_PROGRESS, results.get(3).getTask().getStatus());
+        assertEquals(dev.getId(), results.get(3).getTask().getAssigneeId());
+        assertNull(results.get(4).getTask());
+
+        Task kept = em.find(Task.class, keep);
+        assertEquals("Renamed", kept.getName());
+        assertEquals(TaskStatus.IN_PROGRESS, kept.getStatus());
+        assertEquals(TaskPriority.LOW, kept.getPriority());
+        assertEquals(dev.getId(), kept.getAssignee().getId());
+        assertNull(em.find(Task.class, remove));
+        assertNotNull(em.find(Task.class, results.get(0).getTaskId()));
+
+        ProjectTaskRollup rollup = rollupRepository.findById(project.getId()).orElseThrow();
+        assertTrue(TaskRollupService.sameCounters(rollup, taskRollupService.recount(project.getId())));
+        assertEquals(2, rollup.getTotal());
+    }
+
+    @Test
+    void testStatementCountDoesNotGrowWithBatchSize() {
+        long smallCreate = statementsFor(creates(10));
+        long largeCreate = statementsFor(creates(40));
+        // The larger request may need one more block of ids from id_generators (a SELECT and an UPDATE)
+        assertTrue(largeCreate - smallCreate <= 2, smallCreate + " vs " + largeCreate);
+
+        List<Long> ids = em.getEntityManager()
+                .createQuery("SELECT t.id FROM Task t ORDER BY t.id", Long.class)
+                .getResultList();
+        assertEquals(50, ids.size());
+        long smallStatus = statementsFor(statuses(ids.subList(0, 10)));
+        long largeStatus = statementsFor(statuses(ids.subList(10, 50)));
+        assertEquals(smallStatus, largeStatus);
+    }
+
+    @Test
+    void testRejectsEmptyAndOversizedRequests() {
+        assertThrows(IllegalArgumentException.class, () -> taskService.applyBulk(List.of()));
+        assertThrows(IllegalArgumentException.class, () -> taskService.applyBulk(
+                Collections.nCopies(TaskService.MAX_BULK_OPERATIONS + 1, create(taskRequest("x")))));
+    }
+
+    private long statementsFor(List<BulkTaskOperation> operations) {
+        em.clear();
+        Statistics statistics = em.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        BulkTaskResponse response = taskService.applyBulk(operations);
+        em.flush();
+        assertEquals(0, response.getFailed());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private List<BulkTaskOperation> creates(int count) {
+        List<BulkTaskOperation> operations = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            TaskRequest request = taskRequest("Task " + i);
+            request.setAssigneeId(i % 2 == 0 ? dev.getId() : manager.getId());
+            operations.add(create(request));
+        }
+        return operations;
+    }
+
+    private List<BulkTaskOperation> statuses(List<Long> ids) {
+        List<BulkTaskOperation> operations = new ArrayList<>();
+        for (Long id : ids) {
+            operations.add(status(id, TaskStatus.COMPLETED));
+        }
+        return operations;
+    }
+
+    private TaskRequest taskRequest(String name) {
+        TaskRequest request = new TaskRequest();
+        request.setName(name);
+        request.setProjectId(project.getId());
+        request.setStatus(TaskStatus.NOT_STARTED);
+        request.setPriority(TaskPriority.HIGH);
+        return request;
+    }
+
+    private static BulkTaskOperation create(TaskRequest request) {
+        BulkTaskOperation op = operation(BulkTaskAction.CREATE, null);
+        op.setTask(request);
+        return op;
+    }
+
+    private static BulkTaskOperation status(Long taskId, TaskStatus status) {
+        BulkTaskOperation op = operation(BulkTaskAction.STATUS, taskId);
+        op.setStatus(status);
+        return op;
+    }
+
+    private static BulkTaskOperation assign(Long taskId, Long assigneeId) {
+        BulkTaskOperation op = operation(BulkTaskAction.ASSIGN, taskId);
+        op.setAssigneeId(assigneeId);
+        return op;
+    }
+
+    private static BulkTaskOperation update(Long taskId, UpdateTaskRequest update) {
+        BulkTaskOperation op = operation(BulkTaskAction.UPDATE, taskId);
+        op.setUpdate(update);
+        return op;
+    }
+
+    private static BulkTaskOperation delete(Long taskId) {
+        return operation(BulkTaskAction.DELETE, taskId);
+    }
+
+    private static BulkTaskOperation operation(BulkTaskAction action, Long taskId) {
+        BulkTaskOperation op = new BulkTaskOperation();
+        op.setAction(action);
+        op.setTaskId(taskId);
+        return op;
+    }
+
+    private User user(String username) {
+        User user = new User();
+        user.setUsername(username);
+        return em.persist(user);
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.pmflow.service;
+
+import com.example.pmflow.entity.Project;
+import com.example.pmflow.entity.Task;
+import com.example.pmflow.entity.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(TaskIdGeneratorSeeder.class)
+class TaskIdGeneratorSeederTest {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TaskIdGeneratorSeeder seeder;
+
+    @Test
+    void testGeneratorIsRaisedPastExistingTaskIds() {
+        // Rows written under the old IDENTITY ids
+        insertLegacyTask(120L);
+
+        seeder.seed();
+        assertEquals(120 + Task.ID_ALLOCATION_SIZE, nextVal());
+
+        // Never lowered, so a restart cannot hand out ids twice
+        jdbcTemplate.update("UPDATE id_generators SET next_val = 1000 WHERE entity = 'tasks'");
+        seeder.seed();
+        assertEquals(1000, nextVal());
+    }
+
+    @Test
+    void testMissingGeneratorRowIsCreated() {
+        insertLegacyTask(7L);
+        jdbcTemplate.update("DELETE FROM id_generators WHERE entity = 'tasks'");
+
+        seeder.seed();
+
+        assertEquals(7 + Task.ID_ALLOCATION_SIZE, nextVal());
+    }
+
+    private long nextVal() {
+        return jdbcTemplate.queryForObject("SELECT next_val FROM id_generators WHERE entity = 'tasks'", Long.class);
+    }
+
+    private void insertLegacyTask(Long id) {
+        User manager = new User();
+        manager.setUsername("legacy");
+        em.persist(manager);
+        Project project = new Project();
+        project.setName("Legacy");
+        project.setManager(manager);
+        em.persist(project);
+        em.flush();
+        jdbcTemplate.update("INSERT INTO tasks (id, name, project_id) VALUES (?, ?, ?)", id, "Old task", project.getId());
+    }
+}
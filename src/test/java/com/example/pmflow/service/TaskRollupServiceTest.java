@@ -0,0 +1,206 @@
+package com.example.pmflow.service;
+
+import com.example.pmflow.dto.AdminUpdateTaskRequest;
+import com.example.pmflow.dto.TaskRequest;
+import com.example.pmflow.dto.TaskResponse;
+import com.example.pmflow.dto.UpdateTaskRequest;
+import com.example.pmflow.entity.Project;
+import com.example.pmflow.entity.ProjectTaskRollup;
+import com.example.pmflow.entity.Task;
+import com.example.pmflow.entity.User;
+import com.example.pmflow.enums.TaskPriority;
+import com.example.pmflow.enums.TaskStatus;
+import com.example.pmflow.repository.ProjectTaskRollupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({TaskService.class, TaskRollupService.class, ChatReferenceCache.class})
+class TaskRollupServiceTest {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRollupService taskRollupService;
+
+    @Autowired
+    private ProjectTaskRollupRepository rollupRepository;
+
+    private final List<Long> projectIds = new ArrayList<>();
+    private final List<Long> userIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 3; i++) {
+            User user = new User();
+            user.setUsername("user" + i);
+            userIds.add(em.persist(user).getId());
+        }
+        for (int i = 0; i < 3; i++) {
+            Project project = new Project();
+            project.setName("Project " + i);
+            project.setManager(em.find(User.class, userIds.get(0)));
+            Long id = em.persist(project).getId();
+            projectIds.add(id);
+            // Project 2 predates rollups: its row is created lazily on the first task change
+            if (i < 2) {
+                taskRollupService.createRollup(id);
+            }
+        }
+        em.flush();
+    }
+
+    @Test
+    void testCountersMatchFullRecountAfterRandomChanges() {
+        Random random = new Random(42);
+        List<Long> taskIds = new ArrayList<>();
+
+        for (int i = 0; i < 60; i++) {
+            TaskRequest request = new TaskRequest();
+            request.setName("Task " + i);
+            request.setProjectId(pick(random, projectIds));
+            request.setStatus(pickOrNull(random, TaskStatus.values()));
+            request.setPriority(pickOrNull(random, TaskPriority.values()));
+            request.setAssigneeId(random.nextBoolean() ? pick(random, userIds) : null);
+            request.setDueDate(LocalDateTime.now().plusDays(random.nextInt(11) - 5));
+            taskIds.add(taskService.createTask(request).getId());
+        }
+        for (int i = 0; i < 120; i++) {
+            Long taskId = pick(random, taskIds);
+            switch (random.nextInt(5)) {
+                case 0 -> taskService.updateTaskStatus(taskId, pick(random, List.of(TaskStatus.values())));
+                case 1 -> taskService.assignTask(taskId, pick(random, userIds));
+                case 2 -> {
+                    AdminUpdateTaskRequest request = new AdminUpdateTaskRequest();
+                    request.setStatus(pick(random, List.of(TaskStatus.values())));
+                    taskService.adminUpdateTask(taskId, request);
+                }
+                case 3 -> {
+                    UpdateTaskRequest request = new UpdateTaskRequest();
+                    request.setPriority(pick(random, List.of(TaskPriority.values())));
+                    request.setDueDate(LocalDateTime.now().plusDays(random.nextInt(11) - 5));
+                    taskService.updateTaskDetails(taskId, request);
+                }
+                default -> {
+                    taskService.deleteTask(taskId);
+                    taskIds.remove(taskId);
+                }
+            }
+        }
+        em.flush();
+
+        for (Long projectId : projectIds) {
+            ProjectTaskRollup stored = rollupRepository.findById(projectId).orElseThrow();
+            ProjectTaskRollup recount = taskRollupService.recount(projectId);
+            assertTrue(TaskRollupService.sameCounters(stored, recount), "rollup drifted for project " + projectId);
+            assertFalse(taskRollupService.rebuild(projectId));
+        }
+        long total = projectIds.stream().mapToLong(id -> rollupRepository.findById(id).orElseThrow().getTotal()).sum();
+        assertEquals(taskIds.size(), total);
+    }
+
+    @Test
+    void testFirstUpdateOnProjectWithoutRollupCountsTaskOnce() {
+        // A task written before rollups existed: no row for project 2 yet
+        Task legacy = new Task();
+        legacy.setName("Legacy task");
+        legacy.setProject(em.find(Project.class, projectIds.get(2)));
+        legacy.setStatus(TaskStatus.NOT_STARTED);
+        legacy.setPriority(TaskPriority.LOW);
+        Long taskId = em.persist(legacy).getId();
+        em.flush();
+        assertTrue(rollupRepository.findById(projectIds.get(2)).isEmpty());
+
+        taskService.updateTaskStatus(taskId, TaskStatus.COMPLETED);
+        em.flush();
+
+        ProjectTaskRollup rollup = rollupRepository.findById(projectIds.get(2)).orElseThrow();
+        assertEquals(1, rollup.getTotal());
+        assertEquals(1, rollup.getCompleted());
+        assertEquals(0, rollup.getNotStarted());
+        assertTrue(TaskRollupService.sameCounters(rollup, taskRollupService.recount(projectIds.get(2))));
+    }
+
+    @Test
+    void testRebuildCorrectsDrift() {
+        TaskResponse task = createTask(projectIds.get(0), TaskStatus.COMPLETED, LocalDateTime.now().plusDays(1));
+        createTask(projectIds.get(0), TaskStatus.IN_PROGRESS, LocalDateTime.now().plusDays(1));
+
+        ProjectTaskRollup rollup = rollupRepository.findById(task.getProjectId()).orElseThrow();
+        assertEquals(50, rollup.getProgressPercent());
+        rollup.setCompleted(7);
+        em.flush();
+
+        assertTrue(taskRollupService.rebuild(projectIds.get(0)));
+        assertEquals(1, rollupRepository.findById(projectIds.get(0)).orElseThrow().getCompleted());
+    }
+
+    @Test
+    void testOverdueRefreshPicksUpTimePassing() {
+        createTask(projectIds.get(1), TaskStatus.IN_PROGRESS, LocalDateTime.now().plusSeconds(1));
+        createTask(projectIds.get(1), TaskStatus.COMPLETED, LocalDateTime.now().minusDays(1));
+        em.flush();
+        assertEquals(0, rollupRepository.findById(projectIds.get(1)).orElseThrow().getOverdue());
+
+        rollupRepository.refreshOverdue(LocalDateTime.now().plusMinutes(1));
+        em.clear();
+
+        assertEquals(1, rollupRepository.findById(projectIds.get(1)).orElseThrow().getOverdue());
+    }
+
+    @Test
+    void testOverdueNeverGoesNegativeForTasksOverdueSinceLastRefresh() {
+        TaskResponse completed = createTask(projectIds.get(1), TaskStatus.IN_PROGRESS, LocalDateTime.now().plusDays(1));
+        TaskResponse deleted = createTask(projectIds.get(1), TaskStatus.NOT_STARTED, LocalDateTime.now().plusDays(1));
+        em.flush();
+        // Both due dates pass before refreshOverdue runs: the stored counter still says 0
+        em.find(Task.class, completed.getId()).setDueDate(LocalDateTime.now().minusHours(1));
+        em.find(Task.class, deleted.getId()).setDueDate(LocalDateTime.now().minusHours(1));
+        em.flush();
+        assertEquals(0, rollupRepository.findById(projectIds.get(1)).orElseThrow().getOverdue());
+
+        taskService.updateTaskStatus(completed.getId(), TaskStatus.COMPLETED);
+        taskService.deleteTask(deleted.getId());
+        em.flush();
+
+        ProjectTaskRollup rollup = rollupRepository.findById(projectIds.get(1)).orElseThrow();
+        assertEquals(0, rollup.getOverdue());
+        assertTrue(TaskRollupService.sameCounters(rollup, taskRollupService.recount(projectIds.get(1))));
+    }
+
+    private TaskResponse createTask(Long projectId, TaskStatus status, LocalDateTime dueDate) {
+        TaskRequest request = new TaskRequest();
+        request.setName("Task");
+        request.setProjectId(projectId);
+        request.setStatus(status);
+        request.setPriority(TaskPriority.HIGH);
+        request.setDueDate(dueDate);
+        return taskService.createTask(request);
+    }
+
+    private static <T> T pick(Random random, List<T> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private static <T> T pickOrNull(Random random, T[] values) {
+        int i = random.nextInt(values.length + 1);
+        return i == values.length ? null : values[i];
+    }
+}
@@ -31,6 +31,12 @@ class TaskServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private TaskRollupService taskRollupService;
+
+    @Mock
+    private ChatReferenceCache chatReferenceCache;
+
     private Project project;
     private User assignee;
     private Task task;
@@ -82,7 +88,7 @@ class TaskServiceTest {
 
     @Test
     void testGetTasksByProjectId() {
-        when(taskRepository.findByProjectId(2L)).thenReturn(List.of(task));
+        when(taskRepository.findDetailedByProjectId(2L)).thenReturn(List.of(task));
         List<TaskResponse> responses = taskService.getTasksByProjectId(2L);
         assertEquals(1, responses.size());
         assertEquals("Sample Task", responses.get(0).getName());
@@ -90,7 +96,7 @@ class TaskServiceTest {
 
     @Test
     void testGetTasksByUserId() {
-        when(taskRepository.findByAssigneeId(1L)).thenReturn(List.of(task));
+        when(taskRepository.findDetailedByAssigneeId(1L)).thenReturn(List.of(task));
         List<TaskResponse> responses = taskService.getTasksByUserId(1L);
         assertEquals(1, responses.size());
         assertEquals(1L, responses.get(0).getAssigneeId());
@@ -107,7 +113,7 @@ class TaskServiceTest {
 
     @Test
     void testGetTaskById() {
-        when(taskRepository.findById(3L)).thenReturn(Optional.of(task));
+        when(taskRepository.findDetailedById(3L)).thenReturn(Optional.of(task));
         TaskResponse response = taskService.getTaskById(3L);
         assertEquals("Sample Task", response.getName());
     }
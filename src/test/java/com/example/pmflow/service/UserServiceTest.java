@@ -5,6 +5,7 @@ import com.example.pmflow.dto.UserDTO;
 import com.example.pmflow.entity.Role;
 import com.example.pmflow.entity.User;
 import com.example.pmflow.repository.UserRepository;
+import com.example.pmflow.security.JwtPrincipalResolver;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -25,6 +26,12 @@ class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private JwtPrincipalResolver principalResolver;
+
+    @Mock
+    private ChatReferenceCache chatReferenceCache;
+
     private User user;
 
     @BeforeEach
@@ -116,5 +123,7 @@ class UserServiceTest {
 
         assertEquals("akshay", updated.getUsername());
         verify(userRepository).save(any(User.class));
+        verify(principalResolver).evict("akshay");
+        verify(chatReferenceCache).evictUser(1L);
     }
 }